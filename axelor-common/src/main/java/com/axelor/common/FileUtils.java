@@ -9,11 +9,14 @@ import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
+import com.google.common.io.ByteStreams;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
@@ -400,6 +403,29 @@ public final class FileUtils {
     }
   }
 
+  /**
+   * Open an input stream over a range of bytes of the given file.
+   *
+   * <p>The stream reads the file from the given position, without reading the bytes before it.
+   *
+   * @param path the file to read
+   * @param offset the position of the first byte to read
+   * @param length the maximum number of bytes to read
+   * @return an input stream over the given range of the file
+   * @throws IOException in case of I/O errors
+   */
+  public static InputStream newInputStream(Path path, long offset, long length)
+      throws IOException {
+    final FileChannel channel = FileChannel.open(path);
+    try {
+      channel.position(offset);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return ByteStreams.limit(Channels.newInputStream(channel), length);
+  }
+
   /**
    * Check if the candidate path is located inside the parent path
    *
@@ -13,6 +13,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.apache.commons.io.IOUtils;
@@ -150,4 +152,21 @@ public class TestFileUtils {
         IOUtils.contentEquals(
             source.toURI().toURL().openStream(), destination.toURI().toURL().openStream()));
   }
+
+  @Test
+  public void testRangeInputStream() throws IOException {
+    Path file = Files.createTempFile("range", ".txt");
+    try {
+      Files.writeString(file, "0123456789");
+
+      try (InputStream in = FileUtils.newInputStream(file, 2, 5)) {
+        assertEquals("23456", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+      try (InputStream in = FileUtils.newInputStream(file, 8, 5)) {
+        assertEquals("89", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
 }
@@ -11,6 +11,7 @@ import com.axelor.inject.Beans;
 import com.axelor.inject.logger.LoggerModule;
 import com.axelor.meta.MetaScanner;
 import com.axelor.meta.loader.ModuleManager;
+import com.axelor.meta.loader.ScriptPrecompiler;
 import com.axelor.meta.loader.ViewObserver;
 import com.axelor.meta.loader.ViewWatcherObserver;
 import com.axelor.meta.service.ViewProcessor;
@@ -61,6 +62,7 @@ public class AppModule extends AbstractModule {
 
     bind(AppSettingsObserver.class);
     bind(ViewWatcherObserver.class);
+    bind(ScriptPrecompiler.class);
 
     bind(MetaThemeService.class).to(MetaThemeServiceImpl.class);
 
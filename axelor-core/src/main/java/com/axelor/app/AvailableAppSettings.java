@@ -45,9 +45,16 @@ public interface AvailableAppSettings {
   String APPLICATION_SCRIPT_CACHE_SIZE = "application.script.cache.size";
   String APPLICATION_SCRIPT_CACHE_EXPIRE_TIME = "application.script.cache.expire-time";
   String APPLICATION_SCRIPT_TIMEOUT = "application.script.timeout";
+  String APPLICATION_SCRIPT_CACHE_DIR = "application.script.cache.dir";
+  String APPLICATION_SCRIPT_PRECOMPILE = "application.script.precompile";
+
+  String APPLICATION_SEARCH_PARALLEL = "application.search.parallel";
+  String APPLICATION_SEARCH_TIMEOUT = "application.search.timeout";
+  String APPLICATION_SEARCH_MAX_WORKERS = "application.search.max-workers";
 
   String AUDIT_LOGS_FLUSH_THRESHOLD = "application.audit.logs.flush-threshold";
   String AUDIT_LOGS_MAX_RETRY = "application.audit.logs.max-retry";
+  String AUDIT_LOGS_COMPACT = "application.audit.logs.compact";
   String AUDIT_PROCESSOR_BATCH_DELAY = "application.audit.processor.batch-delay";
   String AUDIT_PROCESSOR_ACTIVITY_WINDOW = "application.audit.processor.activity-window";
   String AUDIT_PROCESSOR_BUSY_BACKOFF_INTERVAL =
@@ -55,6 +62,7 @@ public interface AvailableAppSettings {
   String AUDIT_PROCESSOR_BUSY_BACKOFF_MAX_RETRIES =
       "application.audit.processor.busy-backoff-max-retries";
   String AUDIT_PROCESSOR_BATCH_SIZE = "application.audit.processor.batch-size";
+  String AUDIT_PROCESSOR_WORKERS = "application.audit.processor.workers";
 
   String APPLICATION_DOMAIN_BLOCKLIST_PATTERN = "application.domain-blocklist-pattern";
 
@@ -209,6 +217,12 @@ public interface AvailableAppSettings {
   String MAIL_SMTP_TIMEOUT = "mail.smtp.timeout";
   String MAIL_SMTP_CONNECTION_TIMEOUT = "mail.smtp.connection-timeout";
   String MAIL_SMTP_FROM = "mail.smtp.from";
+  String MAIL_SMTP_MAX_CONNECTIONS = "mail.smtp.max-connections";
+  String MAIL_SMTP_QUEUE_SIZE = "mail.smtp.queue-size";
+  String MAIL_SMTP_RATE_LIMIT = "mail.smtp.rate-limit";
+  String MAIL_SMTP_MAX_RETRY = "mail.smtp.max-retry";
+  String MAIL_SMTP_RETRY_DELAY = "mail.smtp.retry-delay";
+  String MAIL_SMTP_IDLE_TIMEOUT = "mail.smtp.idle-timeout";
   String MAIL_SMTP_PROPERTIES_PREFIX = "mail.smtp.properties.";
 
   String MAIL_IMAP_HOST = "mail.imap.host";
@@ -9,7 +9,8 @@ import com.axelor.auth.db.Role;
 import com.axelor.auth.db.User;
 import com.axelor.db.JpaSecurity.AccessType;
 import java.util.LinkedHashSet;
-import java.util.Objects;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /** This class is responsible to resolve permissions. */
@@ -45,35 +46,36 @@ final class AuthResolver {
   }
 
   /**
-   * Filter the given set of permissions for the given object with the required access type. <br>
+   * Filter the given permissions, indexed by object name, for the given object with the required
+   * access type. <br>
    *
    * <p>It first tries to find exact match for the given object else it tries to find wild card (by
    * package name). The permissions on objects without condition gets preference over wild card
    * permissions.
    *
-   * @param permissions set of permissions to filter
+   * @param permissions permissions indexed by object name
    * @param object object name for which to check the permission
    * @param type the requested access type
    * @return filtered set of {@link Permission}
    */
-  private Set<Permission> filterPermissions(
-      final Set<Permission> permissions, final String object, final AccessType type) {
+  public Set<Permission> resolve(
+      final Map<String, List<Permission>> permissions, final String object, final AccessType type) {
     final Set<Permission> all = new LinkedHashSet<>();
     if (permissions == null || permissions.isEmpty()) {
       return all;
     }
 
     // add object permissions
-    for (final Permission permission : permissions) {
-      if (Objects.equals(object, permission.getObject()) && hasAccess(permission, type)) {
+    for (final Permission permission : permissions.getOrDefault(object, List.of())) {
+      if (hasAccess(permission, type)) {
         all.add(permission);
       }
     }
 
     // add wild card permissions
     final String pkg = object.substring(0, object.lastIndexOf('.')) + ".*";
-    for (final Permission permission : permissions) {
-      if (Objects.equals(pkg, permission.getObject()) && hasAccess(permission, type)) {
+    for (final Permission permission : permissions.getOrDefault(pkg, List.of())) {
+      if (hasAccess(permission, type)) {
         all.add(permission);
       }
     }
@@ -82,43 +84,48 @@ final class AuthResolver {
   }
 
   /**
-   * Get the set of {@link Permission} for the given type on the object. <br>
+   * Get all the {@link Permission} granted to the user. <br>
    * <br>
-   * The permission resolution is done in following way: <br>
+   * The permissions are collected in following order: <br>
    * <br>
-   * Check the permissions directly assigned to the user, else check permissions assigned to the
-   * user's roles, else check the permissions assigned directly to the user group, else check the
-   * permissions assigned to the group's roles.
+   * The permissions directly assigned to the user, then the permissions assigned to the user's
+   * roles, then the permissions assigned directly to the user group and then the permissions
+   * assigned to the group's roles.
    *
    * @param user the user to authorize
-   * @param object the object name (class or package name)
-   * @param type access type to check
    * @return {@link Set} of {@link Permission}
    */
-  public Set<Permission> resolve(final User user, final String object, final AccessType type) {
+  public Set<Permission> collect(final User user) {
+    final Set<Permission> all = new LinkedHashSet<>();
 
     // user permissions
-    Set<Permission> all = filterPermissions(user.getPermissions(), object, type);
+    addAll(all, user.getPermissions());
 
     // user's role permissions
     if (user.getRoles() != null) {
       for (final Role role : user.getRoles()) {
-        all.addAll(filterPermissions(role.getPermissions(), object, type));
+        addAll(all, role.getPermissions());
       }
     }
 
     // group permissions
     if (user.getGroup() != null) {
-      all.addAll(filterPermissions(user.getGroup().getPermissions(), object, type));
+      addAll(all, user.getGroup().getPermissions());
     }
 
     // group's role permissions
     if (user.getGroup() != null && user.getGroup().getRoles() != null) {
       for (final Role role : user.getGroup().getRoles()) {
-        all.addAll(filterPermissions(role.getPermissions(), object, type));
+        addAll(all, role.getPermissions());
       }
     }
 
     return all;
   }
+
+  private void addAll(final Set<Permission> all, final Set<Permission> permissions) {
+    if (permissions != null) {
+      all.addAll(permissions);
+    }
+  }
 }
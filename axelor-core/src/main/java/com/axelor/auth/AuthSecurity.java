@@ -4,21 +4,19 @@
  */
 package com.axelor.auth;
 
-import com.axelor.auth.db.Permission;
+import com.axelor.auth.PermissionSnapshot.Grant;
 import com.axelor.auth.db.User;
-import com.axelor.common.StringUtils;
 import com.axelor.db.JpaSecurity;
 import com.axelor.db.Model;
 import com.axelor.rpc.filter.Filter;
-import com.axelor.rpc.filter.JPQLFilter;
-import com.axelor.script.GroovyScriptHelper;
-import com.axelor.script.ScriptBindings;
+import com.google.common.collect.Lists;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import org.apache.shiro.authz.UnauthorizedException;
@@ -26,49 +24,7 @@ import org.apache.shiro.authz.UnauthorizedException;
 @Singleton
 class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
 
-  private static final class Condition {
-
-    private Filter filter;
-
-    public Condition(User user, String condition, String params) {
-
-      final List<Object> args = new ArrayList<>();
-
-      if (StringUtils.notBlank(params)) {
-        for (String param : params.split(",")) {
-          param = param.trim();
-          if ("__user__".equals(param)) {
-            args.add(user);
-          } else {
-            final Object value = eval(user, "__user__", param);
-            args.add(value);
-          }
-        }
-      }
-
-      this.filter = new JPQLFilter(condition, args.toArray());
-    }
-
-    private Object eval(Object bean, String prefix, String expr) {
-      if (bean == null) {
-        return null;
-      }
-
-      return new GroovyScriptHelper(new ScriptBindings(Collections.singletonMap(prefix, bean)))
-          .eval(expr);
-    }
-
-    public Filter getFilter() {
-      return filter;
-    }
-
-    @Override
-    public String toString() {
-      return filter.getQuery();
-    }
-  }
-
-  private AuthResolver authResolver = new AuthResolver();
+  private static final int ID_BATCH_SIZE = 1000;
 
   private User getUser() {
     final User user = AuthUtils.getUser();
@@ -78,15 +34,6 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
     return user;
   }
 
-  private Condition getCondition(User user, Permission permission, AccessType accessType) {
-    final String condition = permission.getCondition();
-    final String params = permission.getConditionParams();
-    if (condition == null || "".equals(condition.trim())) {
-      return null;
-    }
-    return new Condition(user, condition, params);
-  }
-
   @Override
   public boolean hasRole(String name) {
     final User user = getUser();
@@ -119,18 +66,12 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
       return null;
     }
 
-    final List<Filter> filters = new ArrayList<>();
-    final Set<Permission> permissions = authResolver.resolve(user, model.getName(), type);
-    if (permissions.isEmpty()) {
+    final Grant grant = PermissionSnapshot.of(user).getGrant(model.getName(), type);
+    if (!grant.isGranted()) {
       return null;
     }
 
-    for (Permission permission : permissions) {
-      Condition condition = this.getCondition(user, permission, type);
-      if (condition != null) {
-        filters.add(condition.getFilter());
-      }
-    }
+    final List<Filter> filters = grant.getFilters();
 
     if (filters.isEmpty() && ids.length == 0) {
       return null;
@@ -156,16 +97,14 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
       return true;
     }
 
-    final Set<Permission> permissions = authResolver.resolve(user, model.getName(), type);
-    if (permissions.isEmpty()) {
+    final Grant grant = PermissionSnapshot.of(user).getGrant(model.getName(), type);
+    if (!grant.isGranted()) {
       return false;
     }
 
     // check whether non-conditional permissions are granted
-    for (Permission permission : permissions) {
-      if (permission.getCondition() == null && authResolver.hasAccess(permission, type)) {
-        return true;
-      }
+    if (grant.isUnconditional()) {
+      return true;
     }
 
     if (ids == null || ids.length == 0) {
@@ -180,6 +119,45 @@ class AuthSecurity implements JpaSecurity, Provider<JpaSecurity> {
     return filter.build(model).count() == ids.length;
   }
 
+  @Override
+  public Set<Long> filterPermitted(
+      AccessType type, Class<? extends Model> model, Collection<Long> ids) {
+    final Set<Long> permitted = new LinkedHashSet<>();
+    for (Long id : ids) {
+      if (id != null) {
+        permitted.add(id);
+      }
+    }
+
+    final User user = getUser();
+    if (user == null || permitted.isEmpty()) {
+      return permitted;
+    }
+
+    final Grant grant = PermissionSnapshot.of(user).getGrant(model.getName(), type);
+    if (!grant.isGranted()) {
+      return new LinkedHashSet<>();
+    }
+    if (grant.isUnconditional()) {
+      return permitted;
+    }
+
+    final List<Filter> filters = grant.getFilters();
+    final Filter condition = filters.isEmpty() ? null : Filter.or(filters);
+    final Set<Object> found = new HashSet<>();
+
+    for (List<Long> batch : Lists.partition(new ArrayList<>(permitted), ID_BATCH_SIZE)) {
+      final Filter in = Filter.in("id", batch);
+      final Filter filter = condition == null ? in : Filter.and(condition, in);
+      for (List<?> row : filter.build(model).select("id").values(0, 0)) {
+        found.add(row.getFirst());
+      }
+    }
+
+    permitted.retainAll(found);
+    return permitted;
+  }
+
   @Override
   public void check(AccessType type, Class<? extends Model> model, Long... ids) {
     if (isPermitted(type, model, ids)) {
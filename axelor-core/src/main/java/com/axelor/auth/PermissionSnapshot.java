@@ -0,0 +1,311 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.auth;
+
+import com.axelor.auth.db.Permission;
+import com.axelor.auth.db.Role;
+import com.axelor.auth.db.User;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.AxelorTopic;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.cache.DistributedFactory;
+import com.axelor.common.StringUtils;
+import com.axelor.db.JpaSecurity.AccessType;
+import com.axelor.db.tenants.TenantResolver;
+import com.axelor.meta.db.MetaPermission;
+import com.axelor.meta.db.MetaPermissionRule;
+import com.axelor.rpc.filter.Filter;
+import com.axelor.rpc.filter.JPQLFilter;
+import com.axelor.script.GroovyScriptHelper;
+import com.axelor.script.ScriptBindings;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of the permissions granted to a user.
+ *
+ * <p>The snapshot indexes the {@link Permission} and the {@link MetaPermissionRule} granted to the
+ * user, its roles, its group and the group's roles by object name, with the condition params
+ * evaluated once, so that security checks are reduced to map lookups.
+ *
+ * <p>Snapshots are cached per user. A snapshot is rebuilt when the user is updated (its version
+ * changes) and all the snapshots are discarded whenever a permission, a role or a group is changed.
+ * As a consequence, condition params depending on other records than the user itself are only
+ * re-evaluated on these events.
+ */
+public final class PermissionSnapshot {
+
+  private static final AxelorCache<String, PermissionSnapshot> SNAPSHOTS =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(10_000)
+          .expireAfterAccess(Duration.ofHours(1))
+          .nonTenantAware()
+          .build();
+
+  /** Topic used to notify other instances to invalidate their snapshots. */
+  private static final AxelorTopic invalidationTopic = DistributedFactory.getTopic("invalidation");
+
+  static {
+    invalidationTopic.addListener(String.class, msg -> SNAPSHOTS.invalidateAll());
+  }
+
+  private static final AuthResolver authResolver = new AuthResolver();
+
+  private final Integer version;
+
+  private final Map<String, List<Permission>> permissions;
+
+  private final Map<Permission, Condition> conditions;
+
+  private final Map<String, Map<String, MetaPermissionRule>> rules;
+
+  private final Map<String, Grant> grants = new ConcurrentHashMap<>();
+
+  private PermissionSnapshot(User user) {
+    final Set<Permission> all = authResolver.collect(user);
+    final Map<String, List<Permission>> byObject = new HashMap<>();
+    final Map<Permission, Condition> byPermission = new HashMap<>();
+
+    for (Permission permission : all) {
+      byObject.computeIfAbsent(permission.getObject(), k -> new ArrayList<>()).add(permission);
+      if (StringUtils.notBlank(permission.getCondition())) {
+        byPermission.put(permission, new Condition(user, permission));
+      }
+    }
+
+    this.version = user.getVersion();
+    this.permissions = byObject;
+    this.conditions = byPermission;
+    this.rules = collectRules(user);
+  }
+
+  /**
+   * Get the permission snapshot of the given user.
+   *
+   * @param user the user
+   * @return the snapshot, cached unless the user is not saved yet
+   */
+  public static PermissionSnapshot of(User user) {
+    Objects.requireNonNull(user, "user");
+    if (user.getId() == null) {
+      return new PermissionSnapshot(user);
+    }
+
+    final String key = TenantResolver.currentTenantIdentifier() + ":" + user.getId();
+    final PermissionSnapshot cached = SNAPSHOTS.get(key);
+    if (cached != null && Objects.equals(cached.version, user.getVersion())) {
+      return cached;
+    }
+
+    final PermissionSnapshot snapshot = new PermissionSnapshot(user);
+    SNAPSHOTS.put(key, snapshot);
+    return snapshot;
+  }
+
+  /** Discard the snapshots of all the users, on all the instances. */
+  public static void invalidateAll() {
+    SNAPSHOTS.invalidateAll();
+
+    // Notify all instances to invalidate their snapshots.
+    invalidationTopic.publish("invalidate");
+  }
+
+  /** Discard the snapshots of all the users, on this instance only. */
+  static void invalidateLocal() {
+    SNAPSHOTS.invalidateAll();
+  }
+
+  /**
+   * Find the field permission rule for the given object field.
+   *
+   * <p>The rule is searched in the permissions of the user, then of the user group, then of the
+   * user's roles and then of the group's roles.
+   *
+   * @param object the object name
+   * @param field the field name
+   * @return the {@link MetaPermissionRule} or null if not found
+   */
+  public MetaPermissionRule findRule(String object, String field) {
+    final Map<String, MetaPermissionRule> fields = rules.get(object);
+    return fields == null ? null : fields.get(field);
+  }
+
+  /**
+   * Get the resolved permissions for the given object and access type.
+   *
+   * @param object the object name
+   * @param type the access type
+   * @return the {@link Grant}
+   */
+  Grant getGrant(String object, AccessType type) {
+    return grants.computeIfAbsent(type + ":" + object, k -> createGrant(object, type));
+  }
+
+  private Grant createGrant(String object, AccessType type) {
+    final Set<Permission> resolved = authResolver.resolve(permissions, object, type);
+    final List<Condition> list = new ArrayList<>();
+    boolean unconditional = false;
+
+    for (Permission permission : resolved) {
+      if (permission.getCondition() == null) {
+        unconditional = true;
+      }
+      final Condition condition = conditions.get(permission);
+      if (condition != null) {
+        list.add(condition);
+      }
+    }
+
+    return new Grant(!resolved.isEmpty(), unconditional, List.copyOf(list));
+  }
+
+  private static Map<String, Map<String, MetaPermissionRule>> collectRules(User user) {
+    final Map<String, Map<String, MetaPermissionRule>> all = new HashMap<>();
+
+    collectRules(all, user.getMetaPermissions());
+    if (user.getGroup() != null) {
+      collectRules(all, user.getGroup().getMetaPermissions());
+    }
+    if (user.getRoles() != null) {
+      for (Role role : user.getRoles()) {
+        collectRules(all, role.getMetaPermissions());
+      }
+    }
+    if (user.getGroup() != null && user.getGroup().getRoles() != null) {
+      for (Role role : user.getGroup().getRoles()) {
+        collectRules(all, role.getMetaPermissions());
+      }
+    }
+
+    return all;
+  }
+
+  private static void collectRules(
+      Map<String, Map<String, MetaPermissionRule>> all, Set<MetaPermission> permissions) {
+    if (permissions == null) {
+      return;
+    }
+    for (MetaPermission perm : permissions) {
+      if (!Boolean.TRUE.equals(perm.getActive()) || perm.getRules() == null) {
+        continue;
+      }
+      final Map<String, MetaPermissionRule> fields =
+          all.computeIfAbsent(perm.getObject(), k -> new HashMap<>());
+      for (MetaPermissionRule rule : perm.getRules()) {
+        fields.putIfAbsent(rule.getField(), rule);
+      }
+    }
+  }
+
+  /** The permissions resolved for an object and an access type. */
+  static final class Grant {
+
+    private final boolean granted;
+
+    private final boolean unconditional;
+
+    private final List<Condition> conditions;
+
+    private Grant(boolean granted, boolean unconditional, List<Condition> conditions) {
+      this.granted = granted;
+      this.unconditional = unconditional;
+      this.conditions = conditions;
+    }
+
+    /** Whether any permission is granted. */
+    boolean isGranted() {
+      return granted;
+    }
+
+    /** Whether any permission is granted without condition. */
+    boolean isUnconditional() {
+      return unconditional;
+    }
+
+    /** The filters of the conditional permissions. */
+    List<Filter> getFilters() {
+      final List<Filter> filters = new ArrayList<>(conditions.size());
+      for (Condition condition : conditions) {
+        filters.add(condition.getFilter());
+      }
+      return filters;
+    }
+  }
+
+  private static final class Condition {
+
+    private Filter filter;
+
+    private RuntimeException error;
+
+    public Condition(User user, Permission permission) {
+      final String params = permission.getConditionParams();
+      final List<Object> args = new ArrayList<>();
+
+      try {
+        if (StringUtils.notBlank(params)) {
+          for (String param : params.split(",")) {
+            param = param.trim();
+            if ("__user__".equals(param)) {
+              args.add(user);
+            } else {
+              final Object value = eval(user, "__user__", param);
+              args.add(detach(value));
+            }
+          }
+        }
+        this.filter = new JPQLFilter(permission.getCondition(), args.toArray());
+      } catch (RuntimeException e) {
+        // only fail the checks using this permission
+        this.error = e;
+      }
+    }
+
+    private Object eval(Object bean, String prefix, String expr) {
+      if (bean == null) {
+        return null;
+      }
+
+      return new GroovyScriptHelper(new ScriptBindings(Collections.singletonMap(prefix, bean)))
+          .eval(expr);
+    }
+
+    private Object detach(Object value) {
+      // copy lazy collections, the snapshot outlives the session
+      if (value instanceof Set<?> set) {
+        return new LinkedHashSet<>(set);
+      }
+      if (value instanceof Collection<?> collection) {
+        return new ArrayList<>(collection);
+      }
+      if (value instanceof Map<?, ?> map) {
+        return new LinkedHashMap<>(map);
+      }
+      return value;
+    }
+
+    public Filter getFilter() {
+      if (error != null) {
+        throw error;
+      }
+      return filter;
+    }
+
+    @Override
+    public String toString() {
+      return filter == null ? String.valueOf(error) : filter.getQuery();
+    }
+  }
+}
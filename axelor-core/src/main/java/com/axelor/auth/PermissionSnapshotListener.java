@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.auth;
+
+import com.axelor.db.JPA;
+import com.axelor.db.TransactionCallbacks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Invalidates the {@link PermissionSnapshot} of all the users when permissions, roles or groups
+ * are changed.
+ */
+public class PermissionSnapshotListener {
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  private void onPostChange(Object entity) {
+    // invalidate once per transaction
+    TransactionCallbacks.afterCompletionOnce(
+        JPA.em(),
+        PermissionSnapshotListener.class,
+        success -> {
+          if (success) {
+            PermissionSnapshot.invalidateAll();
+          } else {
+            // snapshots may have been built from the uncommitted changes, on this instance
+            PermissionSnapshot.invalidateLocal();
+          }
+        });
+  }
+}
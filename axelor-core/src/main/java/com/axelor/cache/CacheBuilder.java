@@ -28,6 +28,8 @@ public abstract class CacheBuilder<K, V, B extends CacheBuilder<K, V, B>> {
 
   private boolean tenantAware = true;
 
+  private boolean nearCache;
+
   private RemovalListener<? super K, ? super V> removalListener;
 
   private static final CacheProviderInfo cacheProviderInfo =
@@ -58,6 +60,7 @@ public abstract class CacheBuilder<K, V, B extends CacheBuilder<K, V, B>> {
     this.expireAfterWrite = builder.expireAfterWrite;
     this.expireAfterAccess = builder.expireAfterAccess;
     this.tenantAware = builder.tenantAware;
+    this.nearCache = builder.nearCache;
     this.removalListener = builder.removalListener;
   }
 
@@ -189,6 +192,35 @@ public abstract class CacheBuilder<K, V, B extends CacheBuilder<K, V, B>> {
     return self();
   }
 
+  protected boolean isNearCache() {
+    return nearCache;
+  }
+
+  /**
+   * Keeps an in-memory copy of the entries in front of a distributed cache.
+   *
+   * <p>Reads are then served locally, and the local copies are invalidated on all the instances
+   * when entries are changed. The local copies follow the configured size and expiration. The
+   * cached values are shared by the callers and must not be modified.
+   *
+   * <p>This has no effect if the cache is not distributed.
+   *
+   * @return this {@code CacheBuilder} instance (for chaining)
+   */
+  public B nearCache() {
+    this.nearCache = true;
+    return self();
+  }
+
+  /**
+   * Whether the built caches are shared between instances.
+   *
+   * @return true if the caches are distributed
+   */
+  protected boolean isDistributed() {
+    return false;
+  }
+
   @SuppressWarnings("unchecked")
   protected <K1 extends K, V1 extends V> RemovalListener<K1, V1> getRemovalListener() {
     return (RemovalListener<K1, V1>) removalListener;
@@ -222,9 +254,12 @@ public abstract class CacheBuilder<K, V, B extends CacheBuilder<K, V, B>> {
   public final <K1 extends K, V1 extends V> AxelorCache<K1, V1> build() {
     if (isTenantAware() && TenantModule.isEnabled()) {
       return createTenantAwareCache(
-          tenant -> buildCache("%s:%s".formatted(tenant, getCacheName())));
+          tenant -> {
+            final String name = "%s:%s".formatted(tenant, getCacheName());
+            return withNearCache(name, buildCache(name));
+          });
     } else {
-      return buildCache(getCacheName());
+      return withNearCache(getCacheName(), buildCache(getCacheName()));
     }
   }
 
@@ -244,10 +279,22 @@ public abstract class CacheBuilder<K, V, B extends CacheBuilder<K, V, B>> {
       CacheLoader<? super K1, V1> loader) {
     if (isTenantAware() && TenantModule.isEnabled()) {
       return createTenantAwareCache(
-          tenant -> buildCache("%s:%s".formatted(tenant, getCacheName()), loader));
+          tenant -> {
+            final String name = "%s:%s".formatted(tenant, getCacheName());
+            return withNearCache(name, buildCache(name, loader));
+          });
     } else {
-      return buildCache(getCacheName(), loader);
+      return withNearCache(getCacheName(), buildCache(getCacheName(), loader));
+    }
+  }
+
+  private <K1 extends K, V1 extends V> AxelorCache<K1, V1> withNearCache(
+      String name, AxelorCache<K1, V1> cache) {
+    if (!isNearCache() || !isDistributed()) {
+      return cache;
     }
+    return new NearCache<>(
+        name, cache, getMaximumSize(), getExpireAfterWrite(), getExpireAfterAccess());
   }
 
   protected <K1 extends K, V1 extends V> TenantAwareCache<K1, V1> createTenantAwareCache(
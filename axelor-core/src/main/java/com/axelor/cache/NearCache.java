@@ -0,0 +1,229 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.cache;
+
+import com.axelor.cache.caffeine.CaffeineCacheBuilder;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache keeping an in-memory copy of the entries of a distributed cache.
+ *
+ * <p>Reads are served from the local cache when possible, and fall back to the distributed cache.
+ * Writes and invalidations go to the distributed cache and are published on a topic, so that the
+ * other instances drop their local copy.
+ *
+ * <p>Like with in-memory caches, the cached values are shared by all the callers of an instance,
+ * and must not be modified.
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of mapped values
+ */
+public class NearCache<K, V> implements AxelorCache<K, V> {
+
+  /**
+   * Invalidation message.
+   *
+   * @param origin the identifier of the publishing cache instance
+   * @param key the invalidated key, or null if all the keys are invalidated
+   */
+  record Invalidation(String origin, Object key) {}
+
+  private final AxelorCache<K, V> local;
+
+  private final AxelorCache<K, V> remote;
+
+  private final AxelorTopic topic;
+
+  private final String origin = UUID.randomUUID().toString();
+
+  private final int listenerId;
+
+  // incremented on every invalidation to not store values read before it in the local cache
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Creates a near cache in front of the given distributed cache.
+   *
+   * @param name the unique name of the distributed cache
+   * @param remote the distributed cache
+   * @param maximumSize the maximum size of the local cache, or 0 if not bounded
+   * @param expireAfterWrite the expiration of the local entries after write, or null
+   * @param expireAfterAccess the expiration of the local entries after access, or null
+   */
+  public NearCache(
+      String name,
+      AxelorCache<K, V> remote,
+      int maximumSize,
+      Duration expireAfterWrite,
+      Duration expireAfterAccess) {
+    final CaffeineCacheBuilder<K, V> builder = CacheBuilder.newInMemoryBuilder();
+    if (maximumSize > 0) {
+      builder.maximumSize(maximumSize);
+    }
+    if (expireAfterWrite != null) {
+      builder.expireAfterWrite(expireAfterWrite);
+    }
+    if (expireAfterAccess != null) {
+      builder.expireAfterAccess(expireAfterAccess);
+    }
+
+    this.local = builder.nonTenantAware().build();
+    this.remote = remote;
+    this.topic = DistributedFactory.getTopic(name);
+    this.listenerId = topic.addListener(Invalidation.class, this::onInvalidation);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void onInvalidation(Invalidation message) {
+    if (origin.equals(message.origin())) {
+      return;
+    }
+    generation.incrementAndGet();
+    if (message.key() == null) {
+      local.invalidateAll();
+    } else {
+      local.invalidate((K) message.key());
+    }
+  }
+
+  private void publish(K key) {
+    generation.incrementAndGet();
+    topic.publish(new Invalidation(origin, key));
+  }
+
+  private V cache(K key, V value, long readGeneration) {
+    if (value != null && generation.get() == readGeneration) {
+      local.put(key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public V get(K key) {
+    final V value = local.get(key);
+    if (value != null) {
+      return value;
+    }
+    final long readGeneration = generation.get();
+    return cache(key, remote.get(key), readGeneration);
+  }
+
+  @Override
+  public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+    final V value = local.get(key);
+    if (value != null) {
+      return value;
+    }
+    final long readGeneration = generation.get();
+    return cache(key, remote.get(key, mappingFunction), readGeneration);
+  }
+
+  @Override
+  public Map<K, V> getAll(Set<K> keys) {
+    final Map<K, V> result = new HashMap<>(local.getAll(keys));
+    if (result.size() == keys.size()) {
+      return result;
+    }
+
+    final Set<K> missing = new HashSet<>(keys);
+    missing.removeAll(result.keySet());
+
+    final long readGeneration = generation.get();
+    remote
+        .getAll(missing)
+        .forEach((key, value) -> result.put(key, cache(key, value, readGeneration)));
+
+    return result;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    remote.put(key, value);
+    local.invalidate(key);
+    publish(key);
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> map) {
+    remote.putAll(map);
+    for (K key : map.keySet()) {
+      local.invalidate(key);
+      publish(key);
+    }
+  }
+
+  @Override
+  public void invalidate(K key) {
+    remote.invalidate(key);
+    local.invalidate(key);
+    publish(key);
+  }
+
+  @Override
+  public void invalidateAll() {
+    remote.invalidateAll();
+    local.invalidateAll();
+    publish(null);
+  }
+
+  @Override
+  public long estimatedSize() {
+    return remote.estimatedSize();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The returned view is the one of the distributed cache: modifications made through it are
+   * not visible to the local caches until they are invalidated.
+   */
+  @Override
+  public ConcurrentMap<K, V> asMap() {
+    return remote.asMap();
+  }
+
+  @Override
+  public void close() {
+    topic.removeListener(listenerId);
+    local.close();
+    remote.close();
+  }
+
+  @Override
+  public void cleanUp() {
+    local.cleanUp();
+    remote.cleanUp();
+  }
+
+  @Override
+  public Lock getLock(K key) {
+    return remote.getLock(key);
+  }
+
+  @Override
+  public boolean expire(Duration ttl) {
+    local.invalidateAll();
+    return remote.expire(ttl);
+  }
+
+  @Override
+  public boolean clearExpire() {
+    return remote.clearExpire();
+  }
+
+  @Override
+  public long remainTimeToLive() {
+    return remote.remainTimeToLive();
+  }
+}
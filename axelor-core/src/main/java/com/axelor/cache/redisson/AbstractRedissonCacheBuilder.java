@@ -39,6 +39,11 @@ public abstract class AbstractRedissonCacheBuilder<
     super(builder);
   }
 
+  @Override
+  protected boolean isDistributed() {
+    return true;
+  }
+
   @Override
   public <K1 extends K, V1 extends V> AxelorCache<K1, V1> buildCache(String name) {
     var cache = newMapCache(name);
@@ -54,6 +54,8 @@ public class CSVBinder {
 
   private Map<String, DataAdapter> adapters = new HashMap<>();
 
+  private CSVLookupIndex index;
+
   public void registerAdapter(DataAdapter adapter) {
     adapters.put(adapter.getName(), adapter);
   }
@@ -181,13 +183,16 @@ public class CSVBinder {
       }
     } else if (this.query != null) {
       LOG.trace("search: " + this.query);
-      Object bean =
-          JPA.all((Class<Model>) beanClass)
-              .filter(query)
-              .bind(params)
-              .cacheable()
-              .autoFlush(false)
-              .fetchOne();
+      Object bean = index == null ? null : index.find(beanClass, query, params);
+      if (bean == null) {
+        bean =
+            JPA.all((Class<Model>) beanClass)
+                .filter(query)
+                .bind(params)
+                .cacheable()
+                .autoFlush(false)
+                .fetchOne();
+      }
       LOG.trace("search found: " + bean);
       if (update || bean != null) {
         newBean = false;
@@ -269,6 +274,7 @@ public class CSVBinder {
     } else {
       CSVBinder binder = new CSVBinder(type, fields, cb);
       binder.registerAdapters(adapters);
+      binder.index = index;
       value = binder.bind(values);
     }
     values.put(field, value);
@@ -350,6 +356,7 @@ public class CSVBinder {
       else if (p.getTarget() != null) {
         CSVBinder b = new CSVBinder(p.getTarget(), fields, cb);
         b.registerAdapters(adapters);
+        b.index = index;
         value = b.bind(values);
       }
 
@@ -423,6 +430,142 @@ public class CSVBinder {
     return bind(localContext);
   }
 
+  /**
+   * Resolve the references searched by the bindings for the given chunk of rows.
+   *
+   * <p>The search queries matching a single string or integer field are run once for all the given
+   * rows, and the matched records are kept in an index used by the next calls to {@link
+   * #bind(String[], Map)}, until the next call to this method. The index only holds the records of
+   * the chunk, so the chunk should not be larger than the transaction batch.
+   *
+   * @param rows values of the rows of the chunk
+   * @param context the global context
+   */
+  public void prefetch(List<String[]> rows, Map<String, Object> context) {
+    Objects.requireNonNull(rows);
+    Objects.requireNonNull(context);
+
+    if (index == null) {
+      index = new CSVLookupIndex();
+      if (searchCall == null) {
+        index.register(beanClass, query);
+      }
+      register(beanClass, bindings);
+    }
+
+    if (index.isEmpty() || rows.isEmpty()) {
+      return;
+    }
+
+    final Set<String> params = index.getParams();
+    final List<CSVBind> columns = new ArrayList<>();
+    for (CSVBind cb : flatten(this.bindings)) {
+      String column = cb.getColumn();
+      if (Strings.isNullOrEmpty(column)) continue;
+      if (params.contains(column) || params.contains(column.replace(".", "_") + "_")) {
+        columns.add(cb);
+      }
+    }
+
+    final List<Map<String, Object>> contexts = new ArrayList<>(rows.size());
+    for (String[] values : rows) {
+      Map<String, Object> map = new HashMap<>(context);
+      for (int i = 0; i < fields.length && i < values.length; i++) {
+        map.put(fields[i], values[i]);
+      }
+
+      Map<String, Object> row = new HashMap<>(map);
+      try {
+        for (CSVBind cb : columns) {
+          String column = cb.getColumn();
+          row.put(column, cb.evaluate(map));
+          row.put(column.replace(".", "_") + "_", row.get(column));
+        }
+      } catch (Exception e) {
+        // the row will fail again when bound
+        continue;
+      }
+      contexts.add(row);
+    }
+
+    index.prefetch(contexts);
+  }
+
+  /**
+   * Whether the search of the input or of the bindings look up records of the given type.
+   *
+   * @param type the type of the records
+   * @return true if records of the given type are searched
+   */
+  boolean isSearching(Class<?> type) {
+    if ((query != null || searchCall != null) && type.isAssignableFrom(beanClass)) {
+      return true;
+    }
+    return isSearching(beanClass, bindings, type);
+  }
+
+  private boolean isSearching(Class<?> beanClass, List<CSVBind> bindings, Class<?> type) {
+    if (bindings == null) {
+      return false;
+    }
+
+    Mapper mapper = Mapper.of(beanClass);
+    for (CSVBind cb : bindings) {
+      Class<?> target = null;
+      Property p = mapper.getProperty(cb.getField());
+      if (p != null) {
+        target = p.getTarget();
+      } else if (cb.getType() != null) {
+        try {
+          target = Class.forName(cb.getType());
+        } catch (ClassNotFoundException e) {
+          // not a dummy binding of a model
+        }
+      }
+
+      if (target == null) {
+        continue;
+      }
+      if (cb.getSearch() != null && type.isAssignableFrom(target)) {
+        return true;
+      }
+      if (isSearching(target, cb.getBindings(), type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void register(Class<?> beanClass, List<CSVBind> bindings) {
+    if (bindings == null) {
+      return;
+    }
+
+    Mapper mapper = Mapper.of(beanClass);
+    for (CSVBind cb : bindings) {
+      Class<?> target = null;
+      Property p = mapper.getProperty(cb.getField());
+      if (p != null) {
+        target = p.getTarget();
+        // m2m references are searched with all matching records
+        if (p.getType() == PropertyType.MANY_TO_MANY && cb.getColumn() != null) {
+          continue;
+        }
+      } else if (cb.getType() != null) {
+        try {
+          target = Class.forName(cb.getType());
+        } catch (ClassNotFoundException e) {
+          // not a dummy binding of a model
+        }
+      }
+
+      if (target != null) {
+        index.register(target, cb.getSearch());
+        register(target, cb.getBindings());
+      }
+    }
+  }
+
   private List<CSVBind> flatten(List<CSVBind> bindings) {
     List<CSVBind> all = new ArrayList<>();
     for (CSVBind cb : bindings) {
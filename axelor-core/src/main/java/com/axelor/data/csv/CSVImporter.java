@@ -6,6 +6,7 @@ package com.axelor.data.csv;
 
 import com.axelor.common.StringUtils;
 import com.axelor.common.csv.CSVFile;
+import com.axelor.concurrent.ContextAware;
 import com.axelor.data.ImportException;
 import com.axelor.data.ImportTask;
 import com.axelor.data.Importer;
@@ -14,11 +15,15 @@ import com.axelor.data.adapter.DataAdapter;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
 import com.axelor.db.internal.DBHelper;
+import com.axelor.inject.Beans;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.inject.persist.UnitOfWork;
 import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import jakarta.persistence.EntityTransaction;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -29,9 +34,18 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.io.input.BOMInputStream;
@@ -42,6 +56,9 @@ public class CSVImporter implements Importer {
 
   private Logger LOG = LoggerFactory.getLogger(getClass());
 
+  // number of chunks read ahead for each worker in parallel imports
+  private static final int CHUNKS_PER_WORKER = 4;
+
   private File dataDir;
 
   private CSVConfig config;
@@ -54,6 +71,10 @@ public class CSVImporter implements Importer {
 
   private CSVLogger loggerManager;
 
+  private boolean prefetch;
+
+  private int workers = 1;
+
   public void addListener(Listener listener) {
     this.listeners.add(listener);
   }
@@ -66,6 +87,35 @@ public class CSVImporter implements Importer {
     this.context = context;
   }
 
+  /**
+   * Whether to resolve the references searched by the bindings for each chunk of records at once,
+   * instead of for each record (disabled by default).
+   *
+   * @param prefetch true to prefetch the references
+   */
+  public void setPrefetch(boolean prefetch) {
+    this.prefetch = prefetch;
+  }
+
+  /**
+   * Set the number of workers importing the records of an input in parallel (1 by default).
+   *
+   * <p>With more than one worker, the records are read by chunks of the JDBC batch size and each
+   * chunk is imported in its own transaction by one of the workers. The inputs are still imported
+   * one after the other, but the records of an input are imported in no particular order.
+   *
+   * <p>A record may then be imported before the records it references in the same input are
+   * committed, and be skipped. The inputs searching records of their own type, with the search of
+   * the input or of a binding, are therefore imported sequentially. References resolved by scripts
+   * or calls are not detected, such inputs should not be imported in parallel.
+   *
+   * @param workers the number of workers
+   */
+  public void setWorkers(int workers) {
+    Preconditions.checkArgument(workers > 0, "workers must be positive");
+    this.workers = workers;
+  }
+
   public CSVImporter(String configFile) {
     this(configFile, null, null);
   }
@@ -258,7 +308,7 @@ public class CSVImporter implements Importer {
 
       LOG.debug("Header {}", Arrays.asList(fields));
 
-      CSVBinder binder = new CSVBinder(beanClass, fields, csvInput);
+      CSVBinder binder = createBinder(beanClass, fields, csvInput);
 
       JPA.em().getTransaction().begin();
 
@@ -276,69 +326,85 @@ public class CSVImporter implements Importer {
         context.put("__path__", dataDir.toPath());
       }
 
-      // register type adapters
-      for (DataAdapter adapter : defaultAdapters) {
-        binder.registerAdapter(adapter);
-      }
-      for (DataAdapter adapter : this.config.getAdapters()) {
-        binder.registerAdapter(adapter);
-      }
-      for (DataAdapter adapter : csvInput.getAdapters()) {
-        binder.registerAdapter(adapter);
+      Iterator<CSVRecord> records = csvParser.iterator();
+
+      // Import the chunks in parallel, unless the records may reference each other
+      boolean parallel = workers > 1;
+      if (parallel && binder.isSearching(beanClass)) {
+        LOG.info("Importing {} sequentially, its records are searched by the bindings.", beanName);
+        parallel = false;
       }
 
-      // Process for each record
-      for (CSVRecord record : csvParser) {
+      if (parallel) {
+        JPA.em().getTransaction().commit();
+        JPA.em().clear();
 
-        if (CSVFile.isEmpty(record)) {
-          continue;
+        AtomicInteger imported = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        try {
+          processParallel(
+              csvInput, beanClass, fields, records, batchSize, context, imported, processed);
+        } finally {
+          count = imported.get();
+          total = processed.get();
         }
+        return;
+      }
 
-        String[] values = CSVFile.values(record);
+      // Process the records by chunks of the batch size
+      while (records.hasNext()) {
 
-        LOG.trace("Record {}", Arrays.asList(values));
+        List<String[]> chunk = readChunk(records, batchSize);
 
-        Object bean = null;
-        try {
-          bean = this.importRow(values, binder, csvInput, context, false);
-          count++;
-        } catch (Exception e) {
-          int line = count + 1;
-          LOG.error("Error while importing {}.", csvInput.getFileName());
-          LOG.error(
-              "Unable to import record #{}: {}",
-              line,
-              Arrays.asList(values),
-              ImportException.from(e));
-
-          // Recover the transaction
-          if (JPA.em().getTransaction().isActive()) {
-            JPA.em().getTransaction().rollback();
-          }
+        // Resolve the references of the chunk at once
+        prefetch(binder, chunk, context, csvInput);
 
-          if (!JPA.em().getTransaction().isActive()) {
-            JPA.em().getTransaction().begin();
-          }
+        for (String[] values : chunk) {
 
-          for (Listener listener : listeners) {
-            listener.handle((Model) bean, e);
-          }
+          LOG.trace("Record {}", Arrays.asList(values));
 
-          // Re-parse previous records
-          this.onRollback(values, binder, csvInput, context);
-        }
+          Object bean = null;
+          try {
+            bean = this.importRow(values, binder, csvInput, context, false);
+            count++;
+          } catch (Exception e) {
+            int line = count + 1;
+            LOG.error("Error while importing {}.", csvInput.getFileName());
+            LOG.error(
+                "Unable to import record #{}: {}",
+                line,
+                Arrays.asList(values),
+                ImportException.from(e));
+
+            // Recover the transaction
+            if (JPA.em().getTransaction().isActive()) {
+              JPA.em().getTransaction().rollback();
+            }
 
-        ++total;
-        if (valuesStack.size() % batchSize == 0) {
-          LOG.trace("Commit {} records", valuesStack.size());
+            if (!JPA.em().getTransaction().isActive()) {
+              JPA.em().getTransaction().begin();
+            }
 
-          if (JPA.em().getTransaction().isActive()) {
-            JPA.em().getTransaction().commit();
-            JPA.em().clear();
-            valuesStack.clear();
+            for (Listener listener : listeners) {
+              listener.handle((Model) bean, e);
+            }
+
+            // Re-parse previous records
+            this.onRollback(values, binder, csvInput, context);
           }
-          if (!JPA.em().getTransaction().isActive()) {
-            JPA.em().getTransaction().begin();
+
+          ++total;
+          if (valuesStack.size() % batchSize == 0) {
+            LOG.trace("Commit {} records", valuesStack.size());
+
+            if (JPA.em().getTransaction().isActive()) {
+              JPA.em().getTransaction().commit();
+              JPA.em().clear();
+              valuesStack.clear();
+            }
+            if (!JPA.em().getTransaction().isActive()) {
+              JPA.em().getTransaction().begin();
+            }
           }
         }
       }
@@ -366,6 +432,236 @@ public class CSVImporter implements Importer {
     }
   }
 
+  private CSVBinder createBinder(Class<?> beanClass, String[] fields, CSVInput csvInput) {
+    CSVBinder binder = new CSVBinder(beanClass, fields, csvInput);
+
+    // register type adapters
+    for (DataAdapter adapter : defaultAdapters) {
+      binder.registerAdapter(adapter);
+    }
+    for (DataAdapter adapter : this.config.getAdapters()) {
+      binder.registerAdapter(adapter);
+    }
+    for (DataAdapter adapter : csvInput.getAdapters()) {
+      binder.registerAdapter(adapter);
+    }
+
+    return binder;
+  }
+
+  private List<String[]> readChunk(Iterator<CSVRecord> records, int size) {
+    List<String[]> chunk = new ArrayList<>(size);
+    while (records.hasNext() && chunk.size() < size) {
+      CSVRecord record = records.next();
+      if (!CSVFile.isEmpty(record)) {
+        chunk.add(CSVFile.values(record));
+      }
+    }
+    return chunk;
+  }
+
+  private void prefetch(
+      CSVBinder binder, List<String[]> chunk, Map<String, Object> context, CSVInput csvInput) {
+    if (!prefetch) {
+      return;
+    }
+    try {
+      binder.prefetch(chunk, context);
+    } catch (Exception e) {
+      LOG.warn("Unable to prefetch the references of {}.", csvInput.getFileName(), e);
+    }
+  }
+
+  /**
+   * Import the records by chunks, in parallel.
+   *
+   * <p>The chunks are read by the current thread and handed to a fixed set of workers through a
+   * bounded queue, so that only a few chunks per worker are held in memory and the workers never
+   * wait for each other.
+   */
+  private void processParallel(
+      CSVInput csvInput,
+      Class<?> beanClass,
+      String[] fields,
+      Iterator<CSVRecord> records,
+      int batchSize,
+      Map<String, Object> context,
+      AtomicInteger count,
+      AtomicInteger total) {
+
+    final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(workers * CHUNKS_PER_WORKER);
+    final ExecutorService pool = Executors.newFixedThreadPool(workers);
+    final List<Future<?>> futures = new ArrayList<>(workers);
+
+    try {
+      for (int i = 0; i < workers; i++) {
+        futures.add(
+            pool.submit(
+                ContextAware.of()
+                    .withTransaction(false)
+                    .build(
+                        () -> processChunks(csvInput, beanClass, fields, queue, context, count))));
+      }
+
+      while (records.hasNext()) {
+        List<String[]> rows = readChunk(records, batchSize);
+        put(queue, new Chunk(rows, total.get() + 1), futures);
+        total.addAndGet(rows.size());
+      }
+      for (int i = 0; i < workers; i++) {
+        put(queue, Chunk.END, futures);
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Import of {} interrupted.", csvInput.getFileName());
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /** Put a chunk in the queue, as long as the workers are running. */
+  private static void put(BlockingQueue<Chunk> queue, Chunk chunk, List<Future<?>> futures)
+      throws InterruptedException, ExecutionException {
+    while (!queue.offer(chunk, 1, TimeUnit.SECONDS)) {
+      for (Future<?> future : futures) {
+        if (future.isDone()) {
+          future.get();
+          throw new IllegalStateException("Import worker stopped unexpectedly");
+        }
+      }
+    }
+  }
+
+  /** Import the chunks of the queue, until the end of the input. */
+  private void processChunks(
+      CSVInput csvInput,
+      Class<?> beanClass,
+      String[] fields,
+      BlockingQueue<Chunk> queue,
+      Map<String, Object> context,
+      AtomicInteger count) {
+
+    final CSVBinder binder = createBinder(beanClass, fields, csvInput);
+    final UnitOfWork unitOfWork = Beans.get(UnitOfWork.class);
+
+    unitOfWork.begin();
+    try {
+      for (Chunk chunk; (chunk = queue.take()) != Chunk.END; ) {
+        processChunk(csvInput, binder, chunk, context, count);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      unitOfWork.end();
+    }
+  }
+
+  /**
+   * Import a chunk of records in a transaction.
+   *
+   * <p>If any record fails, the transaction is rolled back and the records are imported again one
+   * by one, each in its own transaction, to only skip the failing ones.
+   */
+  private void processChunk(
+      CSVInput csvInput,
+      CSVBinder binder,
+      Chunk chunk,
+      Map<String, Object> context,
+      AtomicInteger count) {
+
+    final List<String[]> rows = chunk.rows();
+    final EntityTransaction txn = JPA.em().getTransaction();
+    final List<Object> beans = new ArrayList<>(rows.size());
+
+    txn.begin();
+    try {
+      prefetch(binder, rows, context, csvInput);
+      for (String[] values : rows) {
+        LOG.trace("Record {}", Arrays.asList(values));
+        beans.add(this.bindRow(values, binder, csvInput, context));
+      }
+      txn.commit();
+    } catch (Exception e) {
+      LOG.debug("Recover records #{} to #{}", chunk.first(), chunk.first() + rows.size() - 1);
+      if (txn.isActive()) {
+        txn.rollback();
+      }
+      JPA.em().clear();
+      processRows(csvInput, binder, rows, chunk.first(), context, count);
+      return;
+    } finally {
+      JPA.em().clear();
+    }
+
+    count.addAndGet(beans.size());
+    synchronized (listeners) {
+      for (Object bean : beans) {
+        for (Listener listener : listeners) {
+          listener.imported((Model) bean);
+        }
+      }
+    }
+  }
+
+  /** A chunk of records, with the number of its first record. */
+  private record Chunk(List<String[]> rows, int first) {
+
+    // marks the end of the input for a worker
+    static final Chunk END = new Chunk(List.of(), 0);
+  }
+
+  private void processRows(
+      CSVInput csvInput,
+      CSVBinder binder,
+      List<String[]> rows,
+      int first,
+      Map<String, Object> context,
+      AtomicInteger count) {
+
+    final EntityTransaction txn = JPA.em().getTransaction();
+
+    for (int i = 0; i < rows.size(); i++) {
+      String[] values = rows.get(i);
+      try {
+        txn.begin();
+        Object bean = this.bindRow(values, binder, csvInput, context);
+        txn.commit();
+        count.incrementAndGet();
+        synchronized (listeners) {
+          for (Listener listener : listeners) {
+            listener.imported((Model) bean);
+          }
+        }
+      } catch (Exception e) {
+        if (txn.isActive()) {
+          txn.rollback();
+        }
+        LOG.error("Error while importing {}.", csvInput.getFileName());
+        LOG.error(
+            "Unable to import record #{}: {}",
+            first + i,
+            Arrays.asList(values),
+            ImportException.from(e));
+        synchronized (listeners) {
+          if (loggerManager != null) {
+            loggerManager.log(values);
+          }
+          for (Listener listener : listeners) {
+            listener.handle(null, e);
+          }
+        }
+      } finally {
+        JPA.em().clear();
+      }
+    }
+  }
+
   /**
    * Import the specific row.
    *
@@ -384,6 +680,22 @@ public class CSVImporter implements Importer {
       Map<String, Object> context,
       Boolean onRollback)
       throws Exception {
+    Object bean = this.bindRow(values, binder, csvInput, context);
+
+    if (!onRollback) {
+      valuesStack.add(values);
+
+      for (Listener listener : listeners) {
+        listener.imported((Model) bean);
+      }
+    }
+
+    return bean;
+  }
+
+  private Object bindRow(
+      String[] values, CSVBinder binder, CSVInput csvInput, Map<String, Object> context)
+      throws Exception {
     Object bean = null;
     Map<String, Object> ctx = new HashMap<>(context);
 
@@ -398,14 +710,6 @@ public class CSVImporter implements Importer {
       LOG.trace("bean saved: {}", bean);
     }
 
-    if (!onRollback) {
-      valuesStack.add(values);
-
-      for (Listener listener : listeners) {
-        listener.imported((Model) bean);
-      }
-    }
-
     return bean;
   }
 
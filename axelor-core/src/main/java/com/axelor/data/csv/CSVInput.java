@@ -169,7 +169,7 @@ public class CSVInput {
     this.adapters = adapters;
   }
 
-  private Object callObject;
+  private volatile Object callObject;
   private Method callMethod;
 
   private Object contextObject;
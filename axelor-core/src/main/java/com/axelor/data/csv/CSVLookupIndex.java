@@ -0,0 +1,228 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.data.csv;
+
+import com.axelor.common.StringUtils;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.db.mapper.Mapper;
+import com.axelor.db.mapper.Property;
+import com.axelor.db.mapper.PropertyType;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the records matched by the search queries of the bindings, for a chunk of rows.
+ *
+ * <p>Searches in the form <code>self.field = :param</code> on a string or integer field are
+ * resolved for all the rows of a chunk with one <code>IN</code> query, instead of one query per
+ * row. The matched records are loaded in the persistence context and the index maps the searched
+ * values to their ids. Other searches, values not found in the index and values matching several
+ * records fall back to the search query.
+ */
+class CSVLookupIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CSVLookupIndex.class);
+
+  private static final Pattern SIMPLE_SEARCH =
+      Pattern.compile("^\\s*self\\.(\\w+)\\s*=\\s*:(\\w+)\\s*$");
+
+  /** Maximum number of values indexed per search and chunk. */
+  private static final int MAX_KEYS = 10_000;
+
+  private static final int IN_BATCH_SIZE = 1000;
+
+  private final Map<String, Lookup> lookups = new LinkedHashMap<>();
+
+  private final int maxKeys;
+
+  CSVLookupIndex() {
+    this(MAX_KEYS);
+  }
+
+  /**
+   * Create an index.
+   *
+   * @param maxKeys the maximum number of values indexed per search and chunk
+   */
+  CSVLookupIndex(int maxKeys) {
+    this.maxKeys = maxKeys;
+  }
+
+  /**
+   * Register the search query of a binding.
+   *
+   * @param beanClass the searched class
+   * @param search the search query
+   */
+  void register(Class<?> beanClass, String search) {
+    if (beanClass == null || StringUtils.isBlank(search)) {
+      return;
+    }
+
+    final String key = beanClass.getName() + ":" + search;
+    if (lookups.containsKey(key)) {
+      return;
+    }
+
+    final Matcher matcher = SIMPLE_SEARCH.matcher(search);
+    if (!matcher.matches()) {
+      return;
+    }
+
+    final Property property = Mapper.of(beanClass).getProperty(matcher.group(1));
+    if (property == null
+        || (property.getType() != PropertyType.STRING
+            && property.getType() != PropertyType.INTEGER
+            && property.getType() != PropertyType.LONG)) {
+      return;
+    }
+
+    lookups.put(key, new Lookup(beanClass, property, matcher.group(2), maxKeys));
+  }
+
+  /** Whether any search is indexed. */
+  boolean isEmpty() {
+    return lookups.isEmpty();
+  }
+
+  /** The names of the params of the indexed searches. */
+  Set<String> getParams() {
+    final Set<String> params = new HashSet<>();
+    for (Lookup lookup : lookups.values()) {
+      params.add(lookup.param);
+    }
+    return params;
+  }
+
+  /**
+   * Resolve the searched values of the given rows.
+   *
+   * @param rows the binding context of each row of the chunk
+   */
+  void prefetch(List<Map<String, Object>> rows) {
+    for (Lookup lookup : lookups.values()) {
+      lookup.prefetch(rows);
+    }
+  }
+
+  /**
+   * Find the record matched by the given search from the index.
+   *
+   * @param beanClass the searched class
+   * @param search the search query
+   * @param params the search params
+   * @return the matched record, or null if not found in the index
+   */
+  Object find(Class<?> beanClass, String search, Map<String, Object> params) {
+    final Lookup lookup = lookups.get(beanClass.getName() + ":" + search);
+    return lookup == null ? null : lookup.find(params);
+  }
+
+  private static final class Lookup {
+
+    private final Class<?> beanClass;
+
+    private final Property property;
+
+    private final String param;
+
+    private final int maxKeys;
+
+    private final Map<String, Long> ids = new HashMap<>();
+
+    private Lookup(Class<?> beanClass, Property property, String param, int maxKeys) {
+      this.beanClass = beanClass;
+      this.property = property;
+      this.param = param;
+      this.maxKeys = maxKeys;
+    }
+
+    private Object value(Object raw) {
+      if (raw == null) {
+        return null;
+      }
+      final String text = raw.toString().trim();
+      if (text.isEmpty()) {
+        return null;
+      }
+      if (property.getType() == PropertyType.STRING) {
+        return raw.toString();
+      }
+      try {
+        final long value = Long.parseLong(text);
+        return property.getType() == PropertyType.INTEGER ? Math.toIntExact(value) : value;
+      } catch (ArithmeticException | NumberFormatException e) {
+        return null;
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void prefetch(List<Map<String, Object>> rows) {
+      ids.clear();
+
+      final Set<Object> values = new LinkedHashSet<>();
+      for (Map<String, Object> row : rows) {
+        final Object value = value(row.get(param));
+        if (value != null && values.size() < maxKeys) {
+          values.add(value);
+        }
+      }
+
+      if (values.isEmpty()) {
+        return;
+      }
+
+      final Set<String> duplicates = new HashSet<>();
+      final String filter = "self.%s IN (:values)".formatted(property.getName());
+      for (List<Object> batch : Lists.partition(new ArrayList<>(values), IN_BATCH_SIZE)) {
+        final List<Model> found =
+            JPA.all((Class<Model>) beanClass)
+                .filter(filter)
+                .bind("values", batch)
+                .autoFlush(false)
+                .fetch();
+        for (Model bean : found) {
+          final String key = String.valueOf(property.get(bean));
+          if (ids.putIfAbsent(key, bean.getId()) != null) {
+            duplicates.add(key);
+          }
+        }
+      }
+
+      // the search query decides which of the matching records is used
+      ids.keySet().removeAll(duplicates);
+
+      LOG.trace(
+          "prefetch {}: {} of {} values found", beanClass.getName(), ids.size(), values.size());
+    }
+
+    private Object find(Map<String, Object> params) {
+      final Object value = value(params.get(param));
+      final Long id = value == null ? null : ids.get(value.toString());
+      if (id == null) {
+        return null;
+      }
+
+      final Object bean = JPA.em().find(beanClass, id);
+      // the record may have been changed since it was indexed
+      if (bean == null || !value.toString().equals(String.valueOf(property.get(bean)))) {
+        return null;
+      }
+      return bean;
+    }
+  }
+}
@@ -6,6 +6,8 @@ package com.axelor.db;
 
 import com.axelor.i18n.I18n;
 import com.axelor.rpc.filter.Filter;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 public interface JpaSecurity {
@@ -47,4 +49,45 @@ public interface JpaSecurity {
   boolean isPermitted(AccessType type, Class<? extends Model> model, Long... ids);
 
   void check(AccessType type, Class<? extends Model> model, Long... ids);
+
+  /**
+   * Get the ids of the given records on which the requested access is permitted.
+   *
+   * <p>Unlike checking the records one by one, implementations should verify the whole set of ids
+   * with as few queries as possible.
+   *
+   * @param type the access type
+   * @param model the model class
+   * @param ids the record ids to verify
+   * @return the permitted subset of the given ids, in the given order
+   */
+  default Set<Long> filterPermitted(
+      AccessType type, Class<? extends Model> model, Collection<Long> ids) {
+    final Set<Long> permitted = new LinkedHashSet<>();
+    for (Long id : ids) {
+      if (id != null && isPermitted(type, model, id)) {
+        permitted.add(id);
+      }
+    }
+    return permitted;
+  }
+
+  /**
+   * Check whether the requested access is permitted on all the given records.
+   *
+   * @param type the access type
+   * @param model the model class
+   * @param ids the record ids to verify
+   */
+  default void check(AccessType type, Class<? extends Model> model, Collection<Long> ids) {
+    final Set<Long> permitted = filterPermitted(type, model, ids);
+    final Long[] denied =
+        ids.stream()
+            .filter(id -> id != null && !permitted.contains(id))
+            .distinct()
+            .toArray(Long[]::new);
+    if (denied.length > 0) {
+      check(type, model, denied);
+    }
+  }
 }
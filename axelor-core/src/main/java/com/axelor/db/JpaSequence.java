@@ -4,24 +4,56 @@
  */
 package com.axelor.db;
 
+import com.axelor.cache.AxelorTopic;
+import com.axelor.cache.DistributedFactory;
 import com.axelor.common.StringUtils;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.meta.db.MetaSequence;
 import com.google.common.base.Strings;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.FlushModeType;
+import jakarta.persistence.LockModeType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-/** This class provides some helper static methods to deal with custom sequences. */
+/**
+ * This class provides some helper static methods to deal with custom sequences.
+ *
+ * <p>Sequences with an allocation size greater than one reserve blocks of values in a separate
+ * transaction, and hand them out from memory. This avoids serializing concurrent transactions on
+ * the sequence row, at the cost of gaps in the generated values. If the sequence is loaded or
+ * changed by the running transaction, the values are generated in that transaction instead.
+ */
 public final class JpaSequence {
 
+  /** Reserved values of the allocated sequences, by tenant and sequence name */
+  private static final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+  private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+  /** Topic used to notify other instances to drop their reserved values. */
+  private static final AxelorTopic invalidationTopic = DistributedFactory.getTopic("invalidation");
+
+  static {
+    invalidationTopic.addListener(String.class, blocks::remove);
+  }
+
   private JpaSequence() {}
 
   private static MetaSequence find(EntityManager em, String name) {
+    return find(em, name, LockModeType.NONE);
+  }
+
+  private static MetaSequence find(EntityManager em, String name, LockModeType lockMode) {
     final MetaSequence sequence =
         em
             .createQuery(
                 "SELECT self FROM MetaSequence self WHERE self.name = :name", MetaSequence.class)
             .setParameter("name", name)
             .setFlushMode(FlushModeType.COMMIT)
+            .setLockMode(lockMode)
             .setMaxResults(1)
             .getResultList()
             .stream()
@@ -50,19 +82,119 @@ public final class JpaSequence {
    * Get the next sequence value of the given sequence.<br>
    * <br>
    * This method must be called inside a running transaction as it updates the sequence details in
-   * database.
+   * database.<br>
+   * <br>
+   * If the allocation size of the sequence is greater than one, the value is taken from a block of
+   * values reserved in a separate transaction, and is not released if the running transaction is
+   * rolled back.
    *
    * @param em the entity manager
    * @param name the name of the sequence
    * @return next sequence value
    */
   public static String nextValue(EntityManager em, String name) {
-    final MetaSequence sequence = find(em, name);
+    final String key = blockKey(name);
+    final Block block = blocks.get(key);
+    final String reserved = block == null ? null : block.nextValue();
+    if (reserved != null) {
+      return reserved;
+    }
+
+    // the settings are read without loading the sequence in the caller's persistence context
+    if (!JpaSequenceListener.isLoaded(em, name) && isAllocated(em, name)) {
+      return nextAllocatedValue(em, key, name);
+    }
+
+    blocks.remove(key);
+
+    final MetaSequence sequence = findCurrent(em, name);
     final Long next = sequence.getNext();
-    final String prefix = sequence.getPrefix();
-    final String suffix = sequence.getSuffix();
-    final Integer padding = sequence.getPadding();
 
+    sequence.setNext(next + sequence.getIncrement());
+
+    em.persist(sequence);
+
+    return format(sequence, next);
+  }
+
+  /**
+   * Find the sequence to update it in the running transaction.
+   *
+   * <p>If the sequence was kept by the persistence context from a previous transaction, the row is
+   * read again as values may have been reserved meanwhile.
+   */
+  private static MetaSequence findCurrent(EntityManager em, String name) {
+    final MetaSequence sequence = find(em, name);
+    if (!JpaSequenceListener.isLoaded(em, name)) {
+      em.refresh(sequence);
+    }
+    return sequence;
+  }
+
+  private static boolean isAllocated(EntityManager em, String name) {
+    final Object[] settings =
+        em
+            .createQuery(
+                "SELECT self.allocationSize, self.increment FROM MetaSequence self"
+                    + " WHERE self.name = :name",
+                Object[].class)
+            .setParameter("name", name)
+            .setFlushMode(FlushModeType.COMMIT)
+            .setMaxResults(1)
+            .getResultList()
+            .stream()
+            .findFirst()
+            .orElse(null);
+    if (settings == null) {
+      throw new IllegalArgumentException("No such sequence: " + name);
+    }
+    return isAllocated((Integer) settings[0], (Integer) settings[1]);
+  }
+
+  private static boolean isAllocated(Integer size, Integer increment) {
+    return size != null && size > 1 && increment != null && increment > 0;
+  }
+
+  private static String nextAllocatedValue(EntityManager em, String key, String name) {
+    synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+      final Block block = blocks.get(key);
+      final String reserved = block == null ? null : block.nextValue();
+      if (reserved != null) {
+        return reserved;
+      }
+      final Block allocated = allocate(em, name);
+      blocks.put(key, allocated);
+      return allocated.nextValue();
+    }
+  }
+
+  /** Reserves the next block of values of the sequence in a separate transaction. */
+  private static Block allocate(EntityManager em, String name) {
+    final EntityManager allocator = em.getEntityManagerFactory().createEntityManager();
+    final EntityTransaction txn = allocator.getTransaction();
+    try {
+      txn.begin();
+      final MetaSequence sequence = find(allocator, name, LockModeType.PESSIMISTIC_WRITE);
+      final long first = sequence.getNext();
+      final int size = Math.max(1, sequence.getAllocationSize());
+      sequence.setNext(first + (long) sequence.getIncrement() * size);
+      txn.commit();
+      return new Block(sequence, first, size);
+    } catch (RuntimeException e) {
+      if (txn.isActive()) {
+        txn.rollback();
+      }
+      throw e;
+    } finally {
+      allocator.close();
+    }
+  }
+
+  private static String format(MetaSequence sequence, long next) {
+    return format(sequence.getPrefix(), sequence.getSuffix(), sequence.getPadding(), next);
+  }
+
+  private static String format(String prefix, String suffix, Integer padding, long next) {
     String value = "" + next;
     if (padding > 0) {
       value = Strings.padStart(value, padding, '0');
@@ -73,12 +205,28 @@ public final class JpaSequence {
     if (!StringUtils.isBlank(suffix)) {
       value = value + suffix;
     }
+    return value;
+  }
 
-    sequence.setNext(next + sequence.getIncrement());
-
-    em.persist(sequence);
+  private static String blockKey(String name) {
+    return TenantResolver.currentTenantIdentifier() + ":" + name;
+  }
 
-    return value;
+  /**
+   * Drops the reserved values of the sequence, now and once the current transaction is completed,
+   * on this instance and on the other ones.
+   */
+  static void invalidate(EntityManager em, String name) {
+    // resolved now, the topic listeners don't run with the tenant of the transaction
+    final String key = blockKey(name);
+    blocks.remove(key);
+    TransactionCallbacks.afterCompletion(
+        em,
+        success -> {
+          // values may have been reserved meanwhile from the previous state
+          blocks.remove(key);
+          invalidationTopic.publish(key);
+        });
   }
 
   /**
@@ -94,9 +242,7 @@ public final class JpaSequence {
    * @param next the next sequence number
    */
   public static void nextValue(final String name, final long next) {
-    final MetaSequence sequence = find(JPA.em(), name);
-    sequence.setNext(next);
-    JPA.em().persist(sequence);
+    nextValue(JPA.em(), name, next);
   }
 
   /**
@@ -113,8 +259,40 @@ public final class JpaSequence {
    * @param next the next sequence number
    */
   public static void nextValue(final EntityManager em, final String name, final long next) {
-    final MetaSequence sequence = find(em, name);
+    final MetaSequence sequence = findCurrent(em, name);
     sequence.setNext(next);
     JPA.em().persist(sequence);
+    invalidate(em, name);
+  }
+
+  /** A block of reserved values of a sequence. */
+  private static final class Block {
+
+    private final String prefix;
+
+    private final String suffix;
+
+    private final Integer padding;
+
+    private final int increment;
+
+    private final long limit;
+
+    private final AtomicLong next;
+
+    Block(MetaSequence sequence, long first, int size) {
+      this.prefix = sequence.getPrefix();
+      this.suffix = sequence.getSuffix();
+      this.padding = sequence.getPadding();
+      this.increment = sequence.getIncrement();
+      this.limit = first + (long) increment * size;
+      this.next = new AtomicLong(first);
+    }
+
+    /** Returns the next reserved value, or null if the block is exhausted. */
+    String nextValue() {
+      final long value = next.getAndAdd(increment);
+      return value < limit ? format(prefix, suffix, padding, value) : null;
+    }
   }
 }
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import com.axelor.meta.db.MetaSequence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Drops the values reserved by {@link JpaSequence} when sequences are changed, and keeps track of
+ * the sequences loaded or changed by the running transactions.
+ */
+public class JpaSequenceListener {
+
+  // the fields used to reserve and format the values
+  private static final Set<String> FIELDS =
+      Set.of("name", "prefix", "suffix", "padding", "increment", "allocationSize");
+
+  @PreUpdate
+  private void onPreUpdate(MetaSequence sequence) {
+    final EntityManager em = JPA.em();
+    if (!em.contains(sequence)) {
+      // updated by another session, like the reservation of values
+      return;
+    }
+    final SessionImplementor session = em.unwrap(SessionImplementor.class);
+    final EntityEntry entry = session.getPersistenceContextInternal().getEntry(sequence);
+    final Object[] loaded = entry == null ? null : entry.getLoadedState();
+    if (loaded == null) {
+      return;
+    }
+
+    final EntityPersister persister = entry.getPersister();
+    final String[] names = persister.getPropertyNames();
+    final Object[] values = persister.getValues(sequence);
+    String oldName = sequence.getName();
+    boolean changed = false;
+    for (int i = 0; i < names.length; i++) {
+      if ("name".equals(names[i])) {
+        oldName = (String) loaded[i];
+      }
+      changed |= FIELDS.contains(names[i]) && !Objects.equals(loaded[i], values[i]);
+    }
+
+    if (changed) {
+      JpaSequence.invalidate(em, oldName);
+      if (!Objects.equals(oldName, sequence.getName())) {
+        JpaSequence.invalidate(em, sequence.getName());
+      }
+    }
+  }
+
+  @PostLoad
+  @PostPersist
+  @PostUpdate
+  private void onPostLoad(MetaSequence sequence) {
+    final EntityManager em = JPA.em();
+    if (!em.contains(sequence)) {
+      return;
+    }
+    final Set<String> names =
+        TransactionCallbacks.computeIfAbsent(
+            em, JpaSequenceListener.class, () -> Collections.synchronizedSet(new HashSet<>()));
+    names.add(sequence.getName());
+  }
+
+  @PostRemove
+  private void onPostRemove(MetaSequence sequence) {
+    JpaSequence.invalidate(JPA.em(), sequence.getName());
+  }
+
+  /**
+   * Whether the given sequence was loaded or changed by the running transaction of the given
+   * entity manager.
+   *
+   * <p>The sequence row may then be changed or locked by the transaction, so values can't be
+   * reserved in a separate transaction: the changes would be overwritten, or the row lock would
+   * never be released.
+   *
+   * @param em the entity manager
+   * @param name the name of the sequence
+   * @return true if the sequence was loaded or changed by the transaction
+   */
+  static boolean isLoaded(EntityManager em, String name) {
+    final Set<String> names = TransactionCallbacks.get(em, JpaSequenceListener.class);
+    return names != null && names.contains(name);
+  }
+}
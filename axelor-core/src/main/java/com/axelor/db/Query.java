@@ -17,6 +17,7 @@ import com.axelor.i18n.I18n;
 import com.axelor.rpc.Resource;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.TypedQuery;
@@ -60,12 +61,16 @@ public class Query<T extends Model> {
 
   private List<String> orderNames;
 
+  private List<OrderSpec> orderSpecs;
+
   private JoinHelper joinHelper;
 
   private boolean cacheable;
 
   private boolean readOnly;
 
+  private int timeout;
+
   private boolean translate;
 
   private FlushModeType flushMode = FlushModeType.AUTO;
@@ -75,6 +80,8 @@ public class Query<T extends Model> {
   private static final Pattern PLACEHOLDER_PLAIN = Pattern.compile("(?<!\\?)\\?(?!(\\d+|\\?))");
   private static final Pattern PLACEHOLDER_INDEXED = Pattern.compile("\\?\\d+");
 
+  private static final int COLLECTION_FETCH_SIZE = 1000;
+
   /**
    * Create a new instance of {@code Query} with given bean class.
    *
@@ -84,6 +91,7 @@ public class Query<T extends Model> {
     this.beanClass = beanClass;
     this.orderBy = "";
     this.orderNames = new ArrayList<>();
+    this.orderSpecs = new ArrayList<>();
     this.joinHelper = new JoinHelper(beanClass);
   }
 
@@ -227,15 +235,14 @@ public class Query<T extends Model> {
           "Query#order(String) called with 'self' prefixed argument: " + spec);
     }
 
-    if (name.charAt(0) == '-') {
-      name = this.joinHelper.joinName(name.substring(1), true, translate);
-      orderBy += name + " DESC";
-    } else {
-      name = this.joinHelper.joinName(name, true, translate);
-      orderBy += name;
-    }
+    final boolean desc = name.charAt(0) == '-';
+    final String field = desc ? name.substring(1).trim() : name;
+
+    name = this.joinHelper.joinName(field, true, translate);
+    orderBy += desc ? name + " DESC" : name;
 
     orderNames.add(name);
+    orderSpecs.add(new OrderSpec(field, name, desc));
 
     return this;
   }
@@ -260,6 +267,33 @@ public class Query<T extends Model> {
     return this;
   }
 
+  /**
+   * Set the query timeout, after which the queries are cancelled by the database.
+   *
+   * <p>The databases cancel the queries at whole seconds, the timeout is rounded up to the next
+   * second, see {@link QueryBinder#setTimeout(int)}.
+   *
+   * @param timeout the timeout in milliseconds, 0 for no timeout
+   * @return the same query instance.
+   */
+  public Query<T> timeout(int timeout) {
+    this.timeout = timeout;
+    return this;
+  }
+
+  /**
+   * Remove the duplicate results in the database.
+   *
+   * <p>With {@link #select(String...)}, the order by fields are selected as well, as required by
+   * the databases, so the records ordered on collection items may still be repeated.
+   *
+   * @return the same query instance.
+   */
+  public Query<T> distinct() {
+    this.joinHelper.distinct = true;
+    return this;
+  }
+
   /**
    * Set whether to use translation join.
    *
@@ -384,6 +418,9 @@ public class Query<T extends Model> {
     if (readOnly) {
       binder.setReadOnly();
     }
+    if (timeout > 0) {
+      binder.setTimeout(timeout);
+    }
     return query;
   }
 
@@ -414,7 +451,11 @@ public class Query<T extends Model> {
    */
   public long count() {
     final TypedQuery<Long> query = em().createQuery(countQuery(), Long.class);
-    this.bind(query).setCacheable(cacheable).setFlushMode(flushMode).setReadOnly();
+    final QueryBinder binder =
+        this.bind(query).setCacheable(cacheable).setFlushMode(flushMode).setReadOnly();
+    if (timeout > 0) {
+      binder.setTimeout(timeout);
+    }
     return query.getSingleResult();
   }
 
@@ -662,6 +703,15 @@ public class Query<T extends Model> {
     return selectQuery();
   }
 
+  /**
+   * Descriptor for one order by item.
+   *
+   * @param field the field name as given to {@link #order(String)}, without the {@code -} prefix
+   * @param alias the JPQL expression used in the order by clause
+   * @param desc whether the order is descending
+   */
+  private record OrderSpec(String field, String alias, boolean desc) {}
+
   /**
    * A helper class to select specific field values. The record is returned as a Map object with the
    * given names as keys.
@@ -703,6 +753,14 @@ public class Query<T extends Model> {
     private String query;
     private Mapper mapper = Mapper.of(beanClass);
 
+    // keyset pagination state, see fetchNext(int)
+    private String seekSelect;
+    private String seekOrderBy;
+    private List<OrderSpec> seekOrders;
+    private int[] seekIndexes;
+    private Object[] seekValues;
+    private int seekOffset;
+
     private Selector(String... names) {
       List<String> selects = new ArrayList<>();
       addSelect(selects, "self.id", Entry.of("id"));
@@ -741,7 +799,7 @@ public class Query<T extends Model> {
         }
       }
 
-      if (joinHelper.hasCollection) {
+      if (joinHelper.hasCollection || joinHelper.distinct) {
         orderNames.stream().filter(n -> !selects.contains(n)).forEach(selects::add);
       }
 
@@ -755,6 +813,103 @@ public class Query<T extends Model> {
       if (filter != null && !filter.trim().isEmpty()) sb.append(" WHERE ").append(filter);
       sb.append(orderBy);
       query = joinHelper.fixSelect(sb.toString());
+
+      prepareSeek(selects);
+    }
+
+    /**
+     * Prepare the keyset pagination query.
+     *
+     * <p>Keyset pagination is only possible if all the order by items are plain values (no
+     * references, collections or json fields). The {@code id} is always used as last key so that
+     * the order is total.
+     */
+    private void prepareSeek(List<String> selects) {
+      final List<OrderSpec> orders = new ArrayList<>();
+      for (OrderSpec spec : orderSpecs) {
+        final Property property = isValidProperty(spec.field()) ? getProperty(spec.field()) : null;
+        if (property == null
+            || property.isReference()
+            || property.isCollection()
+            || property.isJson()) {
+          return;
+        }
+        orders.add(spec);
+      }
+
+      if (orders.stream().noneMatch(spec -> "id".equals(spec.field()))) {
+        orders.add(new OrderSpec("id", "self.id", false));
+      }
+
+      // order keys not already selected are appended, fetch ignores the extra columns
+      final List<String> columns = new ArrayList<>(selects);
+      final int[] indexes = new int[orders.size()];
+      for (int i = 0; i < orders.size(); i++) {
+        final String alias = orders.get(i).alias();
+        int index = columns.indexOf(alias);
+        if (index < 0) {
+          index = columns.size();
+          columns.add(alias);
+        }
+        indexes[i] = index;
+      }
+
+      // null values are always sorted as greatest so that the seek predicate is portable
+      seekOrderBy =
+          orders.stream()
+              .map(o -> o.alias() + (o.desc() ? " DESC NULLS FIRST" : " NULLS LAST"))
+              .collect(Collectors.joining(", ", " ORDER BY ", ""));
+      seekSelect =
+          "SELECT new List("
+              + Joiner.on(", ").join(columns)
+              + ") FROM "
+              + beanClass.getSimpleName()
+              + " self"
+              + joinHelper.toString(false);
+      seekOrders = orders;
+      seekIndexes = indexes;
+    }
+
+    /**
+     * Build the seek predicate matching all the records sorted after the last fetched one.
+     *
+     * <p>For keys {@code (a, b, id)} this results in {@code a > ?1 OR (a = ?1 AND b > ?2) OR (a =
+     * ?1 AND b = ?2 AND id > ?3)}, considering null as greatest value.
+     */
+    private String seekPredicate(Map<String, Object> seekParams) {
+      final List<String> conditions = new ArrayList<>();
+      final List<String> equals = new ArrayList<>();
+      for (int i = 0; i < seekOrders.size(); i++) {
+        final OrderSpec spec = seekOrders.get(i);
+        final Object value = seekValues[i];
+        final String param = ":_seek" + i;
+        final String alias = spec.alias();
+
+        String after = null;
+        if (value == null) {
+          if (spec.desc()) {
+            after = alias + " IS NOT NULL";
+          }
+        } else if (spec.desc()) {
+          after = alias + " < " + param;
+        } else {
+          after = "(" + alias + " > " + param + " OR " + alias + " IS NULL)";
+        }
+
+        if (after != null) {
+          final List<String> items = new ArrayList<>(equals);
+          items.add(after);
+          conditions.add("(" + String.join(" AND ", items) + ")");
+        }
+
+        if (value == null) {
+          equals.add(alias + " IS NULL");
+        } else {
+          equals.add(alias + " = " + param);
+          seekParams.put(param.substring(1), value);
+        }
+      }
+      return String.join(" OR ", conditions);
     }
 
     private boolean isValidProperty(String fieldName) {
@@ -805,6 +960,18 @@ public class Query<T extends Model> {
       return property;
     }
 
+    /**
+     * Set the timeout of the queries of the selector.
+     *
+     * @param timeout the timeout in milliseconds, 0 for no timeout
+     * @return the same selector instance
+     * @see Query#timeout(int)
+     */
+    public Selector timeout(int timeout) {
+      Query.this.timeout(timeout);
+      return this;
+    }
+
     @SuppressWarnings("all")
     public List<List> values(int limit, int offset) {
       jakarta.persistence.Query q = em().createQuery(query);
@@ -819,15 +986,93 @@ public class Query<T extends Model> {
       if (readOnly) {
         binder.setReadOnly();
       }
+      if (timeout > 0) {
+        binder.setTimeout(timeout);
+      }
 
       return q.getResultList();
     }
 
     @SuppressWarnings("all")
     public List<Map> fetch(int limit, int offset) {
+      return toMaps(values(limit, offset));
+    }
+
+    /**
+     * Fetch the next page of records using keyset pagination.
+     *
+     * <p>Instead of skipping the already fetched records with an offset, the next page is seeked
+     * with the order by values of the last fetched record, so that fetching a page costs the same
+     * whatever its position. This should be used to read large data sets page by page, for
+     * example, exporting records.
+     *
+     * <pre>
+     * Query&lt;Contact&gt;.Selector selector = Contact.all().order(&quot;name&quot;).select(&quot;name&quot;);
+     * List&lt;Map&gt; data = selector.fetchNext(500);
+     * while (!data.isEmpty()) {
+     *   ...
+     *   data = selector.fetchNext(500);
+     * }
+     * </pre>
+     *
+     * <p>The {@code id} is used as last order key and null values are sorted as greatest values. If
+     * the query is ordered on references, collections or json fields, it falls back to offset
+     * pagination.
+     *
+     * @param limit the page size
+     * @return the next page of records, empty if there are no more records
+     */
+    @SuppressWarnings("all")
+    public List<Map> fetchNext(int limit) {
+      if (seekSelect == null) {
+        final List<Map> result = fetch(limit, seekOffset);
+        seekOffset += result.size();
+        return result;
+      }
+
+      final Map<String, Object> seekParams = new HashMap<>();
+      final StringBuilder sb = new StringBuilder(seekSelect);
+      final boolean filtered = filter != null && !filter.trim().isEmpty();
+
+      if (filtered) sb.append(" WHERE (").append(filter).append(")");
+      if (seekValues != null) {
+        sb.append(filtered ? " AND (" : " WHERE (").append(seekPredicate(seekParams)).append(")");
+      }
+      sb.append(seekOrderBy);
 
-      List<List> data = values(limit, offset);
+      final jakarta.persistence.Query q = em().createQuery(joinHelper.fixSelect(sb.toString()));
+      if (limit > 0) {
+        q.setMaxResults(limit);
+      }
+
+      final QueryBinder binder = bind(q).opts(cacheable, flushMode);
+      if (readOnly) {
+        binder.setReadOnly();
+      }
+      if (timeout > 0) {
+        binder.setTimeout(timeout);
+      }
+      seekParams.forEach(q::setParameter);
+
+      final List<List> data = q.getResultList();
+      if (!data.isEmpty()) {
+        final List last = data.getLast();
+        seekValues = new Object[seekIndexes.length];
+        for (int i = 0; i < seekIndexes.length; i++) {
+          seekValues[i] = last.get(seekIndexes[i]);
+        }
+      }
+
+      return toMaps(data);
+    }
+
+    @SuppressWarnings("all")
+    private List<Map> toMaps(List<List> data) {
       List<Map> result = new ArrayList<>();
+      Map<Object, Map<String, List>> collectionValues =
+          collections.isEmpty()
+              ? Collections.emptyMap()
+              : fetchCollections(data.stream().map(List::getFirst).toList());
 
       for (List items : data) {
         Map<String, Object> map = new HashMap<>();
@@ -858,7 +1103,7 @@ public class Query<T extends Model> {
           compact.put(entry.key(), value);
         }
         if (collections.size() > 0) {
-          map.putAll(this.fetchCollections(items.getFirst()));
+          map.putAll(collectionValues.getOrDefault(items.getFirst(), Collections.emptyMap()));
         }
         result.add(map);
       }
@@ -866,18 +1111,43 @@ public class Query<T extends Model> {
       return result;
     }
 
+    /**
+     * Fetch the selected collections of the given records.
+     *
+     * <p>Instead of loading the collections record by record, each collection is join fetched for
+     * the whole page at once, so that the number of queries doesn't depend on the number of
+     * records.
+     *
+     * @param ids the record ids
+     * @return mapping of record id to collection values
+     */
     @SuppressWarnings("all")
-    private Map<String, List> fetchCollections(Object id) {
-      Map<String, List> result = new HashMap<>();
-      Object self = JPA.em().find(beanClass, id);
+    private Map<Object, Map<String, List>> fetchCollections(List<Object> ids) {
+      Map<Object, Map<String, List>> result = new HashMap<>();
       for (String name : collections) {
-        Collection<Model> items = (Collection<Model>) mapper.get(self, name);
-        if (items != null) {
-          List<Object> all = new ArrayList<>();
-          for (Model obj : items) {
-            all.add(Resource.toMapCompact(obj));
+        String jpql =
+            "SELECT self FROM %s self LEFT JOIN FETCH self.%s WHERE self.id IN (:ids)"
+                .formatted(beanClass.getSimpleName(), name);
+        for (List<Object> part : Lists.partition(ids, COLLECTION_FETCH_SIZE)) {
+          TypedQuery<T> q = em().createQuery(jpql, beanClass);
+          q.setParameter("ids", part);
+          QueryBinder binder = QueryBinder.of(q).setFlushMode(flushMode);
+          if (readOnly) {
+            binder.setReadOnly();
+          }
+          if (timeout > 0) {
+            binder.setTimeout(timeout);
+          }
+          for (T self : q.getResultList()) {
+            Collection<Model> items = (Collection<Model>) mapper.get(self, name);
+            if (items != null) {
+              List<Object> all = new ArrayList<>();
+              for (Model obj : items) {
+                all.add(Resource.toMapCompact(obj));
+              }
+              result.computeIfAbsent(self.getId(), k -> new HashMap<>()).put(name, all);
+            }
           }
-          result.put(name, all);
         }
       }
       return result;
@@ -918,6 +1188,8 @@ public class Query<T extends Model> {
 
     private boolean hasCollection;
 
+    private boolean distinct;
+
     private static final Pattern selectPattern =
         Pattern.compile("^SELECT\\s+(COUNT\\s*\\()?", Pattern.CASE_INSENSITIVE);
 
@@ -1107,7 +1379,9 @@ public class Query<T extends Model> {
     }
 
     public String fixSelect(String query) {
-      return hasCollection ? selectPattern.matcher(query).replaceFirst("$0DISTINCT ") : query;
+      return hasCollection || distinct
+          ? selectPattern.matcher(query).replaceFirst("$0DISTINCT ")
+          : query;
     }
 
     @Override
@@ -92,6 +92,22 @@ public class QueryBinder {
     return this;
   }
 
+  /**
+   * Set the query timeout, after which the query is cancelled by the database.
+   *
+   * <p>The JDBC drivers only support timeouts in whole seconds, and Hibernate rounds the timeout
+   * hint to the nearest second, so that a timeout below half a second would disable it. The
+   * timeout is therefore rounded up to the next second.
+   *
+   * @param timeout the timeout in milliseconds, rounded up to whole seconds
+   * @return the same query binder instance
+   */
+  public QueryBinder setTimeout(int timeout) {
+    final int seconds = Math.max(1, (int) Math.ceil(timeout / 1000.0));
+    query.setHint(AvailableHints.HINT_SPEC_QUERY_TIMEOUT, seconds * 1000);
+    return this;
+  }
+
   /**
    * Set query flush mode.
    *
@@ -5,6 +5,7 @@
 package com.axelor.db;
 
 import com.axelor.db.mapper.Property;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -149,4 +150,24 @@ public interface Repository<T extends Model> {
    * @return the json map itself
    */
   Map<String, Object> populate(Map<String, Object> json, Map<String, Object> context);
+
+  /**
+   * Populate the given json maps with additional data.
+   *
+   * <p>This method is called with all the records of a page before returning them as response.
+   * Repositories that look up additional data per record can override it to fetch the data of the
+   * whole page at once. The default implementation calls {@link #populate(Map, Map)} on each map.
+   *
+   * @param records the json maps to populate
+   * @param context the context
+   * @return the populated json maps, in the same order
+   */
+  default List<Map<String, Object>> populateAll(
+      List<Map<String, Object>> records, Map<String, Object> context) {
+    final List<Map<String, Object>> result = new ArrayList<>(records.size());
+    for (Map<String, Object> json : records) {
+      result.add(populate(json, context));
+    }
+    return result;
+  }
 }
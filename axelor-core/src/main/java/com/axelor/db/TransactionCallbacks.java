@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import jakarta.persistence.EntityManager;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Runs callbacks once the running transaction of an entity manager completes, and keeps values for
+ * the time of that transaction.
+ *
+ * <p>This is typically used by entity listeners to invalidate caches once the changes are committed
+ * or rolled back:
+ *
+ * <pre>
+ * TransactionCallbacks.afterCompletionOnce(
+ *     JPA.em(), MyListener.class, success -&gt; MyCache.invalidate());
+ * </pre>
+ */
+public final class TransactionCallbacks {
+
+  // values of the running transactions, by session
+  private static final Map<SessionImplementor, Map<Object, Object>> VALUES =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private TransactionCallbacks() {}
+
+  private static Map<Object, Object> values(SessionImplementor session) {
+    return VALUES.computeIfAbsent(
+        session,
+        key -> {
+          session.getActionQueue().registerProcess((success, s) -> VALUES.remove(session));
+          return new ConcurrentHashMap<>();
+        });
+  }
+
+  /**
+   * Run the given callback once the running transaction completes.
+   *
+   * @param em the entity manager
+   * @param callback the callback, given whether the transaction was committed
+   */
+  public static void afterCompletion(EntityManager em, Consumer<Boolean> callback) {
+    em.unwrap(SessionImplementor.class)
+        .getActionQueue()
+        .registerProcess((success, session) -> callback.accept(success));
+  }
+
+  /**
+   * Run the given callback once the running transaction completes, unless a callback was already
+   * queued with the same key by that transaction.
+   *
+   * @param em the entity manager
+   * @param key the key of the callback
+   * @param callback the callback, given whether the transaction was committed
+   */
+  public static void afterCompletionOnce(EntityManager em, Object key, Consumer<Boolean> callback) {
+    final SessionImplementor session = em.unwrap(SessionImplementor.class);
+    if (values(session).putIfAbsent(key, callback) == null) {
+      afterCompletion(em, callback);
+    }
+  }
+
+  /**
+   * Get the value kept with the given key by the running transaction, creating it if needed.
+   *
+   * <p>The value is dropped once the transaction completes.
+   *
+   * @param <T> the type of the value
+   * @param em the entity manager
+   * @param key the key of the value
+   * @param supplier the supplier of the value, if not kept yet
+   * @return the value
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T computeIfAbsent(EntityManager em, Object key, Supplier<T> supplier) {
+    final SessionImplementor session = em.unwrap(SessionImplementor.class);
+    return (T) values(session).computeIfAbsent(key, k -> supplier.get());
+  }
+
+  /**
+   * Get the value kept with the given key by the running transaction.
+   *
+   * @param <T> the type of the value
+   * @param em the entity manager
+   * @param key the key of the value
+   * @return the value, or null if none is kept
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T get(EntityManager em, Object key) {
+    final Map<Object, Object> values = VALUES.get(em.unwrap(SessionImplementor.class));
+    return values == null ? null : (T) values.get(key);
+  }
+}
@@ -4,25 +4,36 @@
  */
 package com.axelor.db.audit;
 
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
 import com.axelor.concurrent.ContextAware;
 import com.axelor.event.Observes;
 import com.axelor.events.ShutdownEvent;
 import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Asynchronous implementation of {@link AuditQueue} that offloads processing to a background
- * thread.
+ * Asynchronous implementation of {@link AuditQueue} that offloads processing to background
+ * threads.
  *
- * <p>This class uses a single-threaded {@link ExecutorService} to process audit logs sequentially
- * (FIFO) without blocking the main application thread.
+ * <p>This class uses single-threaded {@link ExecutorService} workers to process audit logs
+ * sequentially (FIFO) without blocking the main application thread. With several workers, the
+ * audited entities are partitioned between them by id, so that the logs of an entity are still
+ * processed in order.
  */
 @Singleton
 class AsyncAuditQueue implements AuditQueue {
@@ -32,32 +43,80 @@ class AsyncAuditQueue implements AuditQueue {
   private final AtomicLong failureCounter = new AtomicLong(0);
   private volatile boolean isActive = true;
   private static final long SHUTDOWN_TIMEOUT_SECONDS = 20;
+  private static final long BACKLOG_EXPIRE_SECONDS = 5;
 
-  private static final ThreadPoolExecutor POOL =
-      new ThreadPoolExecutor(
-          1,
-          1,
-          0L,
-          TimeUnit.MILLISECONDS,
-          new LinkedBlockingQueue<>(),
-          (task) -> {
-            var thread = new Thread(task);
-            thread.setDaemon(true);
-            thread.setPriority(Thread.MIN_PRIORITY);
-            thread.setName("Audit-Worker");
-            return thread;
-          });
+  private static final AxelorCache<Boolean, Backlog> BACKLOG =
+      CacheBuilder.newInMemoryBuilder()
+          .expireAfterWrite(Duration.ofSeconds(BACKLOG_EXPIRE_SECONDS))
+          .build();
+
+  private static final int WORKERS =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.AUDIT_PROCESSOR_WORKERS, 1));
+
+  private static final List<ThreadPoolExecutor> POOLS =
+      IntStream.range(0, WORKERS).mapToObj(AsyncAuditQueue::createWorker).toList();
+
+  private static ThreadPoolExecutor createWorker(int index) {
+    return new ThreadPoolExecutor(
+        1,
+        1,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(),
+        (task) -> {
+          var thread = new Thread(task);
+          thread.setDaemon(true);
+          thread.setPriority(Thread.MIN_PRIORITY);
+          thread.setName(WORKERS == 1 ? "Audit-Worker" : "Audit-Worker-" + index);
+          return thread;
+        });
+  }
 
   @Override
   public void process(String txId) {
     log.trace("Enqueue audit log processing for transaction ID: {}", txId);
+    for (int i = 0; i < WORKERS; i++) {
+      enqueue(txId, i);
+    }
+  }
+
+  @Override
+  public void process(String txId, Set<Long> relatedIds) {
+    log.trace("Enqueue audit log processing for transaction ID: {}", txId);
+    for (int partition : partitionsOf(relatedIds, WORKERS)) {
+      enqueue(txId, partition);
+    }
+  }
+
+  /**
+   * Get the partitions of the given entity ids.
+   *
+   * <p>Entities are partitioned the same way as {@link AuditProcessor}: {@code related_id %
+   * partitions}.
+   *
+   * @param relatedIds the entity ids
+   * @param partitions the number of partitions
+   * @return the distinct partitions, in order
+   */
+  static int[] partitionsOf(Set<Long> relatedIds, int partitions) {
+    final BitSet found = new BitSet(partitions);
+    for (Long id : relatedIds) {
+      if (id != null) {
+        found.set((int) Math.floorMod(id, (long) partitions));
+      }
+    }
+    return found.stream().toArray();
+  }
+
+  private void enqueue(String txId, int partition) {
     Runnable task =
         ContextAware.of()
             .withTransaction(false)
             .build(
                 () -> {
                   try {
-                    AuditProcessor processor = new AuditProcessor(() -> isActive);
+                    AuditProcessor processor =
+                        new AuditProcessor(() -> isActive, partition, WORKERS);
                     processor.process(txId);
                   } catch (Exception e) {
                     failureCounter.incrementAndGet();
@@ -65,9 +124,10 @@ class AsyncAuditQueue implements AuditQueue {
                   }
                 });
 
-    if (!POOL.isShutdown()) {
+    ThreadPoolExecutor pool = POOLS.get(partition);
+    if (!pool.isShutdown()) {
       try {
-        POOL.execute(task);
+        pool.execute(task);
       } catch (RejectedExecutionException ignore) {
       }
     }
@@ -76,12 +136,25 @@ class AsyncAuditQueue implements AuditQueue {
   @Override
   public QueueStats getStatistics() {
     return new QueueStats(
-        POOL.getQueue().size(),
-        POOL.getCompletedTaskCount(),
-        POOL.getActiveCount() > 0,
+        POOLS.stream().mapToInt(pool -> pool.getQueue().size()).sum(),
+        POOLS.stream().mapToLong(ThreadPoolExecutor::getCompletedTaskCount).sum(),
+        POOLS.stream().anyMatch(pool -> pool.getActiveCount() > 0),
         failureCounter.get());
   }
 
+  /**
+   * Get the backlog of the audit logs waiting to be processed.
+   *
+   * <p>The backlog is counted at most once every {@value #BACKLOG_EXPIRE_SECONDS} seconds, by
+   * tenant, as it scans all the unprocessed audit logs.
+   *
+   * @return the audit backlog
+   */
+  @Override
+  public Backlog getBacklog() {
+    return BACKLOG.get(Boolean.TRUE, key -> AuditProcessor.getBacklog());
+  }
+
   /**
    * Lifecycle listener that shuts down the audit queue when the application stops.
    *
@@ -95,19 +168,26 @@ class AsyncAuditQueue implements AuditQueue {
     log.info("Shutting down AuditQueue...");
 
     // Stop accepting new tasks
-    POOL.shutdown();
+    POOLS.forEach(ThreadPoolExecutor::shutdown);
 
     try {
-      if (!POOL.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      final long deadline =
+          System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+      boolean terminated = true;
+      for (ThreadPoolExecutor pool : POOLS) {
+        final long remaining = Math.max(0, deadline - System.nanoTime());
+        terminated &= pool.awaitTermination(remaining, TimeUnit.NANOSECONDS);
+      }
+      if (!terminated) {
         log.debug("Audit queue did not terminate. Forcing shutdown...");
         // Trigger signal for active tasks to stop
         this.isActive = false;
         // Drain queue and interrupt active task
-        POOL.shutdownNow();
+        POOLS.forEach(ThreadPoolExecutor::shutdownNow);
       }
     } catch (InterruptedException e) {
       this.isActive = false;
-      POOL.shutdownNow();
+      POOLS.forEach(ThreadPoolExecutor::shutdownNow);
       Thread.currentThread().interrupt();
     }
   }
@@ -10,6 +10,7 @@ import com.axelor.audit.db.AuditEventType;
 import com.axelor.audit.db.AuditLog;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
+import com.axelor.db.audit.AuditQueue.Backlog;
 import com.axelor.db.audit.state.AuditState;
 import com.axelor.db.audit.state.EntityState;
 import com.axelor.db.internal.DBHelper;
@@ -21,8 +22,12 @@ import com.axelor.mail.db.MailMessage;
 import com.axelor.mail.service.MailMessageTrackingService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.Preconditions;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -52,10 +57,18 @@ public class AuditProcessor {
   private static final int MAX_RETRY =
       AppSettings.get().getInt(AvailableAppSettings.AUDIT_LOGS_MAX_RETRY, 3);
 
+  // the logs only contain the changed fields, see AuditTracker
+  private static final boolean COMPACT =
+      AppSettings.get().getBoolean(AvailableAppSettings.AUDIT_LOGS_COMPACT, false);
+
   private final MailMessageTrackingService service;
-  private final ObjectMapper objectMapper;
+  private final ObjectReader reader;
   private BooleanSupplier keepRunningSupplier;
 
+  // only the logs of the entities with related_id % partitions == partition are processed
+  private int partition = 0;
+  private int partitions = 1;
+
   // Throttling constants
   private static final long BATCH_DELAY_MS =
       AppSettings.get().getInt(AvailableAppSettings.AUDIT_PROCESSOR_BATCH_DELAY, 5);
@@ -71,7 +84,8 @@ public class AuditProcessor {
 
   public AuditProcessor() {
     this.service = Beans.get(MailMessageTrackingService.class);
-    this.objectMapper = Beans.get(ObjectMapper.class);
+    this.reader =
+        Beans.get(ObjectMapper.class).readerFor(new TypeReference<Map<String, Object>>() {});
   }
 
   public AuditProcessor(BooleanSupplier keepRunningSupplier) {
@@ -79,6 +93,58 @@ public class AuditProcessor {
     this.keepRunningSupplier = keepRunningSupplier;
   }
 
+  /**
+   * Create a processor for a partition of the audited entities.
+   *
+   * <p>Entities are partitioned by id, so that all the logs of an entity are processed by the same
+   * partition, in order.
+   *
+   * @param keepRunningSupplier supplies whether to keep processing
+   * @param partition the partition to process
+   * @param partitions the number of partitions
+   */
+  public AuditProcessor(BooleanSupplier keepRunningSupplier, int partition, int partitions) {
+    this(keepRunningSupplier);
+    Preconditions.checkArgument(partitions > 0, "partitions must be greater than 0");
+    Preconditions.checkArgument(
+        partition >= 0 && partition < partitions, "partition must be in [0, %s)", partitions);
+    this.partition = partition;
+    this.partitions = partitions;
+  }
+
+  /**
+   * Get the backlog of the audit logs waiting to be processed.
+   *
+   * @return the audit backlog
+   */
+  public static Backlog getBacklog() {
+    String sql =
+        """
+          SELECT COUNT(*), MIN(created_on)
+          FROM audit_log
+          WHERE processed = false
+          """;
+
+    Backlog[] result = {new Backlog(0, Duration.ZERO)};
+
+    JPA.JDBCWork work =
+        conn -> {
+          try (PreparedStatement ps = conn.prepareStatement(sql);
+              ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+              LocalDateTime oldest = rs.getObject(2, LocalDateTime.class);
+              Duration lag =
+                  oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+              result[0] = new Backlog(rs.getLong(1), lag.isNegative() ? Duration.ZERO : lag);
+            }
+          }
+        };
+
+    JPA.runInTransaction(() -> JPA.jdbcWork(work));
+
+    return result[0];
+  }
+
   /**
    * Signal that entity tracking is happening (called from AuditTracker). This tells the processor
    * to back off as real work is in progress.
@@ -137,7 +203,7 @@ public class AuditProcessor {
 
   /** Core processing loop that fetches and processes audit logs in batches. */
   private void processPendingWork(String txId) {
-    int currentOffset = 0;
+    long lastId = 0;
     int totalProcessed = 0;
     int totalFailed = 0;
 
@@ -158,10 +224,10 @@ public class AuditProcessor {
       busyWaitCount = 0;
 
       // Process batch
-      int finalCurrentOffset = currentOffset;
+      long afterId = lastId;
       BatchResult result;
       try {
-        result = JPA.callInTransaction(() -> processBatch(txId, finalCurrentOffset));
+        result = JPA.callInTransaction(() -> processBatch(txId, afterId));
       } catch (Exception e) {
         if (isLockingException(e)) {
           break;
@@ -172,8 +238,8 @@ public class AuditProcessor {
       totalProcessed += result.succeeded();
       totalFailed += result.failed();
 
-      // Move offset
-      currentOffset += result.failed();
+      // Move after the last fetched group, failed groups are left for a retry
+      lastId = result.lastId();
 
       // Everything processed, exit
       if ((result.succeeded() + result.failed()) < BATCH_SIZE) {
@@ -221,11 +287,11 @@ public class AuditProcessor {
     return false;
   }
 
-  protected BatchResult processBatch(String txId, int offset) {
+  protected BatchResult processBatch(String txId, long afterId) {
     // compute audit work group
-    List<AuditWorkGroup> batch = fetchNextBatch(txId, offset);
+    List<AuditWorkGroup> batch = fetchNextBatch(txId, afterId);
     if (batch.isEmpty()) {
-      return new BatchResult(0, 0);
+      return new BatchResult(0, 0, afterId);
     }
 
     // fetch associated audit logs
@@ -256,7 +322,8 @@ public class AuditProcessor {
     // Clear to avoid memory issues
     JPA.clear();
 
-    return new BatchResult(processedAuditWorkGroups.size(), failedInBatch);
+    return new BatchResult(
+        processedAuditWorkGroups.size(), failedInBatch, batch.getLast().getFirstAuditLogId());
   }
 
   /**
@@ -279,11 +346,20 @@ public class AuditProcessor {
 
     log.trace("Processing audit logs for {} ", group);
 
-    // Consolidate ALL changes from all audit logs in this transaction
-    var firstLog = group.getFirstAuditLog();
+    // Consolidate ALL changes from all audit logs in this transaction, the logs may only contain
+    // the changed fields, so the first previous value and the last current value of each field
+    // are kept
     var lastLog = group.getLastAuditLog();
-    var oldValues = fromJSON(firstLog.getPreviousState());
-    var values = fromJSON(lastLog.getCurrentState());
+    var oldValues = new HashMap<String, Object>();
+    var values = new HashMap<String, Object>();
+    for (AuditLog auditLog : group.getSortedLogs()) {
+      for (var entry : fromJSON(auditLog.getPreviousState()).entrySet()) {
+        if (!oldValues.containsKey(entry.getKey())) {
+          oldValues.put(entry.getKey(), entry.getValue());
+        }
+      }
+      values.putAll(fromJSON(auditLog.getCurrentState()));
+    }
 
     // Process with consolidated state
     var entityClass = Class.forName(group.getRelatedModel()).asSubclass(Model.class);
@@ -370,7 +446,7 @@ public class AuditProcessor {
       return Collections.emptyMap();
     }
     try {
-      return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+      return reader.readValue(json);
     } catch (Exception e) {
       log.error("Failed to deserialize JSON", e);
       return Collections.emptyMap();
@@ -401,28 +477,25 @@ public class AuditProcessor {
             });
   }
 
-  /** Fetches all AuditLogs for the entire batch of groups in a single query. */
+  /**
+   * Fetches all AuditLogs for the entire batch of groups in a single query.
+   *
+   * <p>In compact mode, all the logs of the groups are fetched, not only the first and the last
+   * ones, as compact logs only contain the fields changed since the previous log.
+   */
   private void fetchLogsForBatch(List<AuditWorkGroup> batch) {
     if (batch.isEmpty()) {
       return;
     }
 
-    var idsToFetch = new HashSet<>();
+    List<AuditLog> logs = COMPACT ? fetchAllLogs(batch) : fetchFirstAndLastLogs(batch);
+
     // fast lookup map
     Map<AuditWorkGroup, AuditWorkGroup> groupMap = new HashMap<>();
-
     for (var g : batch) {
-      idsToFetch.add(g.getFirstAuditLogId());
-      idsToFetch.add(g.getLastAuditLogId());
       groupMap.put(g, g);
     }
 
-    List<AuditLog> logs =
-        JPA.em()
-            .createQuery("SELECT a FROM AuditLog a WHERE a.id IN :ids", AuditLog.class)
-            .setParameter("ids", idsToFetch)
-            .getResultList();
-
     for (AuditLog log : logs) {
       AuditWorkGroup tmpWorkGroup =
           new AuditWorkGroup(
@@ -435,37 +508,83 @@ public class AuditProcessor {
     }
   }
 
+  private List<AuditLog> fetchFirstAndLastLogs(List<AuditWorkGroup> batch) {
+    var idsToFetch = new HashSet<>();
+    for (var g : batch) {
+      idsToFetch.add(g.getFirstAuditLogId());
+      idsToFetch.add(g.getLastAuditLogId());
+    }
+
+    return JPA.em()
+        .createQuery("SELECT a FROM AuditLog a WHERE a.id IN :ids", AuditLog.class)
+        .setParameter("ids", idsToFetch)
+        .getResultList();
+  }
+
+  private List<AuditLog> fetchAllLogs(List<AuditWorkGroup> batch) {
+    var relatedIds = new HashSet<Long>();
+    long minId = Long.MAX_VALUE;
+    long maxId = Long.MIN_VALUE;
+
+    for (var g : batch) {
+      relatedIds.add(g.getRelatedId());
+      minId = Math.min(minId, g.getFirstAuditLogId());
+      maxId = Math.max(maxId, g.getLastAuditLogId());
+    }
+
+    return JPA.em()
+        .createQuery(
+            """
+            SELECT a FROM AuditLog a
+            WHERE a.processed = false AND a.txId = :txId AND a.relatedId IN :relatedIds
+              AND a.id BETWEEN :minId AND :maxId
+            """,
+            AuditLog.class)
+        .setParameter("txId", batch.getFirst().getTxId())
+        .setParameter("relatedIds", relatedIds)
+        .setParameter("minId", minId)
+        .setParameter("maxId", maxId)
+        .getResultList();
+  }
+
   /**
    * Retrieves the next batch of unprocessed audit logs from the database according to specific
-   * criteria such as transaction ID and offset. The logs are grouped into {@code AuditWorkGroup}
-   * objects for further processing.
+   * criteria such as transaction ID and last fetched group. The logs are grouped into {@code
+   * AuditWorkGroup} objects for further processing.
+   *
+   * <p>On PostgreSQL, the rows locked by another processor are skipped instead of failing the
+   * whole run.
    *
-   * @param txId the ID of the transaction to filter the audit logs; if null, logs for all
-   *     transactions will be fetched
-   * @param offset the offset from which to start fetching the audit logs; used for pagination
+   * @param txId the ID of the transaction to filter the audit logs
+   * @param afterId the first audit log id of the last fetched group; used for pagination
    * @return a list of {@code AuditWorkGroup} objects representing the grouped unprocessed audit
    *     logs
    */
-  private List<AuditWorkGroup> fetchNextBatch(String txId, int offset) {
-    log.trace("Fetching next batch of audit logs with txId: {}, offset: {}", txId, offset);
+  private List<AuditWorkGroup> fetchNextBatch(String txId, long afterId) {
+    log.trace("Fetching next batch of audit logs with txId: {}, after: {}", txId, afterId);
 
     String sqlTemplate =
         """
             WITH locked_rows AS (
-                 SELECT id, tx_id, related_model, related_id, event_type, created_on
+                 SELECT id, tx_id, related_model, related_id, event_type
                  FROM audit_log
                  WHERE processed = false
                    AND tx_id = ?
                  %s
+                 %s
             )
             SELECT tx_id, related_model, related_id, event_type, MIN(id) as min_id, MAX(id) as max_id
             FROM locked_rows
             GROUP BY tx_id, related_model, related_id, event_type
-            ORDER BY MIN(created_on)
-            LIMIT ? OFFSET ?
+            HAVING MIN(id) > ?
+            ORDER BY MIN(id)
+            LIMIT ?
             """;
 
-    String sql = sqlTemplate.formatted(DBHelper.isPostgreSQL() ? "FOR UPDATE NOWAIT" : "");
+    String sql =
+        sqlTemplate.formatted(
+            partitions > 1 ? "AND MOD(related_id, ?) = ?" : "",
+            DBHelper.isPostgreSQL() ? "FOR UPDATE SKIP LOCKED" : "");
 
     Session session = JPA.em().unwrap(Session.class);
     List<AuditWorkGroup> result = new ArrayList<>();
@@ -475,9 +594,13 @@ public class AuditProcessor {
           try (PreparedStatement ps = conn.prepareStatement(sql)) {
             int idx = 1;
             ps.setString(idx++, txId);
+            if (partitions > 1) {
+              ps.setInt(idx++, partitions);
+              ps.setInt(idx++, partition);
+            }
+            ps.setLong(idx++, afterId);
             // Fetch small chunks
             ps.setInt(idx++, BATCH_SIZE);
-            ps.setInt(idx++, offset);
 
             try (ResultSet rs = ps.executeQuery()) {
               while (rs.next()) {
@@ -533,7 +656,7 @@ public class AuditProcessor {
     return result;
   }
 
-  protected record BatchResult(int succeeded, int failed) {}
+  protected record BatchResult(int succeeded, int failed, long lastId) {}
 
   private static class AuditWorkGroup {
 
@@ -609,6 +732,10 @@ public class AuditProcessor {
       return logs.stream().max(Comparator.comparingLong(AuditLog::getId)).orElse(null);
     }
 
+    public List<AuditLog> getSortedLogs() {
+      return logs.stream().sorted(Comparator.comparingLong(AuditLog::getId)).toList();
+    }
+
     @Override
     public String toString() {
       return String.format("%s#%d (%s) [Tx: %s]", relatedModel, relatedId, eventType, txId);
@@ -5,6 +5,8 @@
 package com.axelor.db.audit;
 
 import com.google.inject.ImplementedBy;
+import java.time.Duration;
+import java.util.Set;
 
 /**
  * Represents an interface for queuing and triggering the processing of audit logs.
@@ -22,14 +24,41 @@ public interface AuditQueue {
    */
   void process(String txId);
 
+  /**
+   * Process audit records for the given transaction ID.
+   *
+   * <p>Implementations processing the entities in partitions can use the given ids to only process
+   * the partitions with audit records of the transaction.
+   *
+   * @param txId the transaction ID
+   * @param relatedIds the ids of the entities with audit records in the transaction
+   */
+  default void process(String txId, Set<Long> relatedIds) {
+    process(txId);
+  }
+
   default QueueStats getStatistics() {
     return new QueueStats(0, 0, false, 0);
   }
 
+  /**
+   * Get the backlog of the audit logs waiting to be processed.
+   *
+   * @return the audit backlog
+   */
+  default Backlog getBacklog() {
+    return new Backlog(0, Duration.ZERO);
+  }
+
   record QueueStats(
       int pending, // Pending items
       long completed, // Total processed
       boolean isActive, // Is busy?
       long failure // Total errors
       ) {}
+
+  record Backlog(
+      long pending, // Unprocessed audit logs
+      Duration lag // Age of the oldest unprocessed audit log
+      ) {}
 }
@@ -28,6 +28,7 @@ import com.axelor.meta.db.MetaJsonField;
 import com.axelor.meta.db.MetaJsonRecord;
 import com.axelor.rpc.Resource;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.LocalDateTime;
@@ -35,6 +36,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import org.hibernate.FlushMode;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -56,18 +58,37 @@ public class AuditTracker {
       AppSettings.get()
           .getInt(AvailableAppSettings.AUDIT_LOGS_FLUSH_THRESHOLD, DBHelper.getJdbcBatchSize());
 
+  // store only the changed fields of the updated entities
+  private static final boolean COMPACT =
+      AppSettings.get().getBoolean(AvailableAppSettings.AUDIT_LOGS_COMPACT, false);
+
+  private final boolean compact;
+
   private final Map<StoreKey, EntityState> store = new HashMap<>();
-  private ObjectMapper mapper;
+  private ObjectWriter writer;
   private boolean logCreated = false;
 
+  // ids of the entities with audit logs, to process only their partitions
+  private final Set<Long> relatedIds = new HashSet<>();
+
   public AuditTracker() {
+    this(COMPACT);
+  }
+
+  /**
+   * Create a tracker.
+   *
+   * @param compact whether to store only the changed fields of the updated entities
+   */
+  public AuditTracker(boolean compact) {
     this.txId = UuidUtils.v7().toString();
-    this.mapper = Beans.get(ObjectMapper.class);
+    this.compact = compact;
+    this.writer = Beans.get(ObjectMapper.class).writerFor(Map.class);
   }
 
   private String toJSON(Object value) {
     try {
-      return mapper.writeValueAsString(value);
+      return writer.writeValueAsString(value);
     } catch (Exception e) {
       log.error("Failed to serialize entity values to JSON", e);
     }
@@ -100,7 +121,7 @@ public class AuditTracker {
     if (track == null && trackedCustomFields.isEmpty()) {
       return null;
     }
-    return ModelTracking.create(track, trackedCustomFields);
+    return ModelTracking.create(entityClass, track, trackedCustomFields);
   }
 
   /**
@@ -132,11 +153,13 @@ public class AuditTracker {
     // Signal activity to audit processor (skip audit's own entities)
     AuditProcessor.signalActivity(entity);
 
-    // Store FULL entity state (required for condition evaluation in tracking messages)
+    // Store FULL entity state (required for condition evaluation in tracking messages), or in
+    // compact mode, only the changed fields and the fields referenced by the tracking expressions
     var currentValues = new HashMap<String, Object>();
     var previousValues = previousState != null ? new HashMap<String, Object>() : null;
     var entityClass = EntityHelper.getEntityClass(entity);
     var mapper = Mapper.of(entityClass);
+    var referenced = compact && previousState != null ? track.getReferencedNames() : null;
 
     for (int i = 0; i < names.length; i++) {
       var fieldName = names[i];
@@ -154,6 +177,13 @@ public class AuditTracker {
         continue;
       }
 
+      // Skip unchanged fields not used by the tracking expressions
+      if (referenced != null
+          && Objects.equals(newValue, oldValue)
+          && !referenced.contains(fieldName)) {
+        continue;
+      }
+
       // For reference fields, store both id and name field value
       if (newValue instanceof Model newModel) {
         newValue = Resource.toMapCompact(newModel);
@@ -175,6 +205,16 @@ public class AuditTracker {
 
     if (entityState.getValues() != currentValues) {
       entityState.getValues().putAll(currentValues);
+      // keep the first previous value of the fields not stored yet
+      var oldValues = entityState.getOldValues();
+      if (oldValues != null && previousValues != null) {
+        previousValues.forEach(
+            (name, value) -> {
+              if (!oldValues.containsKey(name)) {
+                oldValues.put(name, value);
+              }
+            });
+      }
     }
 
     if (store.size() >= FLUSH_THRESHOLD) {
@@ -243,6 +283,7 @@ public class AuditTracker {
             "eventType" + i, isCreate ? AuditEventType.CREATE : AuditEventType.UPDATE);
         query.setParameter("relatedModel" + i, EntityHelper.getEntityClass(entity).getName());
         query.setParameter("relatedId" + i, entity.getId());
+        relatedIds.add(entity.getId());
         query.setParameter("currentState" + i, toJSON(state.getValues()));
         query.setParameter("previousState" + i, isCreate ? null : toJSON(state.getOldValues()));
         query.setParameter("user" + i, user);
@@ -300,7 +341,7 @@ public class AuditTracker {
   public void doAfterTransactionCompletion(
       boolean success, SharedSessionContractImplementor session) {
     if (success && logCreated) {
-      Beans.get(AuditQueue.class).process(txId);
+      Beans.get(AuditQueue.class).process(txId, relatedIds);
     }
   }
 
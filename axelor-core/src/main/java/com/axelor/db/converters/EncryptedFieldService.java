@@ -201,7 +201,7 @@ public class EncryptedFieldService {
             .anyMatch(t -> t == PropertyType.BINARY || t == PropertyType.TEXT);
 
     final String selectSql =
-        "SELECT new Map(self.id as id, %s) FROM %s self ORDER BY self.id"
+        "SELECT new Map(self.id as id, %s) FROM %s self WHERE self.id > :lastId ORDER BY self.id"
             .formatted(
                 encrypted.stream()
                     .map(n -> "self." + n.getName() + " as " + n.getName())
@@ -232,11 +232,16 @@ public class EncryptedFieldService {
         model.getSimpleName());
 
     selectQuery.setMaxResults(limit);
+    selectQuery.setParameter("lastId", 0L);
     while (offset < count) {
       LOG.debug("Processing records {} to {}", offset, Math.min(count, (offset + limit)));
-      selectQuery.setFirstResult(offset);
       List<Map> values = selectQuery.getResultList();
+      if (values.isEmpty()) {
+        break;
+      }
       offset += limit;
+      // seek the next page by the last id, records are not skipped with an offset
+      selectQuery.setParameter("lastId", values.getLast().get("id"));
 
       JPA.jdbcWork(
           connection -> {
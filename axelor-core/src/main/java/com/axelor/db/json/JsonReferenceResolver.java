@@ -50,6 +50,7 @@ class JsonReferenceResolver {
   private static final AxelorCache<String, List<JsonReferenceFieldDTO>> referenceFieldCache =
       CacheBuilder.newBuilder("referenceFieldCache")
           .expireAfterWrite(Duration.ofHours(1))
+          .nearCache()
           .build(
               modelKey -> {
                 var fieldRepository = Beans.get(MetaJsonFieldRepository.class);
@@ -91,7 +92,7 @@ class JsonReferenceResolver {
   public void setJsonValue(Model entity, String jsonField, Map<String, Object> data) {
     var beanClass = EntityHelper.getEntityClass(entity);
     var mapper = Mapper.of(beanClass);
-    mapper.set(entity, jsonField, toJson(data));
+    mapper.setValue(entity, jsonField, toJson(data));
   }
 
   public static Map<String, Object> parseJson(String value) {
@@ -26,6 +26,7 @@ public class JsonReferenceUpdater {
   private static final AxelorCache<String, List<JsonReferenceFieldDTO>> targetFieldCache =
       CacheBuilder.newBuilder("targetFieldCache")
           .expireAfterWrite(Duration.ofHours(1))
+          .nearCache()
           .build(
               modelKey -> {
                 var fieldRepository = Beans.get(MetaJsonFieldRepository.class);
@@ -21,7 +21,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -33,6 +32,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
@@ -52,8 +52,6 @@ public class Mapper {
   private static final Cache<Method, Annotation[]> ANNOTATION_CACHE =
       Caffeine.newBuilder().maximumSize(1000).weakKeys().build();
 
-  private static final Object[] NULL_ARGUMENTS = {};
-
   private static final String PREFIX_COMPUTE = "compute";
   private static final String PREFIX_SET = "set";
 
@@ -61,6 +59,9 @@ public class Mapper {
   private Map<String, Method> setters = new HashMap<>(); // field -> setter
   private Map<String, String> methods = new HashMap<>(); // getter/setter/compute -> field
 
+  // created on first access, as generating an accessor defines a new class
+  private final Map<String, PropertyAccessor> accessors = new ConcurrentHashMap<>();
+
   private Map<String, Class<?>> types = new HashMap<>();
   private Map<String, Property> fields = new HashMap<>();
 
@@ -361,9 +362,13 @@ public class Mapper {
     Objects.requireNonNull(bean);
     Objects.requireNonNull(name);
     Preconditions.checkArgument(beanClass.isInstance(bean));
-    Preconditions.checkArgument(!name.trim().equals(""));
+    Preconditions.checkArgument(!name.isBlank());
+    final PropertyAccessor accessor = accessor(name);
+    if (accessor == null || !accessor.canRead()) {
+      return null;
+    }
     try {
-      return getters.get((String) name).invoke(bean, NULL_ARGUMENTS);
+      return accessor.get(bean);
     } catch (Exception e) {
       return null;
     }
@@ -378,27 +383,59 @@ public class Mapper {
    * @return old value of the property
    */
   public Object set(Object bean, String name, Object value) {
+    final Object oldValue = get(bean, name);
+    setValue(bean, name, value);
+    return oldValue;
+  }
+
+  /**
+   * Set the property of the given bean with the provided value.
+   *
+   * <p>Unlike {@link #set(Object, String, Object)}, the old value of the property is not read,
+   * which avoids calling the getter, and possibly initializing a lazy association, when it's not
+   * used.
+   *
+   * @param bean the bean
+   * @param name name of the property
+   * @param value value for the property
+   */
+  public void setValue(Object bean, String name, Object value) {
     Objects.requireNonNull(bean);
     Objects.requireNonNull(name);
     Preconditions.checkArgument(beanClass.isInstance(bean));
-    Preconditions.checkArgument(!name.trim().equals(""));
+    Preconditions.checkArgument(!name.isBlank());
 
-    final Method method = setters.get(name);
-    if (method == null) {
+    final PropertyAccessor accessor = accessor(name);
+    if (accessor == null || !accessor.canWrite()) {
       throw new IllegalArgumentException(
           "The bean of type: " + beanClass.getName() + " has no property called: " + name);
     }
 
-    final Object oldValue = get(bean, name);
-    final Class<?> actualType = method.getParameterTypes()[0];
-    final Type genericType = method.getGenericParameterTypes()[0];
-    final Annotation[] annotations = getAnnotations(name, method);
     try {
-      method.invoke(bean, Adapter.adapt(value, actualType, genericType, annotations));
+      accessor.set(bean, value);
     } catch (Exception e) {
       throw new IllegalArgumentException(e);
     }
-    return oldValue;
+  }
+
+  private PropertyAccessor accessor(String name) {
+    final PropertyAccessor accessor = accessors.get(name);
+    if (accessor != null) {
+      return accessor;
+    }
+    final Method getter = getters.get(name);
+    final Method setter = setters.get(name);
+    if (getter == null && setter == null) {
+      return null;
+    }
+    return accessors.computeIfAbsent(
+        name,
+        key ->
+            new PropertyAccessor(
+                beanClass,
+                getter,
+                setter,
+                setter == null ? null : getAnnotations(key, setter)));
   }
 
   /**
@@ -431,10 +468,10 @@ public class Mapper {
                     }));
     partitioned
         .getOrDefault(false, List.of())
-        .forEach(e -> mapper.set(bean, e.getKey(), e.getValue()));
+        .forEach(e -> mapper.setValue(bean, e.getKey(), e.getValue()));
     partitioned
         .getOrDefault(true, List.of())
-        .forEach(e -> mapper.set(bean, e.getKey(), e.getValue()));
+        .forEach(e -> mapper.setValue(bean, e.getKey(), e.getValue()));
     return bean;
   }
 
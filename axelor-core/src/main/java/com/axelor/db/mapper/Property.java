@@ -555,8 +555,9 @@ public class Property {
       }
     } else {
       // ignore readonly fields
-      if (Mapper.of(entity).getSetter(name) != null) {
-        Mapper.of(entity).set(bean, name, setAssociation(value, bean));
+      final Mapper mapper = Mapper.of(entity);
+      if (mapper.getSetter(name) != null) {
+        mapper.setValue(bean, name, setAssociation(value, bean));
       }
     }
 
@@ -591,7 +592,7 @@ public class Property {
 
     if (items == null) {
       items = Set.class.isAssignableFrom(javaType) ? new HashSet() : new ArrayList();
-      Mapper.of(entity).set(bean, name, items);
+      Mapper.of(entity).setValue(bean, name, items);
       // The type adapter creates new instance of collection so grab the new reference
       items = (Collection) get(bean);
     }
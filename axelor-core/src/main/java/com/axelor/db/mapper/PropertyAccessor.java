@@ -0,0 +1,146 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db.mapper;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invokes the getter and the setter of a bean property.
+ *
+ * <p>The methods are invoked through functions generated with {@link LambdaMetafactory}, which are
+ * as fast as direct calls once compiled, instead of reflection. If the functions can't be
+ * generated, for example if the methods are not accessible from the bean class, the reflective
+ * methods are used.
+ */
+final class PropertyAccessor {
+
+  private static final Logger log = LoggerFactory.getLogger(PropertyAccessor.class);
+
+  private final Function<Object, Object> getter;
+
+  private final BiConsumer<Object, Object> setter;
+
+  private final Class<?> type;
+
+  private final Type genericType;
+
+  private final Annotation[] annotations;
+
+  /**
+   * Create an accessor.
+   *
+   * @param beanClass the bean class
+   * @param getter the getter method, or null if the property is write-only
+   * @param setter the setter method, or null if the property is read-only
+   * @param annotations the annotations used to adapt the values given to the setter
+   */
+  PropertyAccessor(Class<?> beanClass, Method getter, Method setter, Annotation[] annotations) {
+    this.getter = getter == null ? null : createGetter(beanClass, getter);
+    this.setter = setter == null ? null : createSetter(beanClass, setter);
+    this.type = setter == null ? null : setter.getParameterTypes()[0];
+    this.genericType = setter == null ? null : setter.getGenericParameterTypes()[0];
+    this.annotations = annotations;
+  }
+
+  boolean canRead() {
+    return getter != null;
+  }
+
+  boolean canWrite() {
+    return setter != null;
+  }
+
+  /**
+   * Get the property value of the given bean.
+   *
+   * @param bean the bean
+   * @return the property value
+   */
+  Object get(Object bean) {
+    return getter.apply(bean);
+  }
+
+  /**
+   * Set the property value of the given bean, adapting the value to the property type.
+   *
+   * @param bean the bean
+   * @param value the value
+   */
+  void set(Object bean, Object value) {
+    setter.accept(bean, Adapter.adapt(value, type, genericType, annotations));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> createGetter(Class<?> beanClass, Method method) {
+    try {
+      final MethodHandles.Lookup lookup = lookup(beanClass);
+      final MethodHandle handle = lookup.unreflect(method);
+      final CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "apply",
+              MethodType.methodType(Function.class),
+              MethodType.methodType(Object.class, Object.class),
+              handle,
+              handle.type().wrap());
+      return (Function<Object, Object>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      log.trace("Using reflection to invoke {}: {}", method, e.getMessage());
+    }
+    method.trySetAccessible();
+    return bean -> invoke(method, bean);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> createSetter(Class<?> beanClass, Method method) {
+    try {
+      final MethodHandles.Lookup lookup = lookup(beanClass);
+      final MethodHandle handle = lookup.unreflect(method);
+      final CallSite site =
+          LambdaMetafactory.metafactory(
+              lookup,
+              "accept",
+              MethodType.methodType(BiConsumer.class),
+              MethodType.methodType(void.class, Object.class, Object.class),
+              handle,
+              handle.type().wrap().changeReturnType(void.class));
+      return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      log.trace("Using reflection to invoke {}: {}", method, e.getMessage());
+    }
+    method.trySetAccessible();
+    return (bean, value) -> invoke(method, bean, value);
+  }
+
+  private static MethodHandles.Lookup lookup(Class<?> beanClass) throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+  }
+
+  private static Object invoke(Method method, Object bean, Object... args) {
+    try {
+      return method.invoke(bean, args);
+    } catch (InvocationTargetException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(cause);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -4,17 +4,43 @@
  */
 package com.axelor.db.tracking;
 
+import com.axelor.common.StringUtils;
 import com.axelor.db.annotations.Track;
 import com.axelor.db.annotations.TrackEvent;
 import com.axelor.db.annotations.TrackMessage;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 /** This class is a straightforward implementation of the {@link Track} annotation */
 public class ModelTracking {
 
+  private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+  // names referenced by the track annotation of the entity classes
+  private static final ClassValue<Set<String>> TRACK_NAMES =
+      new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+          final Set<String> names = new HashSet<>();
+          final Track track = type.getAnnotation(Track.class);
+          if (track != null) {
+            addIdentifiers(
+                names,
+                Arrays.stream(track.fields()).map(FieldTracking::new).toList(),
+                Arrays.asList(track.messages()),
+                Arrays.asList(track.contents()));
+          }
+          return Collections.unmodifiableSet(names);
+        }
+      };
+
+  private final Class<?> entityClass;
   private final List<FieldTracking> fields;
   private final List<TrackMessage> messages;
   private final List<TrackMessage> contents;
@@ -22,13 +48,17 @@ public class ModelTracking {
   private final boolean files;
   private final TrackEvent on;
 
+  private Set<String> referencedNames;
+
   private ModelTracking(
+      Class<?> entityClass,
       List<FieldTracking> fields,
       List<TrackMessage> messages,
       List<TrackMessage> contents,
       boolean subscribe,
       boolean files,
       TrackEvent on) {
+    this.entityClass = entityClass;
     this.fields = fields;
     this.messages = messages;
     this.contents = contents;
@@ -38,8 +68,24 @@ public class ModelTracking {
   }
 
   public static ModelTracking create(Track track, List<FieldTracking> customFields) {
+    return create(null, track, customFields);
+  }
+
+  /**
+   * Create the tracking of the given entity class.
+   *
+   * <p>The names referenced by the track annotation are computed once per entity class.
+   *
+   * @param entityClass the entity class, or null if the track is not the one of a class
+   * @param track the track annotation of the entity class, may be null
+   * @param customFields the tracked custom fields
+   * @return the model tracking
+   */
+  public static ModelTracking create(
+      Class<?> entityClass, Track track, List<FieldTracking> customFields) {
     if (track == null) {
       return new ModelTracking(
+          entityClass,
           customFields,
           Collections.emptyList(),
           Collections.emptyList(),
@@ -49,6 +95,7 @@ public class ModelTracking {
     }
 
     return new ModelTracking(
+        entityClass,
         Stream.concat(Arrays.stream(track.fields()).map(FieldTracking::new), customFields.stream())
             .toList(),
         Arrays.asList(track.messages()),
@@ -81,4 +128,74 @@ public class ModelTracking {
   public TrackEvent getOn() {
     return on;
   }
+
+  /**
+   * Get the names referenced by the conditions and the message expressions.
+   *
+   * <p>The expressions are not parsed, every identifier found in them is returned, so the result
+   * may contain names that are not fields. If a tracked custom field is referenced, the name of
+   * its json field is returned as well, as the custom field values are read from it.
+   *
+   * @return the referenced names
+   */
+  public Set<String> getReferencedNames() {
+    if (referencedNames != null) {
+      return referencedNames;
+    }
+
+    final List<FieldTracking> customFields =
+        fields.stream().filter(FieldTracking::isCustomField).toList();
+    if (entityClass != null && customFields.isEmpty()) {
+      referencedNames = TRACK_NAMES.get(entityClass);
+      return referencedNames;
+    }
+
+    final Set<String> names = new HashSet<>();
+    if (entityClass == null) {
+      addIdentifiers(names, fields, messages, contents);
+    } else {
+      names.addAll(TRACK_NAMES.get(entityClass));
+      addIdentifiers(names, customFields, List.of(), List.of());
+    }
+    for (FieldTracking field : customFields) {
+      if (names.contains(field.getFieldName())) {
+        names.add(field.getJsonFieldName());
+      }
+    }
+    referencedNames = Collections.unmodifiableSet(names);
+    return referencedNames;
+  }
+
+  private static void addIdentifiers(
+      Set<String> names,
+      List<FieldTracking> fields,
+      List<TrackMessage> messages,
+      List<TrackMessage> contents) {
+    for (FieldTracking field : fields) {
+      addIdentifiers(names, field.getCondition());
+    }
+    for (TrackMessage message : messages) {
+      addIdentifiers(names, message);
+    }
+    for (TrackMessage message : contents) {
+      addIdentifiers(names, message);
+    }
+  }
+
+  private static void addIdentifiers(Set<String> names, TrackMessage message) {
+    addIdentifiers(names, message.condition());
+    if (message.message() != null && message.message().indexOf("#{") == 0) {
+      addIdentifiers(names, message.message());
+    }
+  }
+
+  private static void addIdentifiers(Set<String> names, String expression) {
+    if (StringUtils.isBlank(expression)) {
+      return;
+    }
+    final Matcher matcher = IDENTIFIER_PATTERN.matcher(expression);
+    while (matcher.find()) {
+      names.add(matcher.group());
+    }
+  }
 }
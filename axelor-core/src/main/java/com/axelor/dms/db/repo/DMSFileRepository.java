@@ -10,6 +10,7 @@ import com.axelor.auth.db.User;
 import com.axelor.common.Inflector;
 import com.axelor.common.StringUtils;
 import com.axelor.db.EntityHelper;
+import com.axelor.db.JPA;
 import com.axelor.db.JpaRepository;
 import com.axelor.db.JpaSecurity;
 import com.axelor.db.JpaSecurity.AccessType;
@@ -43,11 +44,13 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.shiro.authz.UnauthorizedException;
 
 public class DMSFileRepository extends JpaRepository<DMSFile> {
@@ -60,6 +63,9 @@ public class DMSFileRepository extends JpaRepository<DMSFile> {
 
   @Inject private MetaAttachmentRepository attachments;
 
+  // the files of the page being populated by populateAll
+  private final ThreadLocal<Map<Long, FileSummary>> prefetched = new ThreadLocal<>();
+
   public DMSFileRepository() {
     super(DMSFile.class);
   }
@@ -429,41 +435,172 @@ public class DMSFileRepository extends JpaRepository<DMSFile> {
       return json;
     }
 
-    final DMSFile file = findFrom(json);
-    if (file == null) {
+    final Long id = findId(json);
+    if (id == null) {
       return json;
     }
 
+    final Map<Long, FileSummary> page = prefetched.get();
+    final FileSummary summary =
+        page != null && page.containsKey(id) ? page.get(id) : prefetch(List.of(id)).get(id);
+    if (summary != null) {
+      populate(json, summary.file(), summary.canShare(), summary.canWrite(), summary.offline());
+    }
+
+    return json;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The files of the page and their permissions are fetched at once, then each map is populated
+   * with {@link #populate(Map, Map)}, so that its overrides still apply.
+   */
+  @Override
+  public List<Map<String, Object>> populateAll(
+      List<Map<String, Object>> records, Map<String, Object> context) {
+    if (context != null && context.get("_populate") == Boolean.FALSE) {
+      return records;
+    }
+
+    final List<Long> ids = records.stream().map(this::findId).filter(Objects::nonNull).toList();
+    final Map<Long, FileSummary> previous = prefetched.get();
+    prefetched.set(prefetch(ids));
+    try {
+      return super.populateAll(records, context);
+    } finally {
+      if (previous == null) {
+        prefetched.remove();
+      } else {
+        prefetched.set(previous);
+      }
+    }
+  }
+
+  private Long findId(Map<String, Object> json) {
+    if (json == null || json.get("id") == null) {
+      return null;
+    }
+    return Longs.tryParse(json.get("id").toString());
+  }
+
+  /**
+   * A file with the permissions of the current user.
+   *
+   * @param file the file
+   * @param canShare whether the user can share the file
+   * @param canWrite whether the user can write the file
+   * @param offline whether the user marked the file as offline
+   */
+  private record FileSummary(DMSFile file, boolean canShare, boolean canWrite, boolean offline) {}
+
+  private Map<Long, FileSummary> prefetch(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+
+    final List<DMSFile> files =
+        JPA.em()
+            .createQuery(
+                "SELECT self FROM DMSFile self LEFT JOIN FETCH self.metaFile "
+                    + "LEFT JOIN FETCH self.tags WHERE self.id IN (:ids)",
+                DMSFile.class)
+            .setParameter("ids", ids)
+            .getResultList();
+
+    final User user = AuthUtils.getUser();
+    final boolean isAdmin = security.hasRole("role.super") || security.hasRole("role.admin");
+    final Map<Long, PermissionSummary> summaries = findPermissions(ids, user);
+    final Set<Long> canCreate =
+        security.filterPermitted(
+            AccessType.CREATE,
+            DMSFile.class,
+            files.stream()
+                .filter(file -> file.getCreatedBy() != user)
+                .map(DMSFile::getId)
+                .toList());
+
+    final Map<Long, FileSummary> result = new HashMap<>();
+    for (DMSFile file : files) {
+      final PermissionSummary summary =
+          summaries.getOrDefault(file.getId(), PermissionSummary.NONE);
+      final boolean isOwner = file.getCreatedBy() == user;
+      final boolean canShare = isOwner || canCreate.contains(file.getId()) || summary.full();
+      final boolean canWrite = isOwner || isAdmin || summary.total() == 0 || summary.write();
+      result.put(file.getId(), new FileSummary(file, canShare, canWrite, summary.offline()));
+    }
+    return result;
+  }
+
+  /**
+   * Summary of the dms permissions of a file for the current user.
+   *
+   * @param total the number of permissions of the file
+   * @param write whether the user or the user group can write the file
+   * @param full whether the user or the user group has full permission on the file
+   * @param offline whether the user marked the file as offline
+   */
+  private record PermissionSummary(long total, boolean write, boolean full, boolean offline) {
+
+    static final PermissionSummary NONE = new PermissionSummary(0, false, false, false);
+  }
+
+  private Map<Long, PermissionSummary> findPermissions(Collection<Long> ids, User user) {
+    final List<Object[]> rows =
+        JPA.em()
+            .createQuery(
+                """
+                SELECT self.file.id, COUNT(self),
+                  SUM(CASE WHEN p.canWrite = true AND (self.user = :user OR self.group = :group)
+                    THEN 1 ELSE 0 END),
+                  SUM(CASE WHEN self.value = 'FULL' AND (self.user = :user OR self.group = :group)
+                    THEN 1 ELSE 0 END),
+                  SUM(CASE WHEN self.value = 'OFFLINE' AND self.user = :user THEN 1 ELSE 0 END)
+                FROM DMSPermission self LEFT JOIN self.permission p
+                WHERE self.file.id IN (:ids)
+                GROUP BY self.file.id""",
+                Object[].class)
+            .setParameter("ids", ids)
+            .setParameter("user", user)
+            .setParameter("group", user == null ? null : user.getGroup())
+            .getResultList();
+
+    final Map<Long, PermissionSummary> summaries = new HashMap<>();
+    for (Object[] row : rows) {
+      summaries.put(
+          (Long) row[0],
+          new PermissionSummary(
+              ((Number) row[1]).longValue(),
+              ((Number) row[2]).longValue() > 0,
+              ((Number) row[3]).longValue() > 0,
+              ((Number) row[4]).longValue() > 0));
+    }
+    return summaries;
+  }
+
+  private void populate(
+      Map<String, Object> json,
+      DMSFile file,
+      boolean canShare,
+      boolean canWrite,
+      boolean offline) {
+
     boolean isFile = !Boolean.TRUE.equals(file.getIsDirectory());
     LocalDateTime dt = file.getUpdatedOn();
     if (dt == null) {
       dt = file.getCreatedOn();
     }
 
-    final User user = AuthUtils.getUser();
     final MetaFile metaFile = file.getMetaFile();
 
-    boolean canShare =
-        file.getCreatedBy() == user
-            || security.isPermitted(AccessType.CREATE, DMSFile.class, file.getId())
-            || dmsPermissions
-                    .all()
-                    .filter(
-                        "self.file = ? AND self.value = 'FULL' AND (self.user = ? OR self.group = ?)",
-                        file,
-                        user,
-                        user.getGroup())
-                    .count()
-                > 0;
-
     json.put("typeIcon", isFile ? "file-earmark" : "folder-fill");
     json.put("downloadIcon", "download");
     json.put("detailsIcon", "info-circle");
 
     json.put("canShare", canShare);
-    json.put("canWrite", canCreate(file));
+    json.put("canWrite", canWrite);
 
-    if (canOffline(file, user)) {
+    if (offline && isFile && metaFile != null) {
       json.put("offline", true);
     }
 
@@ -503,7 +640,5 @@ public class DMSFileRepository extends JpaRepository<DMSFile> {
       }
       json.put("tags", tags);
     }
-
-    return json;
   }
 }
@@ -364,20 +364,21 @@ public class DMSPermissionRepository extends JpaRepository<DMSPermission> {
       final Query<DMSFile> query =
           dmsFileRepo
               .all()
-              .filter("self.parent.id = :parentId")
+              .filter("self.parent.id = :parentId AND self.id > :lastId")
               .bind("parentId", parentId)
+              .bind("lastId", 0L)
               .order("id");
 
       List<DMSFile> results;
-      int offset = 0;
 
-      while (!(results = query.fetch(DBHelper.getJdbcFetchSize(), offset)).isEmpty()) {
+      // seek by last id instead of offset, so that each page costs the same
+      while (!(results = query.fetch(DBHelper.getJdbcFetchSize())).isEmpty()) {
         processor.accept(results);
         results.stream()
             .filter(DMSFile::getIsDirectory)
             .map(DMSFile::getId)
             .forEach(parentIds::add);
-        offset += results.size();
+        query.bind("lastId", results.getLast().getId());
         JPA.flush();
         JPA.clear();
       }
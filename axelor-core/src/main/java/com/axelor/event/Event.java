@@ -13,4 +13,15 @@ public interface Event<T> {
   void fire(T event);
 
   Event<T> select(Annotation... qualifiers);
+
+  /**
+   * Check whether any observer would be notified by {@link #fire(Object)}.
+   *
+   * <p>This can be used to skip preparing an event payload nobody listens to.
+   *
+   * @return true if there is at least one matching observer
+   */
+  default boolean isObserved() {
+    return true;
+  }
 }
@@ -92,12 +92,20 @@ class EventBus {
         .collect(Collectors.toList());
   }
 
-  public void fire(Object event, Type eventType, Set<Annotation> qualifiers) {
+  private List<Observer> getObservers(
+      Class<?> eventClass, Type eventType, Set<Annotation> qualifiers) {
     final Map<Entry<Type, Set<Annotation>>, List<Observer>> observersByTypeAndQualifiers =
-        observersCache.get(event.getClass());
-    final List<Observer> foundObservers =
-        observersByTypeAndQualifiers.computeIfAbsent(
-            new SimpleImmutableEntry<>(eventType, qualifiers), k -> find(k.getKey(), k.getValue()));
-    foundObservers.forEach(o -> o.invoke(event));
+        observersCache.get(eventClass);
+    return observersByTypeAndQualifiers.computeIfAbsent(
+        new SimpleImmutableEntry<>(eventType, qualifiers), k -> find(k.getKey(), k.getValue()));
+  }
+
+  public boolean hasObservers(Type eventType, Set<Annotation> qualifiers) {
+    final Class<?> eventClass = TypeLiteral.get(eventType).getRawType();
+    return !getObservers(eventClass, eventType, qualifiers).isEmpty();
+  }
+
+  public void fire(Object event, Type eventType, Set<Annotation> qualifiers) {
+    getObservers(event.getClass(), eventType, qualifiers).forEach(o -> o.invoke(event));
   }
 }
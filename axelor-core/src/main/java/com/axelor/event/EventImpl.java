@@ -46,6 +46,11 @@ class EventImpl<T> implements Event<T> {
     eventBus.fire(event, eventType, qualifiers);
   }
 
+  @Override
+  public boolean isObserved() {
+    return eventBus.hasObservers(eventType, qualifiers);
+  }
+
   @Override
   public Event<T> select(Annotation... qualifiers) {
     if (qualifiers == null || qualifiers.length == 0) {
@@ -4,8 +4,11 @@
  */
 package com.axelor.file.store;
 
+import com.google.common.io.ByteStreams;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 
 /** Represents an interface for managing file storage. */
@@ -116,6 +119,32 @@ public interface Store {
    */
   InputStream getStream(String fileName, boolean cache);
 
+  /**
+   * Retrieves an input stream over a range of bytes of the specified file.
+   *
+   * <p>Only the requested bytes are read from the storage. The default implementation skips the
+   * bytes before the range from the stream of the whole file.
+   *
+   * @param fileName the name of the file to retrieve the input stream for
+   * @param offset the position of the first byte to read
+   * @param length the maximum number of bytes to read
+   * @return an {@link InputStream} over the given range of the specified file
+   */
+  default InputStream getStream(String fileName, long offset, long length) {
+    final InputStream stream = getStream(fileName);
+    try {
+      stream.skipNBytes(offset);
+    } catch (IOException e) {
+      try {
+        stream.close();
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw new UncheckedIOException(e);
+    }
+    return ByteStreams.limit(stream, length);
+  }
+
   /**
    * Retrieves the type of store being used.
    *
@@ -124,6 +124,15 @@ public class FileSystemStore implements Store {
     }
   }
 
+  @Override
+  public InputStream getStream(String fileName, long offset, long length) {
+    try {
+      return FileUtils.newInputStream(resolveFilePath(fileName), offset, length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   @Override
   public StoreType getStoreType() {
     return StoreType.FILE_SYSTEM;
@@ -289,6 +289,46 @@ public class S3Store implements Store {
     return inputStream;
   }
 
+  @Override
+  public InputStream getStream(String fileName, long offset, long length) {
+    if (length == 0) {
+      return InputStream.nullInputStream();
+    }
+
+    // read the range from the cached copy if any, without fetching the whole object
+    if (S3Cache.CACHE_ENABLED) {
+      try {
+        Path cachePath = _s3Cache.get(fileName);
+        if (cachePath != null) {
+          return FileUtils.newInputStream(cachePath, offset, length);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    final String objectName = getObjectName(fileName);
+    try {
+      GetObjectArgs.Builder builder =
+          GetObjectArgs.builder()
+              .bucket(getBucketName())
+              .object(objectName)
+              .offset(offset)
+              .length(length);
+      return getClient().getObject(builder.build());
+    } catch (XmlParserException
+        | ErrorResponseException
+        | InsufficientDataException
+        | InternalException
+        | InvalidKeyException
+        | InvalidResponseException
+        | IOException
+        | NoSuchAlgorithmException
+        | ServerException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private InputStream _fetchStream(String fileName) {
     final String objectName = getObjectName(fileName);
     try {
@@ -58,6 +58,8 @@ public final class MailBuilder {
 
   private Session session;
 
+  private MailSender mailSender;
+
   private String subject;
 
   private String from = "";
@@ -104,6 +106,11 @@ public final class MailBuilder {
     this.session = session;
   }
 
+  MailBuilder(Session session, MailSender mailSender) {
+    this(session);
+    this.mailSender = mailSender;
+  }
+
   public MailBuilder subject(String subject) {
     this.subject = subject;
     return this;
@@ -420,7 +427,11 @@ public final class MailBuilder {
       message.setSentDate(date);
     } catch (Exception e) {
     }
-    Transport.send(message);
+    if (mailSender == null) {
+      Transport.send(message);
+    } else {
+      mailSender.send(message);
+    }
     return message;
   }
 
@@ -15,6 +15,11 @@ public interface MailConstants {
 
   public static final int DEFAULT_TIMEOUT = 60000;
 
+  public static final int DEFAULT_MAX_CONNECTIONS = 4;
+  public static final int DEFAULT_MAX_RETRY = 2;
+  public static final long DEFAULT_RETRY_DELAY = 1000;
+  public static final long DEFAULT_IDLE_TIMEOUT = 30000;
+
   public static final String CHANNEL_STARTTLS = "starttls";
   public static final String CHANNEL_SSL = "ssl";
 
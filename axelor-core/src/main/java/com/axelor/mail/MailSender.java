@@ -7,14 +7,27 @@ package com.axelor.mail;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
-import jakarta.mail.Transport;
 import java.io.IOException;
 
-/** The {@link MailSender} provides features to send mails. */
-public final class MailSender {
+/**
+ * The {@link MailSender} provides features to send mails.
+ *
+ * <p>The messages are sent over a pool of connections, so that consecutive messages reuse the
+ * same connection. The pool is configured with the setters before sending the first message. The
+ * connections are closed once idle for longer than the idle timeout, or with {@link #close()}.
+ */
+public final class MailSender implements AutoCloseable {
 
   private Session session;
 
+  private int maxConnections = MailConstants.DEFAULT_MAX_CONNECTIONS;
+  private double rateLimit;
+  private int maxRetry = MailConstants.DEFAULT_MAX_RETRY;
+  private long retryDelay = MailConstants.DEFAULT_RETRY_DELAY;
+  private long idleTimeout = MailConstants.DEFAULT_IDLE_TIMEOUT;
+
+  private MailTransportPool pool;
+
   /**
    * Create a new {@link MailSender} with the given account.
    *
@@ -24,24 +37,91 @@ public final class MailSender {
     this.session = account.getSession();
   }
 
+  /**
+   * Set the maximum number of connections opened to the mail server.
+   *
+   * @param maxConnections the maximum number of connections
+   */
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * Set the maximum number of messages sent per second.
+   *
+   * @param rateLimit the maximum number of messages per second, 0 for no limit
+   */
+  public void setRateLimit(double rateLimit) {
+    this.rateLimit = rateLimit;
+  }
+
+  /**
+   * Set the maximum number of retries of a connection failing to be opened.
+   *
+   * <p>A message is never sent again once sending started, so it is not delivered twice.
+   *
+   * @param maxRetry the maximum number of retries
+   */
+  public void setMaxRetry(int maxRetry) {
+    this.maxRetry = maxRetry;
+  }
+
+  /**
+   * Set the delay before retrying to open a connection, doubled on each retry.
+   *
+   * @param retryDelay the delay in milliseconds
+   */
+  public void setRetryDelay(long retryDelay) {
+    this.retryDelay = retryDelay;
+  }
+
+  /**
+   * Set the time after which idle connections are closed.
+   *
+   * @param idleTimeout the idle timeout in milliseconds, 0 to keep the connections open until
+   *     {@link #close()}
+   */
+  public void setIdleTimeout(long idleTimeout) {
+    this.idleTimeout = idleTimeout;
+  }
+
+  private synchronized MailTransportPool pool() {
+    if (pool == null) {
+      pool =
+          new MailTransportPool(
+              session, maxConnections, rateLimit, maxRetry, retryDelay, idleTimeout);
+    }
+    return pool;
+  }
+
   /**
    * Compose a new mail message.
    *
    * @return a {@link MailBuilder} instance.
    */
   public MailBuilder compose() {
-    return new MailBuilder(session);
+    return new MailBuilder(session, this);
   }
 
   /**
    * Send a mail message.
    *
+   * <p>The message is sent over a pooled connection, or over a new connection opened again if it
+   * fails to connect.
+   *
    * @param message the message to sent
    * @throws MessagingException if the message could not be sent
-   * @see Transport#send(Message)
    */
   public void send(Message message) throws MessagingException {
-    Transport.send(message);
+    pool().send(message);
+  }
+
+  /** Close the idle connections to the mail server. */
+  @Override
+  public synchronized void close() {
+    if (pool != null) {
+      pool.close();
+    }
   }
 
   /**
@@ -0,0 +1,257 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of connected transports of a mail session.
+ *
+ * <p>The messages are sent over the idle connections of the pool, so that consecutive messages
+ * don't open, authenticate and close a new connection each. The number of connections is bounded,
+ * the senders wait for a free connection when all of them are in use.
+ *
+ * <p>The connections idle for longer than the idle timeout are closed, so that the pools of the
+ * senders no longer used don't keep connections open.
+ */
+final class MailTransportPool {
+
+  private static final Logger log = LoggerFactory.getLogger(MailTransportPool.class);
+
+  // closes the idle connections of all the pools
+  private static final ScheduledExecutorService EVICTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          task -> {
+            var thread = new Thread(task);
+            thread.setDaemon(true);
+            thread.setName("Mail-Transport-Evictor");
+            return thread;
+          });
+
+  private final Session session;
+
+  private final int maxRetry;
+
+  private final long retryDelay;
+
+  // minimum interval between two messages in nanoseconds, 0 if not limited
+  private final long interval;
+
+  // maximum idle time of a connection in nanoseconds, 0 if not limited
+  private final long idleTimeout;
+
+  private final Semaphore permits;
+
+  // the most recently used connection first
+  private final Deque<Idle> idle = new ConcurrentLinkedDeque<>();
+
+  private long nextSend;
+
+  private boolean evicting;
+
+  private record Idle(Transport transport, long since) {}
+
+  /**
+   * Create a transport pool.
+   *
+   * @param session the mail session
+   * @param maxConnections the maximum number of connections
+   * @param rateLimit the maximum number of messages sent per second, 0 for no limit
+   * @param maxRetry the maximum number of retries of a connection failing to be opened
+   * @param retryDelay the delay in milliseconds before the first retry, doubled on each retry
+   * @param idleTimeout the time in milliseconds after which idle connections are closed, 0 for no
+   *     limit
+   */
+  MailTransportPool(
+      Session session,
+      int maxConnections,
+      double rateLimit,
+      int maxRetry,
+      long retryDelay,
+      long idleTimeout) {
+    this.session = session;
+    this.maxRetry = Math.max(0, maxRetry);
+    this.retryDelay = Math.max(0, retryDelay);
+    this.interval = rateLimit > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rateLimit) : 0;
+    this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(0, idleTimeout));
+    this.permits = new Semaphore(Math.max(1, maxConnections), true);
+    this.nextSend = System.nanoTime();
+  }
+
+  /**
+   * Send the given message over a pooled connection.
+   *
+   * <p>The connection is opened again if it fails to connect, but the message is never sent again
+   * once sending started, as the server may have accepted it before failing.
+   *
+   * @param message the message to send
+   * @throws MessagingException if the message could not be sent
+   */
+  void send(Message message) throws MessagingException {
+    message.saveChanges();
+
+    final Address[] recipients = message.getAllRecipients();
+    if (recipients == null || recipients.length == 0) {
+      throw new SendFailedException("No recipient addresses");
+    }
+
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MessagingException("Interrupted while waiting for a mail connection", e);
+    }
+
+    try {
+      MessagingException error = null;
+      for (int attempt = 0; attempt <= maxRetry; attempt++) {
+        if (attempt > 0) {
+          log.debug("Retrying to send message, attempt {}: {}", attempt, error.getMessage());
+          pause(TimeUnit.MILLISECONDS.toNanos(retryDelay << (attempt - 1)));
+        }
+        throttle();
+
+        final Transport transport;
+        try {
+          transport = borrow(recipients[0]);
+        } catch (MessagingException e) {
+          error = e;
+          continue;
+        }
+
+        // not sent again once sending started, the server may have accepted the message
+        try {
+          transport.sendMessage(message, recipients);
+        } catch (SendFailedException e) {
+          release(transport);
+          throw e;
+        } catch (MessagingException e) {
+          close(transport);
+          throw e;
+        }
+        release(transport);
+        return;
+      }
+      throw error;
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** Close the idle connections. */
+  void close() {
+    Idle entry;
+    while ((entry = idle.poll()) != null) {
+      close(entry.transport());
+    }
+  }
+
+  private Transport borrow(Address address) throws MessagingException {
+    Idle entry;
+    while ((entry = idle.poll()) != null) {
+      if (!isExpired(entry, System.nanoTime()) && entry.transport().isConnected()) {
+        return entry.transport();
+      }
+      close(entry.transport());
+    }
+    final Transport transport = session.getTransport(address);
+    transport.connect();
+    return transport;
+  }
+
+  private void release(Transport transport) {
+    if (transport != null && transport.isConnected()) {
+      idle.push(new Idle(transport, System.nanoTime()));
+      scheduleEviction(idleTimeout);
+    } else {
+      close(transport);
+    }
+  }
+
+  private boolean isExpired(Idle entry, long now) {
+    return idleTimeout > 0 && now - entry.since() >= idleTimeout;
+  }
+
+  private void scheduleEviction(long delay) {
+    synchronized (this) {
+      if (evicting || idleTimeout == 0) {
+        return;
+      }
+      evicting = true;
+    }
+    EVICTOR.schedule(this::evict, delay, TimeUnit.NANOSECONDS);
+  }
+
+  private void evict() {
+    final long now = System.nanoTime();
+    final Iterator<Idle> entries = idle.descendingIterator();
+    while (entries.hasNext()) {
+      final Idle entry = entries.next();
+      // not closed if borrowed in the meantime
+      if (isExpired(entry, now) && idle.removeLastOccurrence(entry)) {
+        log.debug("Closing idle mail connection");
+        close(entry.transport());
+      }
+    }
+    synchronized (this) {
+      evicting = false;
+    }
+    final Idle oldest = idle.peekLast();
+    if (oldest != null) {
+      scheduleEviction(Math.max(0, oldest.since() + idleTimeout - System.nanoTime()));
+    }
+  }
+
+  private void close(Transport transport) {
+    if (transport == null) {
+      return;
+    }
+    try {
+      transport.close();
+    } catch (MessagingException e) {
+      // ignore
+    }
+  }
+
+  private void throttle() throws MessagingException {
+    if (interval == 0) {
+      return;
+    }
+    final long wait;
+    synchronized (this) {
+      final long now = System.nanoTime();
+      final long next = nextSend - now > 0 ? nextSend : now;
+      nextSend = next + interval;
+      wait = next - now;
+    }
+    pause(wait);
+  }
+
+  private void pause(long nanos) throws MessagingException {
+    if (nanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MessagingException("Interrupted while sending message", e);
+    }
+  }
+}
@@ -78,7 +78,9 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,7 +97,36 @@ public class MailServiceImpl implements MailService, MailConstants {
   private boolean senderConfigured;
   private boolean readerConfigured;
 
-  private ExecutorService executor = Executors.newCachedThreadPool();
+  private static final int SEND_THREADS =
+      Math.max(
+          1,
+          AppSettings.get()
+              .getInt(AvailableAppSettings.MAIL_SMTP_MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS));
+
+  private static final int SEND_QUEUE_SIZE =
+      Math.max(1, AppSettings.get().getInt(AvailableAppSettings.MAIL_SMTP_QUEUE_SIZE, 1000));
+
+  // the messages are sent by the calling thread when the queue is full
+  private ExecutorService executor = createExecutor();
+
+  private static ExecutorService createExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            SEND_THREADS,
+            SEND_THREADS,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(SEND_QUEUE_SIZE),
+            (task) -> {
+              var thread = new Thread(task);
+              thread.setDaemon(true);
+              thread.setName("Mail-Sender");
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
 
   private Logger log = LoggerFactory.getLogger(MailService.class);
 
@@ -158,6 +189,14 @@ public class MailServiceImpl implements MailService, MailConstants {
     smtpAccount.setConnectionTimeout(connectionTimeout);
     smtpAccount.setProperties(otherProperties);
     sender = new MailSender(smtpAccount);
+    sender.setMaxConnections(SEND_THREADS);
+    sender.setRateLimit(settings.getInt(AvailableAppSettings.MAIL_SMTP_RATE_LIMIT, 0));
+    sender.setMaxRetry(
+        settings.getInt(AvailableAppSettings.MAIL_SMTP_MAX_RETRY, DEFAULT_MAX_RETRY));
+    sender.setRetryDelay(
+        settings.getLong(AvailableAppSettings.MAIL_SMTP_RETRY_DELAY, DEFAULT_RETRY_DELAY));
+    sender.setIdleTimeout(
+        settings.getLong(AvailableAppSettings.MAIL_SMTP_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT));
 
     return sender;
   }
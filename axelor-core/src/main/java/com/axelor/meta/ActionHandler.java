@@ -137,8 +137,8 @@ public class ActionHandler {
       @SuppressWarnings("unchecked")
       final List<Object> idList = (List<Object>) context.get("_ids");
       if (ObjectUtils.notEmpty(idList)) {
-        final Long[] ids =
-            idList.stream().map(value -> Long.valueOf(String.valueOf(value))).toArray(Long[]::new);
+        final List<Long> ids =
+            idList.stream().map(value -> Long.valueOf(String.valueOf(value))).toList();
         checkPermission(accessType, modelClass, ids);
         return;
       }
@@ -152,6 +152,11 @@ public class ActionHandler {
     security.check(type, model, ids);
   }
 
+  public void checkPermission(
+      JpaSecurity.AccessType type, Class<? extends Model> model, Collection<Long> ids) {
+    security.check(type, model, ids);
+  }
+
   public void firePreEvent(String name) {
     preActionEvent.select(NamedLiteral.of(name)).fire(new PreAction(name, context));
   }
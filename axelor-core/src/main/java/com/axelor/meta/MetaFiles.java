@@ -32,6 +32,7 @@ import jakarta.activation.MimeTypeParseException;
 import jakarta.inject.Inject;
 import jakarta.persistence.PersistenceException;
 import jakarta.ws.rs.core.MediaType;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -41,6 +42,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -212,6 +214,26 @@ public class MetaFiles {
     checkType(MimeTypesUtils.getContentType(stream, null));
   }
 
+  /**
+   * Check whether the content of the given input stream is valid, and get a stream over the whole
+   * content.
+   *
+   * <p>Unlike {@link #checkType(InputStream)}, the given stream doesn't need to support mark and
+   * reset. Only the first bytes used to detect the content type are buffered, so that the checked
+   * content can then be streamed to the store without being held in memory or copied to a
+   * temporary file.
+   *
+   * @param stream the input stream to check
+   * @return a stream over the whole content of the given stream
+   * @throws IllegalFileException if the content type is not valid
+   */
+  public static InputStream checkContent(InputStream stream) {
+    Objects.requireNonNull(stream, "stream can't be null");
+    final InputStream buffered = stream.markSupported() ? stream : new BufferedInputStream(stream);
+    checkType(buffered);
+    return buffered;
+  }
+
   private String getTargetName(String fileName) {
     String targetName =
         AppSettings.get()
@@ -336,6 +358,15 @@ public class MetaFiles {
     Objects.requireNonNull(metaFile);
     Objects.requireNonNull(file);
 
+    final String fileName =
+        isBlank(metaFile.getFileName()) ? file.getName() : metaFile.getFileName();
+
+    return upload(fileName, metaFile, (store, filePath) -> store.addFile(file, filePath));
+  }
+
+  private MetaFile upload(
+      String fileName, MetaFile metaFile, BiFunction<Store, String, UploadedFile> writer)
+      throws IOException {
     final Store store = FileStoreFactory.getStore();
     final String originalFilePath = metaFile.getFilePath();
     final boolean isExist = notBlank(originalFilePath) && store.hasFile(originalFilePath);
@@ -354,11 +385,14 @@ public class MetaFiles {
         }
       }
 
-      String fileName = isBlank(metaFile.getFileName()) ? file.getName() : metaFile.getFileName();
-      String filePath;
-
-      filePath = resolveFileName(fileName, store);
-      UploadedFile uploadedFile = store.addFile(file, filePath);
+      final String filePath = resolveFileName(fileName, store);
+      final UploadedFile uploadedFile;
+      try {
+        uploadedFile = writer.apply(store, filePath);
+      } catch (RuntimeException e) {
+        recover(store, filePath, tmpCopy, originalFilePath);
+        throw e;
+      }
 
       metaFile.setFileName(fileName);
       metaFile.setFileType(uploadedFile.getContentType());
@@ -369,16 +403,7 @@ public class MetaFiles {
       try {
         return filesRepo.save(metaFile);
       } catch (Exception e) {
-        // delete the uploaded file
-        try {
-          store.deleteFile(filePath);
-        } catch (Exception ex) {
-          // ignore, file may not completely uploaded
-        }
-        // restore original file
-        if (tmpCopy != null) {
-          store.addFile(tmpCopy, originalFilePath);
-        }
+        recover(store, filePath, tmpCopy, originalFilePath);
         throw new PersistenceException(e);
       }
     } finally {
@@ -388,11 +413,24 @@ public class MetaFiles {
     }
   }
 
+  private void recover(Store store, String filePath, File tmpCopy, String originalFilePath) {
+    // delete the uploaded file
+    try {
+      store.deleteFile(filePath);
+    } catch (Exception ex) {
+      // ignore, file may not completely uploaded
+    }
+    // restore original file
+    if (tmpCopy != null) {
+      store.addFile(tmpCopy, originalFilePath);
+    }
+  }
+
   /**
    * Upload the given stream to the upload directory and link it to the given {@link MetaFile}.
    *
-   * <p>The given {@link MetaFile} instance must have fileName set to save the stream as file.
-   * Upload the stream
+   * <p>The given {@link MetaFile} instance must have fileName set to save the stream as file. The
+   * stream is written to the store as it's read, without a temporary copy.
    *
    * @param stream the stream to upload
    * @param metaFile the {@link MetaFile} to link the uploaded file
@@ -405,10 +443,9 @@ public class MetaFiles {
     Objects.requireNonNull(metaFile, "meta file can't be null");
     Objects.requireNonNull(metaFile.getFileName(), "meta file should have filename");
 
-    final Path tmp = TempFiles.createTempFile();
-    final File tmpFile = upload(stream, 0, -1, tmp.toFile().getName());
-
-    return upload(tmpFile, metaFile);
+    // stream the content straight to the store, without a temporary copy
+    return upload(
+        metaFile.getFileName(), metaFile, (store, filePath) -> store.addFile(stream, filePath));
   }
 
   /**
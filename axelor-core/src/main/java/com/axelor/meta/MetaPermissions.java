@@ -4,7 +4,7 @@
  */
 package com.axelor.meta;
 
-import com.axelor.auth.db.Role;
+import com.axelor.auth.PermissionSnapshot;
 import com.axelor.auth.db.User;
 import com.axelor.common.StringUtils;
 import com.axelor.db.JpaSecurity;
@@ -12,14 +12,12 @@ import com.axelor.db.Model;
 import com.axelor.db.mapper.Mapper;
 import com.axelor.db.mapper.Property;
 import com.axelor.inject.Beans;
-import com.axelor.meta.db.MetaPermission;
 import com.axelor.meta.db.MetaPermissionRule;
 import com.axelor.meta.schema.views.PanelField;
 import com.axelor.meta.schema.views.SimpleWidget;
 import jakarta.inject.Singleton;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 
 @Singleton
 public class MetaPermissions {
@@ -29,65 +27,11 @@ public class MetaPermissions {
   private static final String CAN_IMPORT = "import";
   private static final String CAN_EXPORT = "export";
 
-  private MetaPermission find(Set<MetaPermission> permissions, String object, String field) {
-    if (permissions == null) {
-      return null;
-    }
-    for (MetaPermission perm : permissions) {
-      if (!object.equals(perm.getObject())) {
-        continue;
-      }
-      if (!Boolean.TRUE.equals(perm.getActive()) || perm.getRules() == null) {
-        continue;
-      }
-      for (MetaPermissionRule rule : perm.getRules()) {
-        if (field.equals(rule.getField())) {
-          return perm;
-        }
-      }
-    }
-    return null;
-  }
-
-  private MetaPermission find(User user, String object, String field) {
-    if (user == null) {
-      return null;
-    }
-
-    MetaPermission permission = find(user.getMetaPermissions(), object, field);
-    if (permission == null && user.getGroup() != null) {
-      permission = find(user.getGroup().getMetaPermissions(), object, field);
-    }
-    if (permission == null && user.getRoles() != null) {
-      for (Role role : user.getRoles()) {
-        permission = find(role.getMetaPermissions(), object, field);
-        if (permission != null) {
-          break;
-        }
-      }
-    }
-    if (permission == null && user.getGroup() != null && user.getGroup().getRoles() != null) {
-      for (Role role : user.getGroup().getRoles()) {
-        permission = find(role.getMetaPermissions(), object, field);
-        if (permission != null) {
-          break;
-        }
-      }
-    }
-    return permission;
-  }
-
   public MetaPermissionRule findRule(User user, String object, String field) {
-    final MetaPermission permission = find(user, object, field);
-    if (permission == null) {
+    if (user == null) {
       return null;
     }
-    for (MetaPermissionRule rule : permission.getRules()) {
-      if (field.equals(rule.getField())) {
-        return rule;
-      }
-    }
-    return null;
+    return PermissionSnapshot.of(user).findRule(object, field);
   }
 
   public boolean isRelatedReadable(String object, String field, SimpleWidget widget) {
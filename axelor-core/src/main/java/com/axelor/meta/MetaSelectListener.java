@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta;
+
+import com.axelor.db.JPA;
+import com.axelor.meta.db.MetaSelect;
+import com.axelor.meta.db.MetaSelectItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/** Invalidates the cached selections of {@link MetaStore} when selects are changed. */
+public class MetaSelectListener {
+
+  @PostPersist
+  @PostRemove
+  private void onPostPersistOrRemove(Object entity) {
+    final MetaSelect select =
+        entity instanceof MetaSelectItem item ? item.getSelect() : (MetaSelect) entity;
+    if (select != null) {
+      final String name = select.getName();
+      afterCommit(() -> MetaStore.invalidateSelection(name));
+    }
+  }
+
+  @PostUpdate
+  private void onPostUpdate(Object entity) {
+    if (entity instanceof MetaSelectItem item) {
+      onPostPersistOrRemove(item);
+    } else {
+      // the select may have been renamed
+      afterCommit(MetaStore::invalidateSelections);
+    }
+  }
+
+  private void afterCommit(Runnable task) {
+    SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+    session
+        .getActionQueue()
+        .registerProcess(
+            (success, sessionImplementor) -> {
+              if (success) {
+                task.run();
+              }
+            });
+  }
+}
@@ -62,7 +62,17 @@ public final class MetaStore {
   private static final Logger log = LoggerFactory.getLogger(MetaStore.class);
 
   private static final AxelorCache<String, Action> ACTIONS =
-      CacheBuilder.newBuilder("actions").maximumSize(1000).build(XMLViews::findAction);
+      CacheBuilder.newBuilder("actions")
+          .maximumSize(1000)
+          .nearCache()
+          .build(XMLViews::findAction);
+
+  /** Parsed selection options by selection name, empty if the selection doesn't exist. */
+  private static final AxelorCache<String, Map<String, Selection.Option>> SELECTIONS =
+      CacheBuilder.newBuilder("selections")
+          .maximumSize(1000)
+          .nearCache()
+          .build(MetaStore::loadSelectionMap);
 
   private MetaStore() {}
 
@@ -628,6 +638,11 @@ public final class MetaStore {
   }
 
   private static Map<String, Selection.Option> buildSelectionMap(String selection) {
+    final Map<String, Selection.Option> all = SELECTIONS.get(selection);
+    return all == null || all.isEmpty() ? null : all;
+  }
+
+  private static Map<String, Selection.Option> loadSelectionMap(String selection) {
     final List<MetaSelectItem> items =
         Query.of(MetaSelectItem.class)
             .filter("self.select.name = ?", selection)
@@ -635,25 +650,21 @@ public final class MetaStore {
             .order("order")
             .fetch();
 
-    if (items.isEmpty()) {
-      return null;
-    }
-
     final Map<String, Selection.Option> all = new LinkedHashMap<>();
+    final ObjectMapper objectMapper = Beans.get(ObjectMapper.class);
 
     for (MetaSelectItem item : items) {
       if (item.getHidden().equals(Boolean.TRUE)) {
         all.remove(item.getValue());
       } else {
-        all.put(item.getValue(), getSelectionItem(item));
+        all.put(item.getValue(), getSelectionItem(item, objectMapper));
       }
     }
 
     return all;
   }
 
-  private static Selection.Option getSelectionItem(MetaSelectItem item) {
-    final ObjectMapper objectMapper = Beans.get(ObjectMapper.class);
+  private static Selection.Option getSelectionItem(MetaSelectItem item, ObjectMapper objectMapper) {
     final Selection.Option option = new Selection.Option();
     option.setValue(item.getValue());
     option.setTitle(item.getTitle());
@@ -672,9 +683,25 @@ public final class MetaStore {
 
   public static void clear() {
     ACTIONS.invalidateAll();
+    SELECTIONS.invalidateAll();
+    XMLViews.invalidateViews();
   }
 
   public static void invalidate(String name) {
     ACTIONS.invalidate(name);
   }
+
+  /**
+   * Invalidate the cached options of the given selection.
+   *
+   * @param selection the selection name
+   */
+  public static void invalidateSelection(String selection) {
+    SELECTIONS.invalidate(selection);
+  }
+
+  /** Invalidate the cached options of all the selections. */
+  public static void invalidateSelections() {
+    SELECTIONS.invalidateAll();
+  }
 }
@@ -0,0 +1,30 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta;
+
+import com.axelor.db.JPA;
+import com.axelor.db.TransactionCallbacks;
+import com.axelor.meta.loader.XMLViews;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/** Invalidates the views cached by {@link XMLViews} when views or custom views are changed. */
+public class MetaViewListener {
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  private void onPostChange(Object entity) {
+    invalidateViews();
+  }
+
+  /** Invalidate the cached views when the current transaction completes. */
+  public static void invalidateViews() {
+    // also on rollback, views may have been cached from the uncommitted changes
+    TransactionCallbacks.afterCompletionOnce(
+        JPA.em(), MetaViewListener.class, success -> XMLViews.invalidateViews());
+  }
+}
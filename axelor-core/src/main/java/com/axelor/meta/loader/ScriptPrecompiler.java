@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.loader;
+
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.db.JPA;
+import com.axelor.event.Observes;
+import com.axelor.events.StartupEvent;
+import com.axelor.meta.schema.actions.Action;
+import com.axelor.meta.schema.actions.ActionScripts;
+import com.axelor.script.GroovyScriptSupport;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the Groovy scripts of the actions on startup.
+ *
+ * <p>Enabled with the <code>application.script.precompile</code> setting, so that the first users
+ * of the actions don't wait for the scripts to be compiled. Combined with the <code>
+ * application.script.cache.dir</code> setting, the generated bytecode is reused by the next
+ * restarts.
+ */
+public class ScriptPrecompiler {
+
+  private static final Logger log = LoggerFactory.getLogger(ScriptPrecompiler.class);
+
+  private static final List<String> ACTION_TYPES =
+      List.of("action-record", "action-condition", "action-attrs");
+
+  private static final int CHUNK_SIZE = 100;
+
+  void onAppStart(@Observes StartupEvent event) {
+    if (AppSettings.get().getBoolean(AvailableAppSettings.APPLICATION_SCRIPT_PRECOMPILE, false)) {
+      compile();
+    }
+  }
+
+  /**
+   * Compile the Groovy scripts of all the actions.
+   *
+   * @return the number of compiled scripts
+   */
+  public int compile() {
+    final long start = System.currentTimeMillis();
+    final List<String> actions =
+        JPA.em()
+            .createQuery(
+                "SELECT self.xml FROM MetaAction self WHERE self.type IN (:types)", String.class)
+            .setParameter("types", ACTION_TYPES)
+            .getResultList();
+
+    if (actions.isEmpty()) {
+      return 0;
+    }
+
+    final AtomicInteger count = new AtomicInteger();
+    final List<List<String>> chunks = Lists.partition(actions, CHUNK_SIZE);
+    final int workers = Math.min(chunks.size(), Runtime.getRuntime().availableProcessors());
+    final ExecutorService executor = Executors.newFixedThreadPool(workers);
+    final List<Future<?>> futures = new ArrayList<>(chunks.size());
+
+    try {
+      for (List<String> chunk : chunks) {
+        futures.add(executor.submit(() -> compile(chunk, count)));
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return count.get();
+      } catch (ExecutionException e) {
+        log.error("Unable to compile action scripts", e.getCause());
+      }
+    }
+
+    log.info(
+        "Compiled {} scripts of {} actions in {} ms",
+        count.get(),
+        actions.size(),
+        System.currentTimeMillis() - start);
+
+    return count.get();
+  }
+
+  private void compile(List<String> chunk, AtomicInteger count) {
+    for (String xml : chunk) {
+      final List<Action> actions;
+      try {
+        actions = XMLViews.unmarshal(xml, false).getActions();
+      } catch (Exception e) {
+        log.warn("Unable to read action: {}", e.getMessage());
+        continue;
+      }
+      if (actions == null) {
+        continue;
+      }
+      for (Action action : actions) {
+        for (String script : ActionScripts.find(action)) {
+          try {
+            GroovyScriptSupport.compile(script);
+            count.incrementAndGet();
+          } catch (Exception e) {
+            log.warn("Unable to compile script of action {}: {}", action.getName(), script);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.loader;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.namespace.QName;
+
+/**
+ * Deep copy of view definitions.
+ *
+ * <p>The objects of the <code>com.axelor.meta.schema</code> package and the collections are copied,
+ * immutable values and any other object are shared with the copy.
+ */
+final class ViewCopier {
+
+  private static final String SCHEMA_PACKAGE = "com.axelor.meta.schema.";
+
+  private static final ClassValue<Constructor<?>> CONSTRUCTORS =
+      new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+          try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+          } catch (NoSuchMethodException e) {
+            return null;
+          }
+        }
+      };
+
+  private static final ClassValue<List<Field>> FIELDS =
+      new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+          final List<Field> fields = new ArrayList<>();
+          for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+              if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                fields.add(field);
+              }
+            }
+          }
+          return List.copyOf(fields);
+        }
+      };
+
+  private ViewCopier() {}
+
+  /**
+   * Create a deep copy of the given view definition.
+   *
+   * @param <T> the type of the view definition
+   * @param source the view definition to copy
+   * @return the copy
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T copy(T source) {
+    return (T) copy(source, new IdentityHashMap<>());
+  }
+
+  private static boolean isImmutable(Object value) {
+    return value instanceof String
+        || value instanceof Number
+        || value instanceof Boolean
+        || value instanceof Character
+        || value instanceof Enum<?>
+        || value instanceof QName
+        || value instanceof Class<?>;
+  }
+
+  private static Object copy(Object value, Map<Object, Object> copies) {
+    if (value == null || isImmutable(value)) {
+      return value;
+    }
+
+    final Object done = copies.get(value);
+    if (done != null) {
+      return done;
+    }
+
+    if (value instanceof List<?> list) {
+      final List<Object> target = new ArrayList<>(list.size());
+      copies.put(value, target);
+      copyAll(list, target, copies);
+      return target;
+    }
+
+    if (value instanceof Set<?> set) {
+      final Set<Object> target = new LinkedHashSet<>();
+      copies.put(value, target);
+      copyAll(set, target, copies);
+      return target;
+    }
+
+    if (value instanceof Map<?, ?> map) {
+      final Map<Object, Object> target = new LinkedHashMap<>();
+      copies.put(value, target);
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        target.put(copy(entry.getKey(), copies), copy(entry.getValue(), copies));
+      }
+      return target;
+    }
+
+    final Class<?> type = value.getClass();
+    final Constructor<?> constructor =
+        type.getName().startsWith(SCHEMA_PACKAGE) ? CONSTRUCTORS.get(type) : null;
+    if (constructor == null) {
+      return value;
+    }
+
+    try {
+      final Object target = constructor.newInstance();
+      copies.put(value, target);
+      for (Field field : FIELDS.get(type)) {
+        if (!Modifier.isFinal(field.getModifiers())) {
+          field.set(target, copy(field.get(value), copies));
+        }
+      }
+      return target;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Unable to copy " + type.getName(), e);
+    }
+  }
+
+  private static void copyAll(
+      Collection<?> source, Collection<Object> target, Map<Object, Object> copies) {
+    for (Object item : source) {
+      target.add(copy(item, copies));
+    }
+  }
+}
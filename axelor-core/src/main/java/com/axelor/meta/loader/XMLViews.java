@@ -8,8 +8,13 @@ import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.AxelorTopic;
+import com.axelor.cache.CacheBuilder;
+import com.axelor.cache.DistributedFactory;
 import com.axelor.common.StringUtils;
 import com.axelor.common.XMLUtils;
+import com.axelor.db.tenants.TenantResolver;
 import com.axelor.inject.Beans;
 import com.axelor.meta.db.MetaAction;
 import com.axelor.meta.db.MetaModel;
@@ -39,6 +44,7 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -46,7 +52,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
@@ -77,8 +86,17 @@ public class XMLViews {
     "com.sun.xml.bind.indentString"
   };
 
-  private static Marshaller marshaller;
-  private static Unmarshaller unmarshaller;
+  // JAXB marshallers aren't thread-safe, they are pooled instead of shared
+  private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+  private static final Queue<Unmarshaller> UNMARSHALLERS = new ArrayBlockingQueue<>(POOL_SIZE);
+  private static final Queue<Unmarshaller> NON_VALIDATING_UNMARSHALLERS =
+      new ArrayBlockingQueue<>(POOL_SIZE);
+  private static final Queue<Marshaller> MARSHALLERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+  private static JAXBContext jaxbContext;
+  private static Schema schema;
+  private static String indentProperty;
 
   private static final Object DOCUMENT_BUILDER_FACTORY_MONITOR = new Object();
   private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY =
@@ -88,44 +106,61 @@ public class XMLViews {
       Suppliers.memoize(
           () -> AppSettings.get().getBoolean(AvailableAppSettings.VIEW_CUSTOMIZATION, true));
 
+  /** Key of the parsed view, by lookup params. */
+  private static final AxelorCache<String, String> RESOLVED_VIEWS =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(10_000)
+          .expireAfterAccess(Duration.ofHours(1))
+          .nonTenantAware()
+          .build();
+
+  /** Parsed views, by view id and version, only copies of them are returned. */
+  private static final AxelorCache<String, AbstractView> PARSED_VIEWS =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(2_000)
+          .expireAfterAccess(Duration.ofHours(1))
+          .nonTenantAware()
+          .build();
+
+  // incremented on every invalidation to not cache views resolved before it
+  private static final AtomicLong viewsGeneration = new AtomicLong();
+
+  /** Topic used to notify other instances to invalidate their cached views. */
+  private static final AxelorTopic viewsInvalidationTopic =
+      DistributedFactory.getTopic("invalidation");
+
   static {
     try {
       init();
     } catch (JAXBException | SAXException e) {
       throw new RuntimeException(e);
     }
+    viewsInvalidationTopic.addListener(String.class, msg -> clearViews());
   }
 
   private XMLViews() {}
 
   private static void init() throws JAXBException, SAXException {
-    if (unmarshaller != null) {
+    if (jaxbContext != null) {
       return;
     }
 
-    JAXBContext context = JAXBContext.newInstance(ObjectViews.class);
-    unmarshaller = context.createUnmarshaller();
-    marshaller = context.createMarshaller();
-    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-    marshaller.setProperty(
-        Marshaller.JAXB_SCHEMA_LOCATION,
-        ObjectViews.NAMESPACE + " " + ObjectViews.getSecureNamespace() + "/" + REMOTE_SCHEMA);
+    jaxbContext = JAXBContext.newInstance(ObjectViews.class);
 
+    SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    schema = schemaFactory.newSchema(Resources.getResource(LOCAL_SCHEMA));
+
+    final Marshaller marshaller = jaxbContext.createMarshaller();
     for (String name : INDENT_PROPERTIES) {
       try {
         marshaller.setProperty(name, INDENT_STRING);
+        indentProperty = name;
         break;
       } catch (Exception e) {
         log.info("JAXB marshaller doesn't support property: {}", name);
       }
     }
 
-    SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-    Schema schema = schemaFactory.newSchema(Resources.getResource(LOCAL_SCHEMA));
-
-    unmarshaller.setSchema(schema);
-    marshaller.setSchema(schema);
-
     // find supported views
     JsonSubTypes types = AbstractView.class.getAnnotation(JsonSubTypes.class);
     for (JsonSubTypes.Type type : types.value()) {
@@ -136,34 +171,82 @@ public class XMLViews {
     }
   }
 
-  public static ObjectViews unmarshal(InputStream stream) throws JAXBException {
-    synchronized (unmarshaller) {
-      return (ObjectViews) unmarshaller.unmarshal(stream);
+  @FunctionalInterface
+  private interface JAXBTask<T, R> {
+    R apply(T target) throws JAXBException;
+  }
+
+  private static Unmarshaller createUnmarshaller(boolean validate) throws JAXBException {
+    final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+    if (validate) {
+      unmarshaller.setSchema(schema);
     }
+    return unmarshaller;
   }
 
-  public static ObjectViews unmarshal(String xml) throws JAXBException {
-    Reader reader = new StringReader(prepareXML(xml));
+  private static Marshaller createMarshaller() throws JAXBException {
+    final Marshaller marshaller = jaxbContext.createMarshaller();
+    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+    marshaller.setProperty(
+        Marshaller.JAXB_SCHEMA_LOCATION,
+        ObjectViews.NAMESPACE + " " + ObjectViews.getSecureNamespace() + "/" + REMOTE_SCHEMA);
+    if (indentProperty != null) {
+      marshaller.setProperty(indentProperty, INDENT_STRING);
+    }
+    marshaller.setSchema(schema);
+    return marshaller;
+  }
 
-    synchronized (unmarshaller) {
-      return (ObjectViews) unmarshaller.unmarshal(reader);
+  private static <R> R unmarshal(boolean validate, JAXBTask<Unmarshaller, R> task)
+      throws JAXBException {
+    final Queue<Unmarshaller> pool = validate ? UNMARSHALLERS : NON_VALIDATING_UNMARSHALLERS;
+    Unmarshaller unmarshaller = pool.poll();
+    if (unmarshaller == null) {
+      unmarshaller = createUnmarshaller(validate);
     }
+    final R result = task.apply(unmarshaller);
+    // only reuse the unmarshallers that completed successfully
+    pool.offer(unmarshaller);
+    return result;
   }
 
-  public static ObjectViews unmarshal(Node node) throws JAXBException {
-    JAXBElement<ObjectViews> element;
+  public static ObjectViews unmarshal(InputStream stream) throws JAXBException {
+    return unmarshal(true, unmarshaller -> (ObjectViews) unmarshaller.unmarshal(stream));
+  }
 
-    synchronized (unmarshaller) {
-      element = unmarshaller.unmarshal(node, ObjectViews.class);
-    }
+  public static ObjectViews unmarshal(String xml) throws JAXBException {
+    return unmarshal(xml, true);
+  }
 
+  /**
+   * Unmarshal the given views xml.
+   *
+   * <p>The schema validation can be skipped for the xml known to be valid, like the xml of the
+   * views and actions stored in the database, validated when they are loaded or saved.
+   *
+   * @param xml the views xml, without the root element
+   * @param validate whether to validate the xml against the schema
+   * @return the {@link ObjectViews}
+   * @throws JAXBException if the xml can't be unmarshalled
+   */
+  public static ObjectViews unmarshal(String xml, boolean validate) throws JAXBException {
+    final Reader reader = new StringReader(prepareXML(xml));
+    return unmarshal(validate, unmarshaller -> (ObjectViews) unmarshaller.unmarshal(reader));
+  }
+
+  public static ObjectViews unmarshal(Node node) throws JAXBException {
+    final JAXBElement<ObjectViews> element =
+        unmarshal(true, unmarshaller -> unmarshaller.unmarshal(node, ObjectViews.class));
     return element.getValue();
   }
 
   public static void marshal(ObjectViews views, Writer writer) throws JAXBException {
-    synchronized (marshaller) {
-      marshaller.marshal(views, writer);
+    Marshaller marshaller = MARSHALLERS.poll();
+    if (marshaller == null) {
+      marshaller = createMarshaller();
     }
+    marshaller.marshal(views, writer);
+    MARSHALLERS.offer(marshaller);
   }
 
   public static Document parseXml(String xml)
@@ -240,7 +323,7 @@ public class XMLViews {
     if (!xml.trim().startsWith("<?xml")) xml = prepareXML(xml);
 
     StringReader reader = new StringReader(xml);
-    return (ObjectViews) unmarshaller.unmarshal(reader);
+    return unmarshal(true, unmarshaller -> (ObjectViews) unmarshaller.unmarshal(reader));
   }
 
   public static Map<String, Object> findViews(String model, Map<String, String> views) {
@@ -357,7 +440,7 @@ public class XMLViews {
       return null;
     }
     try {
-      return unmarshal(view.getXml()).getViews().getFirst();
+      return unmarshal(view.getXml(), false).getViews().getFirst();
     } catch (JAXBException e) {
       log.error(e.getMessage(), e);
       return null;
@@ -370,7 +453,7 @@ public class XMLViews {
       return null;
     }
     try {
-      return unmarshal(view.getXml()).getViews().getFirst();
+      return unmarshal(view.getXml(), false).getViews().getFirst();
     } catch (JAXBException e) {
       log.error(e.getMessage(), e);
       return null;
@@ -393,6 +476,28 @@ public class XMLViews {
     return customizationEnabled.get();
   }
 
+  /** Discard the views cached by {@link #findView(String, String, String, String, String)}. */
+  public static void invalidateViews() {
+    clearViews();
+
+    // Notify all instances to invalidate their cached views.
+    viewsInvalidationTopic.publish("invalidate");
+  }
+
+  private static void clearViews() {
+    viewsGeneration.incrementAndGet();
+    RESOLVED_VIEWS.invalidateAll();
+    PARSED_VIEWS.invalidateAll();
+  }
+
+  private static String key(Object... parts) {
+    final StringBuilder builder = new StringBuilder(TenantResolver.currentTenantIdentifier());
+    for (Object part : parts) {
+      builder.append('|').append(part);
+    }
+    return builder.toString();
+  }
+
   /**
    * Find view by the given parameters.
    *
@@ -404,6 +509,10 @@ public class XMLViews {
    *   <li>find view matching given params but have no groups
    * </ol>
    *
+   * <p>The found views are cached, so that the same lookup doesn't query nor parse the view again
+   * until the views are changed. A new copy of the view is returned on each call, that can be
+   * modified by the caller.
+   *
    * @param name find by name
    * @param type find by type (name or model should be provided)
    * @param model find by model (name or type should be provided)
@@ -419,12 +528,24 @@ public class XMLViews {
 
     final User user = AuthUtils.getUser();
     final Long group = user != null && user.getGroup() != null ? user.getGroup().getId() : null;
+    final boolean customizable =
+        Boolean.TRUE.equals(isCustomizationEnabled()) && module == null && user != null;
+
+    final String lookupKey =
+        key(name, type, model, module, jsonModel, group, customizable ? user.getId() : null);
+    final String cachedKey = RESOLVED_VIEWS.get(lookupKey);
+    final AbstractView cached = cachedKey == null ? null : PARSED_VIEWS.get(cachedKey);
+    if (cached != null) {
+      return ViewCopier.copy(cached);
+    }
+
+    final long generation = viewsGeneration.get();
 
     MetaView view = null;
     MetaViewCustom custom = null;
 
     // find personalized view
-    if (Boolean.TRUE.equals(isCustomizationEnabled()) && module == null && user != null) {
+    if (customizable) {
       custom = findCustomView(customViews, name, type, model, jsonModel);
     }
 
@@ -481,7 +602,7 @@ public class XMLViews {
         xml = custom.getXml();
       }
 
-      final ObjectViews objectViews = unmarshal(xml);
+      final ObjectViews objectViews = unmarshal(xml, false);
       xmlView = objectViews.getViews().getFirst();
     } catch (Exception e) {
       log.error(e.getMessage(), e);
@@ -517,6 +638,19 @@ public class XMLViews {
       return null;
     }
 
+    final String viewKey =
+        key(
+            view == null ? null : view.getId() + ":" + view.getVersion(),
+            custom == null ? null : custom.getId() + ":" + custom.getVersion(),
+            jsonModel);
+
+    // don't cache the views resolved before an invalidation
+    if (viewsGeneration.get() == generation) {
+      PARSED_VIEWS.put(viewKey, xmlView);
+      RESOLVED_VIEWS.put(lookupKey, viewKey);
+      return ViewCopier.copy(xmlView);
+    }
+
     return xmlView;
   }
 
@@ -524,7 +658,7 @@ public class XMLViews {
     final MetaAction metaAction = Beans.get(MetaActionRepository.class).findByName(name);
     final Action action;
     try {
-      action = XMLViews.unmarshal(metaAction.getXml()).getActions().getFirst();
+      action = XMLViews.unmarshal(metaAction.getXml(), false).getActions().getFirst();
       action.setActionId(metaAction.getId());
       return action;
     } catch (Exception e) {
@@ -0,0 +1,104 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.schema.actions;
+
+import com.axelor.common.StringUtils;
+import com.axelor.meta.schema.actions.ActionAttrs.Attribute;
+import com.axelor.meta.schema.actions.ActionCondition.Check;
+import com.axelor.meta.schema.actions.ActionRecord.RecordField;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Extracts the Groovy scripts evaluated by actions. */
+public final class ActionScripts {
+
+  // same as the expression pattern of ActionHandler
+  private static final Pattern EXPRESSION_PATTERN =
+      Pattern.compile("^\\s*(select\\[\\]|select|action|call|eval):\\s*(.*)");
+
+  private static final Pattern BOOLEAN_ATTRS =
+      Pattern.compile("readonly|required|hidden|collapse|refresh|focus|active");
+
+  private ActionScripts() {}
+
+  /**
+   * Find the Groovy scripts evaluated by the given action.
+   *
+   * <p>The scripts are returned as they are given to the script engine, so that compiling them
+   * ahead of time matches the scripts evaluated later. Only the scripts of <code>action-record
+   * </code>, <code>action-condition</code> and <code>action-attrs</code> are found.
+   *
+   * @param action the action
+   * @return the scripts of the action
+   */
+  public static Set<String> find(Action action) {
+    final Set<String> scripts = new LinkedHashSet<>();
+
+    if (action instanceof ActionRecord record) {
+      addExpression(scripts, record.getRef());
+      addCondition(scripts, record.getSaveIf());
+      for (RecordField field : nonNull(record.getFields())) {
+        addCondition(scripts, field.getCondition());
+        addExpression(scripts, field.getExpression());
+      }
+    } else if (action instanceof ActionCondition condition) {
+      for (Check check : nonNull(condition.getConditions())) {
+        addCondition(scripts, check.getCondition());
+        if (StringUtils.notBlank(check.getError())) {
+          addExpression(scripts, Action.toExpression(check.getError(), true));
+        }
+        if (check.getField() != null) {
+          for (String field : check.getField().split(",")) {
+            addCondition(scripts, check.getCondition(field.trim()));
+          }
+        }
+      }
+    } else if (action instanceof ActionAttrs attrs) {
+      for (Attribute attribute : nonNull(attrs.getAttributes())) {
+        addCondition(scripts, attribute.getCondition());
+        if (attribute.getName() != null
+            && BOOLEAN_ATTRS.matcher(attribute.getName()).matches()) {
+          addCondition(scripts, attribute.getExpression());
+        } else {
+          addExpression(scripts, attribute.getExpression());
+        }
+      }
+    }
+
+    return scripts;
+  }
+
+  private static <T> List<T> nonNull(List<T> items) {
+    return items == null ? List.of() : items;
+  }
+
+  private static boolean isEL(String expression) {
+    final String expr = expression.trim();
+    return expr.startsWith("#{") && expr.endsWith("}");
+  }
+
+  private static void addCondition(Set<String> scripts, String condition) {
+    if (StringUtils.isBlank(condition) || "true".equals(condition) || "false".equals(condition)) {
+      return;
+    }
+    addExpression(scripts, Action.toExpression(condition, false));
+  }
+
+  private static void addExpression(Set<String> scripts, String expression) {
+    if (StringUtils.isBlank(expression) || isEL(expression)) {
+      return;
+    }
+    final Matcher matcher = EXPRESSION_PATTERN.matcher(expression);
+    if (matcher.matches() && "eval".equals(matcher.group(1))) {
+      final String script = matcher.group(2);
+      if (StringUtils.notBlank(script) && !isEL(script)) {
+        scripts.add(script);
+      }
+    }
+  }
+}
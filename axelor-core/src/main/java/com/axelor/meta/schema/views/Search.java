@@ -308,7 +308,10 @@ public class Search extends AbstractView {
       }
       all.add(filter);
 
-      Query<?> query = Filter.and(all).build(klass);
+      Query<?> query = Filter.and(all).build(klass).readOnly();
+      if (Boolean.TRUE.equals(distinct)) {
+        query.distinct();
+      }
       if (orderBy != null) {
         Splitter.on(Pattern.compile(",\\s*")).split(orderBy).forEach(query::order);
       }
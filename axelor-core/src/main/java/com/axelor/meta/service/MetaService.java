@@ -7,12 +7,15 @@ package com.axelor.meta.service;
 import static com.axelor.common.StringUtils.isBlank;
 import static com.axelor.meta.loader.ModuleManager.isInstalled;
 
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.Group;
 import com.axelor.auth.db.User;
 import com.axelor.auth.db.ViewCustomizationPermission;
 import com.axelor.common.ObjectUtils;
 import com.axelor.common.StringUtils;
+import com.axelor.concurrent.ContextAware;
 import com.axelor.db.JPA;
 import com.axelor.db.Model;
 import com.axelor.db.Query.Selector;
@@ -22,6 +25,7 @@ import com.axelor.i18n.I18n;
 import com.axelor.inject.Beans;
 import com.axelor.meta.ActionExecutor;
 import com.axelor.meta.MetaFiles;
+import com.axelor.meta.MetaViewListener;
 import com.axelor.meta.db.MetaActionMenu;
 import com.axelor.meta.db.MetaAttachment;
 import com.axelor.meta.db.MetaFile;
@@ -57,6 +61,7 @@ import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.Query;
+import jakarta.persistence.QueryTimeoutException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -66,6 +71,13 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -77,6 +89,34 @@ public class MetaService {
 
   private static final Logger LOG = LoggerFactory.getLogger(MetaService.class);
 
+  // created on first use, only if the selects of the search views run concurrently
+  private static final class SearchExecutor {
+    private static final ExecutorService INSTANCE = createExecutor();
+  }
+
+  private static ExecutorService createExecutor() {
+    final int workers =
+        AppSettings.get()
+            .getInt(
+                AvailableAppSettings.APPLICATION_SEARCH_MAX_WORKERS,
+                Runtime.getRuntime().availableProcessors());
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            Math.max(1, workers),
+            Math.max(1, workers),
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            (task) -> {
+              var thread = new Thread(task);
+              thread.setDaemon(true);
+              thread.setName("Search-Worker");
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   @Inject private MetaViewRepository views;
 
   @Inject private MetaViewCustomRepository customViews;
@@ -270,6 +310,7 @@ public class MetaService {
     Query deleteQuery =
         JPA.em().createQuery("DELETE FROM MetaViewCustom self WHERE self.name = :name");
     deleteQuery.setParameter("name", view.getName());
+    MetaViewListener.invalidateViews();
     return deleteQuery.executeUpdate();
   }
 
@@ -285,6 +326,8 @@ public class MetaService {
       throw new PersistenceException(I18n.get("You are not allowed to customize views."));
     }
 
+    MetaViewListener.invalidateViews();
+
     int count =
         com.axelor.db.Query.of(MetaViewCustom.class)
             .filter("self.name = :name AND self.user = :user")
@@ -322,7 +365,9 @@ public class MetaService {
     ScriptHelper helper = search.scriptHandler(context);
 
     List<Object> data = new ArrayList<>();
+    List<SearchQuery> queries = new ArrayList<>();
 
+    // the queries are built first, the scripts are not evaluated concurrently
     for (Search.SearchSelect select : search.getSelects()) {
 
       if (selected != null && !selected.contains(select.getModel())) {
@@ -345,8 +390,21 @@ public class MetaService {
         limit = select.getLimit();
       }
 
-      List<?> items = selector.fetch(limit, request.getOffset());
+      queries.add(new SearchQuery(select, selector, limit));
+    }
 
+    List<List<?>> results =
+        isSearchParallel() && queries.size() > 1
+            ? fetchParallel(queries, request.getOffset())
+            : queries.stream()
+                .<List<?>>map(query -> query.selector().fetch(query.limit(), request.getOffset()))
+                .toList();
+
+    for (int i = 0; i < queries.size(); i++) {
+      Search.SearchSelect select = queries.get(i).select();
+      List<?> items = results.get(i);
+
+      // distinct is done by the query, but records ordered on collection items can be repeated
       if (Objects.equals(Boolean.TRUE, select.getDistinct())) {
         items =
             items.stream()
@@ -383,6 +441,76 @@ public class MetaService {
     return response;
   }
 
+  private static boolean isSearchParallel() {
+    return AppSettings.get().getBoolean(AvailableAppSettings.APPLICATION_SEARCH_PARALLEL, false);
+  }
+
+  /**
+   * Run the search queries concurrently.
+   *
+   * <p>Each query runs in its own transaction with the tenant and user of the caller. The queries
+   * not completed within the search timeout are cancelled by the database, and return no records.
+   */
+  private List<List<?>> fetchParallel(List<SearchQuery> queries, int offset) {
+    final int timeout =
+        AppSettings.get().getInt(AvailableAppSettings.APPLICATION_SEARCH_TIMEOUT, 30);
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+    final List<Future<List<?>>> futures = new ArrayList<>(queries.size());
+    for (SearchQuery query : queries) {
+      futures.add(
+          SearchExecutor.INSTANCE.submit(
+              ContextAware.of().<List<?>>build(() -> fetch(query, offset, deadline))));
+    }
+
+    final List<List<?>> results = new ArrayList<>(queries.size());
+
+    try {
+      for (int i = 0; i < futures.size(); i++) {
+        final Future<List<?>> future = futures.get(i);
+        try {
+          results.add(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+          LOG.warn("Search timed out for {}", queries.get(i).select().getModel());
+          future.cancel(true);
+          results.add(List.of());
+        } catch (ExecutionException e) {
+          final Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+          }
+          throw new PersistenceException(cause);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PersistenceException(e);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+
+    return results;
+  }
+
+  private static List<?> fetch(SearchQuery query, int offset, long deadline) {
+    final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    if (remaining <= 0) {
+      return List.of();
+    }
+    try {
+      // interrupting the worker doesn't stop the query, the database has to cancel it
+      return query
+          .selector()
+          .timeout((int) Math.min(remaining, Integer.MAX_VALUE))
+          .fetch(query.limit(), offset);
+    } catch (QueryTimeoutException e) {
+      LOG.warn("Search timed out for {}", query.select().getModel());
+      JPA.em().getTransaction().setRollbackOnly();
+      return List.of();
+    }
+  }
+
+  private record SearchQuery(Search.SearchSelect select, Selector selector, int limit) {}
+
   public Response getAttachment(long id, String model, Request request) {
     Response response = new Response();
     List<String> fields = request.getFields();
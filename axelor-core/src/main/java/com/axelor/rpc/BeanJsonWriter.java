@@ -0,0 +1,152 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.rpc;
+
+import com.axelor.db.EntityHelper;
+import com.axelor.db.Model;
+import com.axelor.db.ValueEnum;
+import com.axelor.db.mapper.Mapper;
+import com.axelor.db.mapper.Property;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Writes the records as json without building intermediate maps.
+ *
+ * <p>The output is the same as serializing the map of {@link Resource#toMap(Object, String...)}
+ * with all the fields: the references are written as compact maps with their {@code $version}, the
+ * custom enum values as {@code name$value} and the translations as {@code $t:name}.
+ */
+final class BeanJsonWriter {
+
+  private BeanJsonWriter() {}
+
+  /**
+   * Write the given record with all its fields.
+   *
+   * @param bean the record
+   * @param gen the json generator
+   * @param provider the serializer provider
+   * @throws IOException if the record can't be written
+   */
+  static void write(Object bean, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    if (bean == null) {
+      gen.writeNull();
+      return;
+    }
+    writeFull(EntityHelper.getEntity(bean), 0, gen, provider);
+  }
+
+  // a reference or a collection item, see Resource#_toMap
+  private static void writeNested(
+      Object bean, int level, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    bean = EntityHelper.getEntity(bean);
+    if (((Model) bean).getId() != null || level > 1) {
+      writeCompact(bean, gen, provider);
+    } else {
+      writeFull(bean, level, gen, provider);
+    }
+  }
+
+  private static void writeCompact(Object bean, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    final BeanMapPlan plan = BeanMapPlan.of(bean.getClass());
+    final Mapper mapper = plan.getMapper();
+    final Property pn = plan.getNameField();
+    final Property pc = plan.getCodeField();
+
+    gen.writeStartObject();
+    provider.defaultSerializeField("id", mapper.get(bean, "id"), gen);
+    provider.defaultSerializeField("$version", mapper.get(bean, "version"), gen);
+    if (pn != null) {
+      writeField(pn, mapper.get(bean, pn.getName()), gen, provider);
+    }
+    if (pc != null && (pn == null || !pc.getName().equals(pn.getName()))) {
+      writeField(pc, mapper.get(bean, pc.getName()), gen, provider);
+    }
+    gen.writeEndObject();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeFull(
+      Object bean, int level, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    final BeanMapPlan plan = BeanMapPlan.of(bean.getClass());
+    final Mapper mapper = plan.getMapper();
+
+    gen.writeStartObject();
+
+    for (final Property prop : plan.getProperties()) {
+      final String name = prop.getName();
+      Object value = mapper.get(bean, name);
+
+      if (name.equals("archived") && value == null) {
+        continue;
+      }
+
+      if (prop.isImage() && value instanceof byte[] bytes) {
+        value = new String(bytes);
+      }
+
+      // decimal values should be rounded accordingly otherwise the
+      // json mapper may use wrong scale.
+      if (value instanceof BigDecimal decimal) {
+        int scale = prop.getScale();
+        if (decimal.scale() == 0 && scale > 0 && scale != decimal.scale()) {
+          value = decimal.setScale(scale, RoundingMode.HALF_UP);
+        }
+      }
+
+      if (value instanceof Model) { // m2o
+        gen.writeFieldName(name);
+        writeNested(value, level + 1, gen, provider);
+        continue;
+      }
+
+      if (value instanceof Collection) { // o2m | m2m
+        gen.writeArrayFieldStart(name);
+        for (Model input : (Collection<Model>) value) {
+          if (input.getId() != null) {
+            writeNested(input, level + 1, gen, provider);
+          } else {
+            writeFull(EntityHelper.getEntity(input), 1, gen, provider);
+          }
+        }
+        gen.writeEndArray();
+        continue;
+      }
+
+      writeField(prop, value, gen, provider);
+
+      // include custom enum value
+      if (prop.isEnum() && value instanceof ValueEnum<?> valueEnum) {
+        String enumName = ((Enum<?>) value).name();
+        Object enumValue = valueEnum.getValue();
+        if (!Objects.equals(enumName, enumValue)) {
+          provider.defaultSerializeField(name + "$value", enumValue, gen);
+        }
+      }
+    }
+
+    gen.writeEndObject();
+  }
+
+  private static void writeField(
+      Property prop, Object value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    provider.defaultSerializeField(prop.getName(), value, gen);
+    if (prop.isTranslatable()) {
+      final String translation = Translator.translationOf(value);
+      if (translation != null) {
+        gen.writeStringField(Translator.toKey(prop.getName()), translation);
+      }
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.rpc;
+
+import com.axelor.db.mapper.Mapper;
+import com.axelor.db.mapper.Property;
+import com.axelor.db.mapper.PropertyType;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The properties of a bean class converted to a map by {@link Resource#toMap(Object, String...)}.
+ *
+ * <p>The plan is computed once per class, so that converting the records doesn't check the type
+ * and the name of every property of every record again.
+ */
+final class BeanMapPlan {
+
+  private static final LoadingCache<Class<?>, BeanMapPlan> PLAN_CACHE =
+      Caffeine.newBuilder().maximumSize(1000).weakKeys().build(BeanMapPlan::new);
+
+  // always included, even if not selected
+  private static final Set<String> ALWAYS = Set.of("id", "version", "archived");
+
+  private final Mapper mapper;
+
+  private final Property nameField;
+
+  private final Property codeField;
+
+  private final List<Property> always = new ArrayList<>();
+
+  private final List<Property> properties = new ArrayList<>();
+
+  private final Map<String, Property> selectable = new HashMap<>();
+
+  private BeanMapPlan(Class<?> beanClass) {
+    this.mapper = Mapper.of(beanClass);
+    this.nameField = mapper.getNameField();
+    this.codeField = mapper.getProperty("code");
+    for (Property property : mapper.getProperties()) {
+      if (property.getType() == PropertyType.BINARY || property.isPassword()) {
+        continue;
+      }
+      properties.add(property);
+      if (ALWAYS.contains(property.getName())) {
+        always.add(property);
+      } else {
+        selectable.put(property.getName(), property);
+      }
+    }
+  }
+
+  /**
+   * Get the plan of the given bean class.
+   *
+   * @param beanClass the bean class
+   * @return the plan
+   */
+  static BeanMapPlan of(Class<?> beanClass) {
+    return PLAN_CACHE.get(beanClass);
+  }
+
+  Mapper getMapper() {
+    return mapper;
+  }
+
+  Property getNameField() {
+    return nameField;
+  }
+
+  Property getCodeField() {
+    return codeField;
+  }
+
+  /**
+   * Get all the properties to convert.
+   *
+   * @return the properties to convert
+   */
+  Collection<Property> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Get the properties to convert.
+   *
+   * @param names the selected names, all the properties are converted if empty
+   * @return the properties to convert
+   */
+  Collection<Property> getProperties(Set<String> names) {
+    if (names.isEmpty()) {
+      return getProperties();
+    }
+    final List<Property> selected = new ArrayList<>(always.size() + names.size());
+    selected.addAll(always);
+    for (String name : names) {
+      final Property property = selectable.get(name);
+      if (property != null) {
+        selected.add(property);
+      }
+    }
+    return selected;
+  }
+}
@@ -301,7 +301,7 @@ public class Context extends SimpleBindings {
   public Object put(String name, Object value) {
     if (mapper.getSetter(name) == null || (isJsonRecord() && hasJsonField(name))) {
       if (isJsonName(name)) {
-        mapper.set(getTarget(), name, value);
+        mapper.setValue(getTarget(), name, value);
       }
       return tryJsonPut(name, value);
     }
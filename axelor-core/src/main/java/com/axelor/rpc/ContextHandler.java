@@ -146,10 +146,10 @@ public class ContextHandler<T> {
       // use managed instance
       final Object bean = JPA.em().find(property.getTarget(), id);
       if (map.containsKey(FIELD_CID)) {
-        Mapper.of(property.getTarget()).set(bean, FIELD_CID, map.get(FIELD_CID));
+        Mapper.of(property.getTarget()).setValue(bean, FIELD_CID, map.get(FIELD_CID));
       }
       if (map.containsKey(FIELD_SELECTED)) {
-        Mapper.of(property.getTarget()).set(bean, FIELD_SELECTED, map.get(FIELD_SELECTED));
+        Mapper.of(property.getTarget()).setValue(bean, FIELD_SELECTED, map.get(FIELD_SELECTED));
       }
       return bean;
     }
@@ -191,7 +191,7 @@ public class ContextHandler<T> {
 
     // prevent automatic association handling
     // causing detached entity exception
-    mapper.set(bean, property.getName(), value);
+    mapper.setValue(bean, property.getName(), value);
 
     validated.add(property.getName());
   }
@@ -366,7 +366,7 @@ public class ContextHandler<T> {
         .flatMap(p -> beanMapper.getComputeDependencies(p).stream())
         .filter(n -> !validated.contains(n))
         .distinct()
-        .forEach(n -> beanMapper.set(bean, n, beanMapper.get(managed, n)));
+        .forEach(n -> beanMapper.setValue(bean, n, beanMapper.get(managed, n)));
 
     // make sure to have version value
     if (bean instanceof Model model && !values.containsKey(FIELD_VERSION)) {
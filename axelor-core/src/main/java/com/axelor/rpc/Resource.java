@@ -63,6 +63,8 @@ import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.OptimisticLockException;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -117,6 +119,24 @@ public class Resource<T extends Model> {
 
   private static final Pattern NAME_PATTERN = Pattern.compile("[\\w\\.]+");
 
+  private static final int ID_BATCH_SIZE = 1000;
+
+  // whether the repository keeps the default populate, see #isStreamable
+  private static final ClassValue<Boolean> DEFAULT_POPULATE =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          try {
+            return type.getMethod("populate", Map.class, Map.class).getDeclaringClass()
+                    == JpaRepository.class
+                && type.getMethod("populateAll", List.class, Map.class).getDeclaringClass()
+                    == Repository.class;
+          } catch (NoSuchMethodException e) {
+            return false;
+          }
+        }
+      };
+
   private static final Set<String> USER_RESTRICTED_FIELDS =
       Set.of(
           "code",
@@ -395,6 +415,22 @@ public class Resource<T extends Model> {
     return query;
   }
 
+  /**
+   * Get the query of the request restricted to the records on which all the given accesses are
+   * permitted, so that conditional permissions are verified by the query itself.
+   */
+  private Query<?> getPermittedQuery(Request request, AccessType... types) {
+    final JpaSecurity jpaSecurity = security.get();
+    final List<Filter> filters = new ArrayList<>();
+    for (AccessType type : types) {
+      final Filter filter = jpaSecurity.getFilter(type, model);
+      if (filter != null) {
+        filters.add(filter);
+      }
+    }
+    return getQuery(request, filters.isEmpty() ? null : Filter.and(filters));
+  }
+
   private Query<?> getSearchQuery(Request request, Filter filter) {
     if (filter == null) return getQuery(request);
     return getQuery(request, filter);
@@ -513,7 +549,17 @@ public class Resource<T extends Model> {
     LOG.debug("Records found: {}", data.size());
 
     final Repository repo = JpaRepository.of(model);
-    final List<Object> jsonData = new ArrayList<>();
+
+    // write the records straight to json when nothing needs their maps
+    if (request.getFields() == null && isStreamable(request, repo)) {
+      response.setData(new StreamedRecords(data, model));
+      response.setOffset(offset);
+      response.setStatus(Response.STATUS_SUCCESS);
+      return response;
+    }
+
+    final List<Object> jsonData = new ArrayList<>(data.size());
+    final List<Map<String, Object>> records = new ArrayList<>(data.size());
 
     final JpaSecurity jpaSecurity = security.get();
     for (Object item : data) {
@@ -526,12 +572,22 @@ public class Resource<T extends Model> {
         if (User.class.isAssignableFrom(model)) {
           map.remove("password");
         }
-        item = repo.populate(map, request.getContext());
-        Translator.applyTranslatables(map, model);
+        records.add(map);
       }
       jsonData.add(item);
     }
 
+    // populate the whole page at once, so that repositories can batch their lookups
+    if (!records.isEmpty()) {
+      final List<Map<String, Object>> populated = repo.populateAll(records, request.getContext());
+      for (int i = 0, j = 0; i < jsonData.size(); i++) {
+        if (jsonData.get(i) instanceof Map) {
+          jsonData.set(i, populated.get(j));
+          Translator.applyTranslatables(records.get(j++), model);
+        }
+      }
+    }
+
     try {
       // check for children (used by tree view)
       doChildCount(request, jsonData);
@@ -547,6 +603,28 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /**
+   * Check whether the search records can be serialized without building their maps.
+   *
+   * <p>The maps are required if the repository populates them, if an observer of the search
+   * request may read them, if some fields must be hidden or if the child records are counted.
+   */
+  @SuppressWarnings("all")
+  private boolean isStreamable(Request request, Repository<?> repo) {
+    if (User.class.isAssignableFrom(model) || !DEFAULT_POPULATE.get(repo.getClass())) {
+      return false;
+    }
+    if (postRequest
+        .select(NamedLiteral.of(RequestEvent.SEARCH), EntityTypes.type(model))
+        .isObserved()) {
+      return false;
+    }
+    final Map<String, Object> data = request.getData();
+    final Object context = data == null ? null : data.get("_domainContext");
+    return !(context instanceof Map map)
+        || (map.get("_childOn") == null && map.get("_countOn") == null);
+  }
+
   @SuppressWarnings("all")
   private void doChildCount(Request request, List<?> result)
       throws NullPointerException, ClassCastException {
@@ -678,21 +756,7 @@ public class Resource<T extends Model> {
   }
 
   public Response export(Request request, Charset charset, Locale locale, char separator) {
-    security.get().check(JpaSecurity.CAN_READ, model);
-    security.get().check(JpaSecurity.CAN_EXPORT, model);
-
-    if (MFA.class.isAssignableFrom(model) || UserToken.class.isAssignableFrom(model)) {
-      final AuthSecurityException cause = new AuthSecurityException(AccessType.EXPORT, model);
-      throw new UnauthorizedException(cause.getMessage(), cause);
-    }
-
-    if (LOG.isTraceEnabled()) {
-      LOG.trace("Exporting '{}' with {}", model.getName(), request.getData());
-    } else {
-      LOG.debug("Exporting '{}'", model.getName());
-    }
-
-    firePreRequestEvent(RequestEvent.EXPORT, request);
+    prepareExport(request);
 
     final Response response = new Response();
     final Map<String, Object> data = new HashMap<>();
@@ -718,6 +782,56 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /**
+   * Export the records as CSV, written directly to the output as records are fetched.
+   *
+   * <p>Unlike {@link #export(Request, Charset, Locale, char)}, no temporary file is created and
+   * only one page of records is held in memory at a time. The permissions are checked immediately,
+   * the records are exported when the returned output is written.
+   *
+   * @param request the export request
+   * @param charset the charset of the CSV output
+   * @param locale the locale used to format values
+   * @param separator the CSV separator
+   * @return the streaming output writing the CSV content
+   */
+  public StreamingOutput exportStream(
+      Request request, Charset charset, Locale locale, char separator) {
+    prepareExport(request);
+
+    return output -> {
+      final Writer writer = new BufferedWriter(new OutputStreamWriter(output, charset));
+      if (StandardCharsets.UTF_8.equals(charset)) {
+        writer.write('\ufeff');
+      }
+
+      final int size = export(request, writer, locale, separator);
+      writer.flush();
+
+      final Response response = new Response();
+      response.setData(Map.of("exportSize", size));
+      firePostRequestEvent(RequestEvent.EXPORT, request, response);
+    };
+  }
+
+  private void prepareExport(Request request) {
+    security.get().check(JpaSecurity.CAN_READ, model);
+    security.get().check(JpaSecurity.CAN_EXPORT, model);
+
+    if (MFA.class.isAssignableFrom(model) || UserToken.class.isAssignableFrom(model)) {
+      final AuthSecurityException cause = new AuthSecurityException(AccessType.EXPORT, model);
+      throw new UnauthorizedException(cause.getMessage(), cause);
+    }
+
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Exporting '{}' with {}", model.getName(), request.getData());
+    } else {
+      LOG.debug("Exporting '{}'", model.getName());
+    }
+
+    firePreRequestEvent(RequestEvent.EXPORT, request);
+  }
+
   private static final Set<String> EXCLUDED_EXPORT_TYPES =
       Set.of("panel", "button", "label", "spacer", "separator");
 
@@ -897,14 +1011,13 @@ public class Resource<T extends Model> {
 
     int limit =
         EXPORT_MAX_SIZE > 0 ? Math.min(EXPORT_FETCH_SIZE, EXPORT_MAX_SIZE) : EXPORT_FETCH_SIZE;
-    int offset = 0;
     int count = 0;
 
     request.setTranslate(false);
-    Query<?> query = getQuery(request);
+    Query<?> query = getPermittedQuery(request, JpaSecurity.CAN_READ, JpaSecurity.CAN_EXPORT);
     Query<?>.Selector selector = query.select(names.toArray(new String[0]));
 
-    List<Map> data = selector.fetch(limit, offset);
+    List<Map> data = selector.fetchNext(limit);
 
     final L10n formatter = L10n.getInstance(locale);
 
@@ -950,6 +1063,8 @@ public class Resource<T extends Model> {
         writer.write(Joiner.on(separator).join(line));
       }
 
+      // let streamed exports send each page as soon as it is written
+      writer.flush();
       count += data.size();
 
       int nextLimit = limit;
@@ -960,8 +1075,7 @@ public class Resource<T extends Model> {
         nextLimit = Math.min(limit, EXPORT_MAX_SIZE - count);
       }
 
-      offset += limit;
-      data = selector.fetch(nextLimit, offset);
+      data = selector.fetchNext(nextLimit);
     }
 
     Response response = new Response();
@@ -1529,7 +1643,7 @@ public class Resource<T extends Model> {
     Response response = new Response();
     MetaPermissions perms = Beans.get(MetaPermissions.class);
 
-    Query<?> query = getQuery(request);
+    Query<?> query = getPermittedQuery(request, JpaSecurity.CAN_READ, JpaSecurity.CAN_WRITE);
     List<?> data = request.getRecords();
 
     LOG.debug("JPQL: {}", query);
@@ -1618,18 +1732,26 @@ public class Resource<T extends Model> {
     JPA.runInTransaction(
         () -> {
           final List<Model> entities = new ArrayList<>();
+          final List<Long> ids = new ArrayList<>();
 
           for (Object record : records) {
-            Map map = (Map) record;
-            Long id = Longs.tryParse(map.get("id").toString());
+            ids.add(Longs.tryParse(((Map) record).get("id").toString()));
+          }
+
+          security.get().check(JpaSecurity.CAN_REMOVE, model, ids);
+
+          final Map<Long, Model> beans = findAll(ids);
+
+          for (int i = 0; i < records.size(); i++) {
+            Map map = (Map) records.get(i);
+            Long id = ids.get(i);
             Integer version = null;
             try {
               version = Ints.tryParse(map.get("version").toString());
             } catch (Exception e) {
             }
 
-            security.get().check(JpaSecurity.CAN_REMOVE, model, id);
-            Model bean = JPA.find(model, id);
+            Model bean = id == null ? null : beans.get(id);
 
             if (bean == null || (version != null && !Objects.equals(version, bean.getVersion()))) {
               throw new OptimisticLockException(new StaleObjectStateException(model.getName(), id));
@@ -1657,6 +1779,23 @@ public class Resource<T extends Model> {
     return response;
   }
 
+  /**
+   * Find the records with the given ids, with a query per batch of ids instead of one per record.
+   *
+   * @param ids the record ids
+   * @return the found records by id
+   */
+  private Map<Long, Model> findAll(List<Long> ids) {
+    final Map<Long, Model> beans = new HashMap<>();
+    final List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+    for (List<Long> batch : Lists.partition(distinct, ID_BATCH_SIZE)) {
+      for (Model bean : JPA.all(model).filter("self.id IN (:ids)").bind("ids", batch).fetch()) {
+        beans.put(bean.getId(), bean);
+      }
+    }
+    return beans;
+  }
+
   private void fixLinks(Object bean) {
     if (bean == null) return;
     final Mapper mapper = Mapper.of(EntityHelper.getEntityClass(bean));
@@ -1915,21 +2054,21 @@ public class Resource<T extends Model> {
     bean = EntityHelper.getEntity(bean);
 
     if (fields == null) {
-      fields = new HashMap<>();
+      fields = Collections.emptyMap();
     }
 
-    Map<String, Object> result = new HashMap<>();
-    Mapper mapper = Mapper.of(bean.getClass());
+    final BeanMapPlan plan = BeanMapPlan.of(bean.getClass());
+    final Mapper mapper = plan.getMapper();
 
     boolean isSaved = ((Model) bean).getId() != null;
     boolean isCompact = compact || fields.containsKey("$version");
 
-    final Set<Property> translatables = new HashSet<>();
-
     if ((isCompact && isSaved) || (isSaved && level >= 1) || (level > 1)) {
 
-      Property pn = mapper.getNameField();
-      Property pc = mapper.getProperty("code");
+      Property pn = plan.getNameField();
+      Property pc = plan.getCodeField();
+
+      Map<String, Object> result = HashMap.newHashMap(fields.size() + 6);
 
       result.put("id", mapper.get(bean, "id"));
       result.put("$version", mapper.get(bean, "version"));
@@ -1954,29 +2093,21 @@ public class Resource<T extends Model> {
           child = _toMap(child, (Map) fields.get(name), true, level + 1);
         }
         result.put(name, child);
-        Optional.ofNullable(mapper.getProperty(name))
-            .filter(Property::isTranslatable)
-            .ifPresent(property -> Translator.translate(result, property));
+        Property property = mapper.getProperty(name);
+        if (property != null && property.isTranslatable()) {
+          Translator.translate(result, property);
+        }
       }
       return result;
     }
 
-    for (final Property prop : mapper.getProperties()) {
+    final Collection<Property> properties =
+        plan.getProperties(isSaved ? fields.keySet() : Collections.emptySet());
+    final Map<String, Object> result = HashMap.newHashMap(properties.size() + 4);
 
-      String name = prop.getName();
-      PropertyType type = prop.getType();
-
-      if (type == PropertyType.BINARY || prop.isPassword()) {
-        continue;
-      }
-
-      if (isSaved
-          && !name.matches("id|version|archived")
-          && !fields.isEmpty()
-          && !fields.containsKey(name)) {
-        continue;
-      }
+    for (final Property prop : properties) {
 
+      String name = prop.getName();
       Object value = mapper.get(bean, name);
 
       if (name.equals("archived") && value == null) {
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.rpc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The search result records written straight to the json generator.
+ *
+ * <p>The records are kept as entities and serialized with {@link BeanJsonWriter}. If the list is
+ * accessed before serialization, the records are converted to maps once, the same way as {@link
+ * Resource#toMap(Object, String...)}, and the maps are serialized instead so that changes made to
+ * them are kept.
+ */
+@JsonSerialize(using = StreamedRecords.Serializer.class)
+final class StreamedRecords extends AbstractList<Object> {
+
+  static class Serializer extends JsonSerializer<StreamedRecords> {
+
+    @Override
+    public void serialize(StreamedRecords value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      if (value.records != null) {
+        provider.defaultSerializeValue(value.records, gen);
+        return;
+      }
+      gen.writeStartArray();
+      for (Object bean : value.beans) {
+        BeanJsonWriter.write(bean, gen, provider);
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  private final List<?> beans;
+
+  private final Class<?> model;
+
+  private List<Object> records;
+
+  StreamedRecords(List<?> beans, Class<?> model) {
+    this.beans = beans;
+    this.model = model;
+  }
+
+  private List<Object> records() {
+    if (records == null) {
+      final List<Object> items = new ArrayList<>(beans.size());
+      for (Object bean : beans) {
+        final Map<String, Object> map = Resource.toMap(bean);
+        if (map != null) {
+          Translator.applyTranslatables(map, model);
+        }
+        items.add(map);
+      }
+      records = items;
+    }
+    return records;
+  }
+
+  boolean isStreamed() {
+    return records == null;
+  }
+
+  @Override
+  public Object get(int index) {
+    return records().get(index);
+  }
+
+  @Override
+  public int size() {
+    return records == null ? beans.size() : records.size();
+  }
+
+  @Override
+  public Object set(int index, Object element) {
+    return records().set(index, element);
+  }
+
+  @Override
+  public void add(int index, Object element) {
+    records().add(index, element);
+    modCount++;
+  }
+
+  @Override
+  public Object remove(int index) {
+    modCount++;
+    return records().remove(index);
+  }
+}
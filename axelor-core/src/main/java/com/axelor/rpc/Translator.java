@@ -35,7 +35,7 @@ final class Translator {
     return "value:" + name;
   }
 
-  private static String toKey(String name) {
+  static String toKey(String name) {
     return "$t:" + name;
   }
 
@@ -59,14 +59,28 @@ final class Translator {
   }
 
   static Map<String, Object> translate(Map<String, Object> values, String name) {
-    Object value = values.get(name);
+    String val = translationOf(values.get(name));
+    if (val != null) {
+      values.put(toKey(name), val);
+    }
+    return values;
+  }
+
+  /**
+   * Get the translation of the given field value.
+   *
+   * @param value the field value
+   * @return the translated value, or null if not a translated string
+   */
+  @Nullable
+  static String translationOf(Object value) {
     if (value instanceof String string) {
-      Object val = getTranslation(string);
+      String val = getTranslation(string);
       if (!Objects.equals(val, value)) {
-        values.put(toKey(name), val);
+        return val;
       }
     }
-    return values;
+    return null;
   }
 
   static void applyTranslatables(Map<String, Object> values, Class<?> model) {
@@ -11,26 +11,58 @@ import com.axelor.db.ValueEnum;
 import com.axelor.inject.Beans;
 import com.axelor.rpc.Context;
 import com.axelor.rpc.ContextEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.primitives.Ints;
 import jakarta.el.BeanELResolver;
+import jakarta.el.BeanNameELResolver;
+import jakarta.el.BeanNameResolver;
+import jakarta.el.CompositeELResolver;
 import jakarta.el.ELClass;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
-import jakarta.el.ELProcessor;
+import jakarta.el.ELManager;
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.FunctionMapper;
 import jakarta.el.ImportHandler;
 import jakarta.el.MapELResolver;
 import jakarta.el.MethodNotFoundException;
+import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import javax.script.Bindings;
 
 public class ELScriptHelper extends AbstractScriptHelper {
 
-  private ELProcessor processor;
-
   private static final ScriptPolicy SCRIPT_POLICY = ScriptPolicy.getInstance();
 
-  class ClassResolver extends MapELResolver {
+  private static final int EXPRESSION_CACHE_SIZE = 1000;
+
+  private static final ExpressionFactory FACTORY = ELManager.getExpressionFactory();
+
+  private static final String[] IMPORT_PACKAGES = {
+    "java.util", "java.time",
+  };
+
+  private static final String[] IMPORT_CLASSES = {
+    "com.axelor.db.Model", "com.axelor.db.Query", "com.axelor.db.Repository",
+  };
+
+  // resolvers, functions and imports are shared, only the bindings change between evaluations
+  private static final ELResolver RESOLVER;
+
+  private static final FunctionMapper FUNCTIONS;
+
+  // parsed expressions don't depend on the bindings, they are shared by all the evaluations
+  private static final Cache<String, ValueExpression> EXPRESSIONS =
+      Caffeine.newBuilder().maximumSize(EXPRESSION_CACHE_SIZE).build();
+
+  static class ClassResolver extends MapELResolver {
 
     private static final String FIELD_CLASS = "class";
 
@@ -74,11 +106,11 @@ public class ELScriptHelper extends AbstractScriptHelper {
     public void setValue(ELContext context, Object base, Object property, Object value) {}
   }
 
-  class ContextResolver extends MapELResolver {
+  static class ContextResolver extends MapELResolver {
 
     @Override
     public Object getValue(ELContext context, Object base, Object property) {
-      final Bindings bindings = getBindings();
+      final Bindings bindings = (Bindings) context.getContext(Bindings.class);
       if (bindings == null || base != null) {
         return null;
       }
@@ -101,7 +133,7 @@ public class ELScriptHelper extends AbstractScriptHelper {
     }
   }
 
-  class BeanResolver extends BeanELResolver {
+  static class BeanResolver extends BeanELResolver {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
@@ -247,43 +279,139 @@ public class ELScriptHelper extends AbstractScriptHelper {
     }
   }
 
-  public ELScriptHelper(Bindings bindings) {
+  /** The evaluation context of an expression. */
+  private static final class ScriptContext extends ELContext {
+
+    private final CompositeELResolver resolver = new CompositeELResolver();
+
+    private final VariableMapper variables = new Variables();
+
+    private ImportHandler importHandler;
 
-    this.processor = new ELProcessor();
-    this.processor.getELManager().addELResolver(new ClassResolver());
-    this.processor.getELManager().addELResolver(new ContextResolver());
-    this.processor.getELManager().addELResolver(new BeanResolver());
-
-    final String className = Helpers.class.getName();
-
-    try {
-      this.processor.defineFunction("", "as", className, "as");
-      this.processor.defineFunction("", "is", className, "is");
-      this.processor.defineFunction("", "int", className, "toInt");
-      this.processor.defineFunction("", "str", className, "text");
-      this.processor.defineFunction("", "imp", className, "importClass");
-      this.processor.defineFunction("", "T", className, "importClass");
-      this.processor.defineFunction("", "__repo__", className, "repo");
-      this.processor.defineFunction("", "__bean__", className, "bean");
-      this.processor.defineFunction("fmt", "text", className, "formatText");
-    } catch (Exception e) {
+    private ScriptContext(Bindings bindings) {
+      // variables assigned by the expression are local to the evaluation
+      resolver.add(new BeanNameELResolver(new LocalBeans()));
+      resolver.add(RESOLVER);
+      if (bindings != null) {
+        putContext(Bindings.class, bindings);
+      }
     }
 
-    final String[] packages = {
-      "java.util", "java.time",
-    };
+    @Override
+    public ELResolver getELResolver() {
+      return resolver;
+    }
 
-    for (String pkg : packages) {
-      try {
-        this.processor.getELManager().importPackage(pkg);
-      } catch (Exception e) {
+    @Override
+    public FunctionMapper getFunctionMapper() {
+      return FUNCTIONS;
+    }
+
+    @Override
+    public VariableMapper getVariableMapper() {
+      return variables;
+    }
+
+    @Override
+    public ImportHandler getImportHandler() {
+      if (importHandler == null) {
+        importHandler = new ImportHandler();
+        for (String pkg : IMPORT_PACKAGES) {
+          importHandler.importPackage(pkg);
+        }
+        for (String name : IMPORT_CLASSES) {
+          importHandler.importClass(name);
+        }
       }
+      return importHandler;
     }
+  }
 
-    this.processor.getELManager().importClass("com.axelor.db.Model");
-    this.processor.getELManager().importClass("com.axelor.db.Query");
-    this.processor.getELManager().importClass("com.axelor.db.Repository");
+  private static final class Variables extends VariableMapper {
 
+    private final Map<String, ValueExpression> expressions = new HashMap<>();
+
+    @Override
+    public ValueExpression resolveVariable(String variable) {
+      return expressions.get(variable);
+    }
+
+    @Override
+    public ValueExpression setVariable(String variable, ValueExpression expression) {
+      return expression == null
+          ? expressions.remove(variable)
+          : expressions.put(variable, expression);
+    }
+  }
+
+  private static final class LocalBeans extends BeanNameResolver {
+
+    private final Map<String, Object> beans = new HashMap<>();
+
+    @Override
+    public boolean isNameResolved(String beanName) {
+      return beans.containsKey(beanName);
+    }
+
+    @Override
+    public Object getBean(String beanName) {
+      return beans.get(beanName);
+    }
+
+    @Override
+    public void setBeanValue(String beanName, Object value) {
+      beans.put(beanName, value);
+    }
+
+    @Override
+    public boolean isReadOnly(String beanName) {
+      return false;
+    }
+
+    @Override
+    public boolean canCreateBean(String beanName) {
+      return true;
+    }
+  }
+
+  static {
+    final ELManager manager = new ELManager();
+    manager.addELResolver(new ClassResolver());
+    manager.addELResolver(new ContextResolver());
+    manager.addELResolver(new BeanResolver());
+
+    final Map<String, Method> functions = new HashMap<>();
+    final Map<String, String> names = new LinkedHashMap<>();
+    names.put(":as", "as");
+    names.put(":is", "is");
+    names.put(":int", "toInt");
+    names.put(":str", "text");
+    names.put(":imp", "importClass");
+    names.put(":T", "importClass");
+    names.put(":__repo__", "repo");
+    names.put(":__bean__", "bean");
+    names.put("fmt:text", "formatText");
+
+    for (Map.Entry<String, String> entry : names.entrySet()) {
+      for (Method method : Helpers.class.getMethods()) {
+        if (method.getName().equals(entry.getValue()) && Modifier.isStatic(method.getModifiers())) {
+          functions.put(entry.getKey(), method);
+          break;
+        }
+      }
+    }
+
+    RESOLVER = manager.getELContext().getELResolver();
+    FUNCTIONS =
+        new FunctionMapper() {
+          @Override
+          public Method resolveFunction(String prefix, String localName) {
+            return functions.get(prefix + ":" + localName);
+          }
+        };
+  }
+
+  public ELScriptHelper(Bindings bindings) {
     this.setBindings(bindings);
   }
 
@@ -293,12 +421,10 @@ public class ELScriptHelper extends AbstractScriptHelper {
 
   @Override
   public Object eval(String expr, Bindings bindings) {
-    final Bindings current = getBindings();
-    try {
-      setBindings(bindings);
-      return processor.eval(expr);
-    } finally {
-      setBindings(current);
-    }
+    final ScriptContext context = new ScriptContext(bindings);
+    final ValueExpression expression =
+        EXPRESSIONS.get(
+            expr, key -> FACTORY.createValueExpression(context, "${" + key + "}", Object.class));
+    return expression.getValue(context);
   }
 }
@@ -4,7 +4,9 @@
  */
 package com.axelor.script;
 
+import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
+import com.axelor.common.StringUtils;
 import com.axelor.db.EntityHelper;
 import com.axelor.db.JpaRepository;
 import com.axelor.db.JpaScanner;
@@ -19,6 +21,7 @@ import groovy.lang.Script;
 import groovy.text.GStringTemplateEngine;
 import groovy.text.StreamingTemplateEngine;
 import java.lang.reflect.Executable;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
@@ -35,6 +38,7 @@ public class GroovyScriptSupport {
   private static int cacheExpireTime;
 
   private static final GroovyClassLoader GCL;
+  private static final ScriptClassCache CLASS_CACHE;
   private static final LoadingCache<String, Class<?>> SCRIPT_CACHE;
 
   private static final ScriptPolicy SCRIPT_POLICY;
@@ -122,17 +126,10 @@ public class GroovyScriptSupport {
     config.addCompilationCustomizers(astCustomizer);
     config.addCompilationCustomizers(astPropCustomizer);
 
-    try {
-      cacheSize =
-          Integer.parseInt(System.getProperty(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_SIZE));
-    } catch (Exception e) {
-    }
-    try {
-      cacheExpireTime =
-          Integer.parseInt(
-              System.getProperty(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_EXPIRE_TIME));
-    } catch (Exception e) {
-    }
+    final AppSettings settings = AppSettings.get();
+
+    cacheSize = settings.getInt(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_SIZE, 0);
+    cacheExpireTime = settings.getInt(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_EXPIRE_TIME, 0);
 
     if (cacheSize <= 0) {
       cacheSize = DEFAULT_CACHE_SIZE;
@@ -143,6 +140,15 @@ public class GroovyScriptSupport {
 
     GCL = new GroovyClassLoader(JpaScanner.getClassLoader(), config);
 
+    final String cacheDir =
+        settings.getPath(AvailableAppSettings.APPLICATION_SCRIPT_CACHE_DIR, null);
+    CLASS_CACHE =
+        new ScriptClassCache(
+            config,
+            GCL,
+            JpaScanner.getClassLoader(),
+            StringUtils.isBlank(cacheDir) ? null : Path.of(cacheDir));
+
     SCRIPT_POLICY = ScriptPolicy.getInstance();
 
     SCRIPT_CACHE =
@@ -152,7 +158,7 @@ public class GroovyScriptSupport {
             .build(
                 code -> {
                   try {
-                    return GCL.parseClass(code);
+                    return CLASS_CACHE.load(code);
                   } finally {
                     GCL.clearCache();
                   }
@@ -168,6 +174,20 @@ public class GroovyScriptSupport {
     }
   }
 
+  /**
+   * Compile the given script ahead of its first use.
+   *
+   * @param script the script to compile
+   * @throws IllegalArgumentException if the script can't be compiled
+   */
+  public static void compile(String script) {
+    try {
+      SCRIPT_CACHE.get(script);
+    } catch (Exception e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
   public static GStringTemplateEngine createStringTemplateEngine() {
     return new AxelorGStringTemplateEngine(JpaScanner.getClassLoader(), config);
   }
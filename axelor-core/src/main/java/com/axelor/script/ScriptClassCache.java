@@ -0,0 +1,253 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.script;
+
+import com.axelor.common.VersionUtils;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles Groovy scripts and keeps the generated bytecode in a local directory.
+ *
+ * <p>The bytecode of a script is stored in a file named after the hash of its source, under a
+ * directory named after the platform and Groovy versions and a hash of the compiler configuration
+ * and of its AST transformations, so that restarts and other nodes sharing the directory load the
+ * classes instead of compiling the scripts again.
+ *
+ * <p>The cached classes are loaded without any further check, so the directory must only be
+ * writable by the application.
+ */
+final class ScriptClassCache {
+
+  private static final Logger log = LoggerFactory.getLogger(ScriptClassCache.class);
+
+  private static final int MAGIC = 0x41584753;
+
+  private static final String CLASS_PREFIX = "Script_";
+
+  private final CompilerConfiguration config;
+
+  private final GroovyClassLoader compileLoader;
+
+  private final ClassLoader parent;
+
+  private final Path directory;
+
+  /**
+   * Create a script class cache.
+   *
+   * @param config the compiler configuration
+   * @param compileLoader the class loader used to resolve classes at compile time
+   * @param parent the parent class loader of the script classes
+   * @param directory the cache directory, or null to not persist the bytecode
+   */
+  ScriptClassCache(
+      CompilerConfiguration config,
+      GroovyClassLoader compileLoader,
+      ClassLoader parent,
+      Path directory) {
+    this.config = config;
+    this.compileLoader = compileLoader;
+    this.parent = parent;
+    this.directory =
+        directory == null
+            ? null
+            : directory.resolve(
+                "%s-groovy-%s-%s"
+                    .formatted(
+                        VersionUtils.getVersion().version,
+                        GroovySystem.getVersion(),
+                        fingerprint(config)));
+  }
+
+  /**
+   * Compute a hash of the compiler configuration and of the AST transformations it applies.
+   *
+   * <p>The bytecode of the transformations is included, so that changing them without changing the
+   * platform version, as with snapshot builds, doesn't reuse the classes they generated before.
+   *
+   * @param config the compiler configuration
+   * @return the hash
+   */
+  static String fingerprint(CompilerConfiguration config) {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(String.valueOf(config.getTargetBytecode()), StandardCharsets.UTF_8);
+    hasher.putString(String.valueOf(config.getScriptBaseClass()), StandardCharsets.UTF_8);
+    hasher.putString(String.valueOf(config.getSourceEncoding()), StandardCharsets.UTF_8);
+    hasher.putBoolean(config.getParameters());
+    new TreeMap<>(config.getOptimizationOptions())
+        .forEach((key, value) -> hasher.putString(key + "=" + value, StandardCharsets.UTF_8));
+    for (CompilationCustomizer customizer : config.getCompilationCustomizers()) {
+      hasher.putString(customizer.getClass().getName(), StandardCharsets.UTF_8);
+      if (customizer instanceof ASTTransformationCustomizer ast
+          && ast.getTransformation() != null) {
+        putClass(hasher, ast.getTransformation().getClass());
+      }
+    }
+    return hasher.hash().toString().substring(0, 16);
+  }
+
+  private static void putClass(Hasher hasher, Class<?> klass) {
+    hasher.putString(klass.getName(), StandardCharsets.UTF_8);
+    final String resource = klass.getName().replace('.', '/') + ".class";
+    try (InputStream in = klass.getClassLoader().getResourceAsStream(resource)) {
+      if (in != null) {
+        hasher.putBytes(in.readAllBytes());
+      }
+    } catch (IOException e) {
+      log.warn("Unable to read class file: {}", resource, e);
+    }
+  }
+
+  /**
+   * Get the class of the given script, compiling it if it's not found in the cache directory.
+   *
+   * @param code the script source
+   * @return the script class
+   * @throws ClassNotFoundException if the script class can't be loaded
+   */
+  Class<?> load(String code) throws ClassNotFoundException {
+    final String hash = Hashing.sha256().hashString(code, StandardCharsets.UTF_8).toString();
+    final String name = CLASS_PREFIX + hash;
+
+    Map<String, byte[]> classes = read(hash);
+    if (classes == null) {
+      classes = compile(name, code);
+      write(hash, classes);
+    }
+
+    return new ScriptLoader(parent, classes).loadClass(name);
+  }
+
+  private Map<String, byte[]> compile(String name, String code) {
+    final CompilationUnit unit = new CompilationUnit(config, null, compileLoader);
+    unit.addSource(name + ".groovy", code);
+    unit.compile(Phases.CLASS_GENERATION);
+
+    final Map<String, byte[]> classes = new LinkedHashMap<>();
+    for (GroovyClass klass : unit.getClasses()) {
+      classes.put(klass.getName(), klass.getBytes());
+    }
+    return classes;
+  }
+
+  private Path file(String hash) {
+    return directory.resolve(hash.substring(0, 2)).resolve(hash + ".bin");
+  }
+
+  private Map<String, byte[]> read(String hash) {
+    if (directory == null) {
+      return null;
+    }
+
+    final Path file = file(hash);
+    try (InputStream is = Files.newInputStream(file);
+        DataInputStream in = new DataInputStream(is)) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Invalid script cache file: " + file);
+      }
+      final int count = in.readInt();
+      final Map<String, byte[]> classes = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        final String name = in.readUTF();
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        classes.put(name, bytes);
+      }
+      return classes;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      log.warn("Unable to read script cache file: {}", file, e);
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException ex) {
+        // ignore
+      }
+      return null;
+    }
+  }
+
+  private void write(String hash, Map<String, byte[]> classes) {
+    if (directory == null) {
+      return;
+    }
+
+    final Path file = file(hash);
+    Path temp = null;
+    try {
+      Files.createDirectories(file.getParent());
+      temp = Files.createTempFile(file.getParent(), hash, ".tmp");
+      try (OutputStream os = Files.newOutputStream(temp);
+          DataOutputStream out = new DataOutputStream(os)) {
+        out.writeInt(MAGIC);
+        out.writeInt(classes.size());
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+          out.writeUTF(entry.getKey());
+          out.writeInt(entry.getValue().length);
+          out.write(entry.getValue());
+        }
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      log.warn("Unable to write script cache file: {}", file, e);
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ex) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  /** Class loader of the classes generated for one script. */
+  private static final class ScriptLoader extends ClassLoader {
+
+    private final Map<String, byte[]> classes;
+
+    private ScriptLoader(ClassLoader parent, Map<String, byte[]> classes) {
+      super(parent);
+      this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      final byte[] bytes = classes.get(name);
+      if (bytes == null) {
+        throw new ClassNotFoundException(name);
+      }
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
@@ -16,6 +16,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 class ScriptPolicy {
 
@@ -71,14 +73,30 @@ class ScriptPolicy {
     Class.class, System.class, Process.class, ProcessBuilder.class, Thread.class, Properties.class
   };
 
-  private final List<String> allowPackages;
+  private final List<Predicate<String>> allowPackages;
   private final List<Class<?>> allowClasses;
 
-  private final List<String> denyPackages;
+  private final List<Predicate<String>> denyPackages;
   private final List<Class<?>> denyClasses;
 
   private final long timeout;
 
+  private final LongAdder checks = new LongAdder();
+  private final LongAdder evaluations = new LongAdder();
+
+  // when the checks started being counted
+  private final long startTime = System.nanoTime();
+
+  // the rules can't change after configuration, so the verdict of a class never changes
+  private final ClassValue<Boolean> verdicts =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          evaluations.increment();
+          return evaluate(type);
+        }
+      };
+
   private ScriptPolicy() {
     List<String> initialAllowPackages = new ArrayList<>();
     List<Class<?>> initialAllowClasses = new ArrayList<>();
@@ -96,9 +114,9 @@ class ScriptPolicy {
     Collections.addAll(initialDenyClasses, DENY_CLASSES);
 
     // Unmodifiable rules after configuration
-    allowPackages = List.copyOf(initialAllowPackages);
+    allowPackages = initialAllowPackages.stream().map(ScriptPolicy::matcher).toList();
     allowClasses = List.copyOf(initialAllowClasses);
-    denyPackages = List.copyOf(initialDenyPackages);
+    denyPackages = initialDenyPackages.stream().map(ScriptPolicy::matcher).toList();
     denyClasses = List.copyOf(initialDenyClasses);
 
     timeout =
@@ -120,28 +138,63 @@ class ScriptPolicy {
     throw new ScriptPolicyException(String.format("Class '%s' not allowed.", type.getName()));
   }
 
-  private boolean match(String pattern, String pkg) {
+  /**
+   * Get the number of class checks since startup.
+   *
+   * @return the number of checks
+   */
+  long getCheckCount() {
+    return checks.sum();
+  }
+
+  /**
+   * Get the number of classes evaluated against the rules since startup.
+   *
+   * <p>Other checks reuse the verdict of an already evaluated class.
+   *
+   * @return the number of evaluated classes
+   */
+  long getEvaluationCount() {
+    return evaluations.sum();
+  }
+
+  /**
+   * Get the time the checks started being counted.
+   *
+   * @return the start time, as given by {@link System#nanoTime()}
+   */
+  long getStartTime() {
+    return startTime;
+  }
+
+  private static Predicate<String> matcher(String pattern) {
     // wild-card package?
     if (pattern.endsWith(".*")) {
-      return pkg.replace(pattern.substring(0, pattern.length() - 1), "").split("\\.").length == 1
-          || pkg.equals(pattern.substring(0, pattern.length() - 2));
+      final String prefix = pattern.substring(0, pattern.length() - 1);
+      final String base = pattern.substring(0, pattern.length() - 2);
+      return pkg -> pkg.equals(base) || pkg.replace(prefix, "").indexOf('.') < 0;
     }
     // exact match
-    return pattern.equals(pkg);
+    return pattern::equals;
   }
 
   public boolean allowed(Class<?> klass) {
+    checks.increment();
+    return verdicts.get(klass);
+  }
+
+  private boolean evaluate(Class<?> klass) {
     String pkg = klass.getPackageName();
     Class<?> cls = getTopClass(klass);
 
     if (denyClasses.stream().anyMatch(x -> x.isAssignableFrom(cls))
-        || denyPackages.stream().anyMatch(x -> match(x, pkg))) {
+        || denyPackages.stream().anyMatch(x -> x.test(pkg))) {
       return false;
     }
 
     if (isAnnotationPresent(cls, ScriptAllowed.class)
         || allowClasses.stream().anyMatch(x -> x.isAssignableFrom(cls))
-        || allowPackages.stream().anyMatch(x -> match(x, pkg))) {
+        || allowPackages.stream().anyMatch(x -> x.test(pkg))) {
       return true;
     }
 
@@ -0,0 +1,48 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.script;
+
+/**
+ * Statistics of the script policy checks.
+ *
+ * <p>The counters are cumulative since startup; the rate over a period is the difference between
+ * two samples divided by the elapsed time.
+ */
+public final class ScriptPolicyStats {
+
+  private ScriptPolicyStats() {}
+
+  /**
+   * Get the number of classes checked by scripts since startup.
+   *
+   * @return the number of checks
+   */
+  public static long getCheckCount() {
+    return ScriptPolicy.getInstance().getCheckCount();
+  }
+
+  /**
+   * Get the number of classes evaluated against the policy rules since startup.
+   *
+   * <p>The verdict of a class is computed once, and reused by the next checks of that class.
+   *
+   * @return the number of evaluated classes
+   */
+  public static long getEvaluationCount() {
+    return ScriptPolicy.getInstance().getEvaluationCount();
+  }
+
+  /**
+   * Get the average number of checks per second since the checks started being counted, when the
+   * script policy was created.
+   *
+   * @return the average checks per second
+   */
+  public static double getChecksPerSecond() {
+    final ScriptPolicy policy = ScriptPolicy.getInstance();
+    final double seconds = (System.nanoTime() - policy.getStartTime()) / 1_000_000_000d;
+    return seconds <= 0 ? 0 : policy.getCheckCount() / seconds;
+  }
+}
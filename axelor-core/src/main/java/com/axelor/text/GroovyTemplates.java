@@ -6,6 +6,8 @@ package com.axelor.text;
 
 import com.axelor.app.AppSettings;
 import com.axelor.app.AvailableAppSettings;
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
 import com.axelor.common.FileUtils;
 import com.axelor.common.ResourceUtils;
 import com.axelor.common.StringUtils;
@@ -15,6 +17,8 @@ import com.axelor.db.mapper.Mapper;
 import com.axelor.script.GroovyScriptSupport;
 import com.axelor.script.GroovyScriptSupport.PolicyChecker;
 import com.axelor.script.ScriptBindings;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
 import com.google.common.io.CharStreams;
 import groovy.text.TemplateEngine;
 import java.io.File;
@@ -24,6 +28,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Writer;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -43,6 +48,43 @@ public class GroovyTemplates implements Templates {
       AppSettings.get().getPath(AvailableAppSettings.TEMPLATE_SEARCH_DIR, DEFAULT_TEMPLATE_DIR);
   private static final Pattern INCLUDE_PAT = Pattern.compile("\\{\\{\\<\\s*(.*?)\\s*\\>\\}\\}");
 
+  /** Compiled templates by hash of the template text. */
+  private static final AxelorCache<String, CompiledTemplate> TEMPLATES =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(500)
+          .expireAfterAccess(Duration.ofHours(1))
+          .nonTenantAware()
+          .build();
+
+  private static final TemplateCacheStats STATS = new TemplateCacheStats();
+
+  /**
+   * A compiled template with the last modification time of the included files.
+   *
+   * @param template the compiled template
+   * @param includes the last modification time of the included files, 0 if they didn't exist
+   */
+  private record CompiledTemplate(groovy.text.Template template, Map<File, Long> includes) {
+
+    boolean isUpToDate() {
+      for (Map.Entry<File, Long> entry : includes.entrySet()) {
+        if (entry.getKey().lastModified() != entry.getValue()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Get the statistics of the compiled template cache.
+   *
+   * @return the cache statistics
+   */
+  public static TemplateCacheStats getCacheStats() {
+    return STATS;
+  }
+
   class GroovyTemplate implements Template {
 
     private String text;
@@ -56,10 +98,11 @@ public class GroovyTemplates implements Templates {
       return text.indexOf("<?mso-application") > -1;
     }
 
-    private String read(String included) throws IOException {
+    private String read(String included, Map<File, Long> includes) throws IOException {
 
       Reader reader = null;
       File file = FileUtils.getFile(TEMPLATE_DIR, included);
+      includes.put(file, file.lastModified());
       if (file.isFile()) {
         reader = new FileReader(file);
       } else {
@@ -80,7 +123,7 @@ public class GroovyTemplates implements Templates {
       }
     }
 
-    private String process(String text) {
+    private String process(String text, Map<File, Long> includes) {
       if (StringUtils.isBlank(text)) {
         return "";
       }
@@ -103,8 +146,8 @@ public class GroovyTemplates implements Templates {
         builder.append(text.substring(position, matcher.start()));
         position = matcher.end();
         try {
-          String include = read(matcher.group(1));
-          builder.append(process(include));
+          String include = read(matcher.group(1), includes);
+          builder.append(process(include, includes));
         } catch (IOException e) {
         }
       }
@@ -112,17 +155,34 @@ public class GroovyTemplates implements Templates {
       return builder.toString();
     }
 
+    private groovy.text.Template compile() throws Exception {
+      final String key = Hashing.sha256().hashUnencodedChars(Strings.nullToEmpty(text)).toString();
+      final CompiledTemplate cached = TEMPLATES.get(key);
+      if (cached != null && cached.isUpToDate()) {
+        STATS.recordHit();
+        return cached.template();
+      }
+
+      final long start = System.nanoTime();
+      final Map<File, Long> includes = new HashMap<>();
+      final String text = process(this.text, includes);
+      final TemplateEngine engine = isWordTemplate(text) ? STREAMING_ENGINE : GSTRING_ENGINE;
+      final groovy.text.Template template = engine.createTemplate(text);
+      STATS.recordCompile(System.nanoTime() - start);
+
+      TEMPLATES.put(key, new CompiledTemplate(template, Map.copyOf(includes)));
+      return template;
+    }
+
     @Override
     public Renderer make(final Map<String, Object> context) {
       final ScriptBindings bindings = new ScriptBindings(context);
-      final String text = process(this.text);
-      final TemplateEngine engine = isWordTemplate(text) ? STREAMING_ENGINE : GSTRING_ENGINE;
 
       bindings.put("__fmt__", new FormatHelper());
       bindings.put(PolicyChecker.NAME, new PolicyChecker());
 
       try {
-        final groovy.text.Template template = engine.createTemplate(text);
+        final groovy.text.Template template = compile();
         return new Renderer() {
 
           @Override
@@ -4,6 +4,8 @@
  */
 package com.axelor.text;
 
+import com.axelor.cache.AxelorCache;
+import com.axelor.cache.CacheBuilder;
 import com.axelor.common.StringUtils;
 import com.axelor.db.EntityHelper;
 import com.axelor.db.Model;
@@ -19,6 +21,8 @@ import com.axelor.meta.db.repo.MetaJsonRecordRepository;
 import com.axelor.rpc.Context;
 import com.axelor.rpc.JsonContext;
 import com.axelor.script.ScriptBindings;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
 import com.google.common.io.CharStreams;
 import com.google.common.xml.XmlEscapers;
 import java.io.File;
@@ -26,6 +30,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -45,6 +50,7 @@ import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
 import org.stringtemplate.v4.StringRenderer;
 import org.stringtemplate.v4.compiler.Bytecode;
+import org.stringtemplate.v4.compiler.CompiledST;
 import org.stringtemplate.v4.misc.MapModelAdaptor;
 import org.stringtemplate.v4.misc.ObjectModelAdaptor;
 import org.stringtemplate.v4.misc.STNoSuchPropertyException;
@@ -354,6 +360,25 @@ public class StringTemplates implements Templates {
   private static final char DEFAULT_START_DELIMITER = '<';
   private static final char DEFAULT_STOP_DELIMITER = '>';
 
+  /** Compiled templates by delimiters and hash of the template text. */
+  private static final AxelorCache<String, CompiledST> TEMPLATES =
+      CacheBuilder.newInMemoryBuilder()
+          .maximumSize(500)
+          .expireAfterAccess(Duration.ofHours(1))
+          .nonTenantAware()
+          .build();
+
+  private static final TemplateCacheStats STATS = new TemplateCacheStats();
+
+  /**
+   * Get the statistics of the compiled template cache.
+   *
+   * @return the cache statistics
+   */
+  public static TemplateCacheStats getCacheStats() {
+    return STATS;
+  }
+
   private final STGroup group;
 
   private Locale locale;
@@ -389,8 +414,56 @@ public class StringTemplates implements Templates {
 
   @Override
   public Template fromText(String text) {
-    ST template = new ST(group, text);
-    return new StringTemplate(template, locale);
+    return new StringTemplate(create(Strings.nullToEmpty(text)), locale);
+  }
+
+  private ST create(String text) {
+    final String key =
+        "%c%c:%s"
+            .formatted(
+                group.delimiterStartChar,
+                group.delimiterStopChar,
+                Hashing.sha256().hashUnencodedChars(text));
+
+    CompiledST impl = TEMPLATES.get(key);
+    if (impl != null) {
+      STATS.recordHit();
+    } else {
+      final long start = System.nanoTime();
+      final ST template = new ST(group, text);
+      STATS.recordCompile(System.nanoTime() - start);
+
+      // templates with subtemplates are bound to the group they are defined in
+      if (template.impl.implicitlyDefinedTemplates != null) {
+        return template;
+      }
+
+      // keep a pristine copy, as adding attributes changes the formal arguments
+      impl = copy(template.impl);
+      if (impl == null) {
+        return template;
+      }
+      TEMPLATES.put(key, impl);
+      return template;
+    }
+
+    final CompiledST copy = copy(impl);
+    if (copy == null) {
+      return new ST(group, text);
+    }
+    // renderers and model adaptors are looked up from the native group
+    copy.nativeGroup = group;
+    return group.createStringTemplate(copy);
+  }
+
+  private static CompiledST copy(CompiledST impl) {
+    try {
+      final CompiledST copy = impl.clone();
+      copy.formalArguments = null;
+      return copy;
+    } catch (CloneNotSupportedException e) {
+      return null;
+    }
   }
 
   @Override
@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.text;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Statistics of a compiled template cache. */
+public final class TemplateCacheStats {
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder compileNanos = new LongAdder();
+
+  TemplateCacheStats() {}
+
+  void recordHit() {
+    hits.increment();
+  }
+
+  void recordCompile(long nanos) {
+    misses.increment();
+    compileNanos.add(nanos);
+  }
+
+  /**
+   * Get the number of templates found in the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Get the number of templates compiled because they were not found in the cache.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Get the ratio of templates found in the cache.
+   *
+   * @return the hit rate, or 1 if no template was requested
+   */
+  public double getHitRate() {
+    final long hit = getHitCount();
+    final long total = hit + getMissCount();
+    return total == 0 ? 1.0 : (double) hit / total;
+  }
+
+  /**
+   * Get the total time spent compiling templates.
+   *
+   * @return the total compile time
+   */
+  public Duration getTotalCompileTime() {
+    return Duration.ofNanos(compileNanos.sum());
+  }
+
+  /**
+   * Get the average time spent compiling a template.
+   *
+   * @return the average compile time
+   */
+  public Duration getAverageCompileTime() {
+    final long count = getMissCount();
+    return count == 0 ? Duration.ZERO : Duration.ofNanos(compileNanos.sum() / count);
+  }
+
+  @Override
+  public String toString() {
+    return "TemplateCacheStats{hits=%d, misses=%d, hitRate=%.2f, averageCompileTime=%s}"
+        .formatted(getHitCount(), getMissCount(), getHitRate(), getAverageCompileTime());
+  }
+}
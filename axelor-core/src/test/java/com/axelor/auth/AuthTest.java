@@ -7,6 +7,8 @@ package com.axelor.auth;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.JpaTest;
@@ -16,10 +18,15 @@ import com.axelor.auth.db.Permission;
 import com.axelor.auth.db.Role;
 import com.axelor.auth.db.User;
 import com.axelor.auth.db.repo.UserRepository;
+import com.axelor.db.JPA;
 import com.axelor.db.JpaSecurity.AccessType;
+import com.axelor.meta.db.MetaFile;
 import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Set;
+import org.apache.shiro.authz.UnauthorizedException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -211,6 +218,60 @@ public class AuthTest extends JpaTest {
     // but not others
     assertFalse(
         authSecurity.isPermitted(AccessType.WRITE, User.class, users.findByCode("demo").getId()));
+
+    // check the permitted subset of several records at once
+    final Long guestId = users.findByCode("guest").getId();
+    final Long demoId = users.findByCode("demo").getId();
+    final Long adminId = users.findByCode("admin").getId();
+    final List<Long> ids = List.of(demoId, guestId, adminId);
+    assertEquals(Set.of(guestId), authSecurity.filterPermitted(AccessType.WRITE, User.class, ids));
+    assertThrows(
+        UnauthorizedException.class,
+        () -> authSecurity.check(AccessType.WRITE, User.class, List.of(guestId, demoId)));
+  }
+
+  @Test
+  public void testPermissionSnapshot() {
+    login("guest", "guest");
+
+    // snapshot is reused as long as nothing changes
+    assertSame(snapshotTest(), snapshotTest());
+    assertFalse(canReadFilesTest());
+
+    // and is rebuilt when permissions are changed
+    grantReadFilesTest(true);
+    try {
+      assertTrue(canReadFilesTest());
+    } finally {
+      grantReadFilesTest(false);
+    }
+    assertFalse(canReadFilesTest());
+  }
+
+  @Transactional
+  public PermissionSnapshot snapshotTest() {
+    return PermissionSnapshot.of(AuthUtils.getUser());
+  }
+
+  @Transactional
+  public boolean canReadFilesTest() {
+    return authSecurity.isPermitted(AccessType.READ, MetaFile.class);
+  }
+
+  @Transactional
+  public void grantReadFilesTest(boolean grant) {
+    Role role = JPA.all(Role.class).filter("self.name = ?", "guest.user").fetchOne();
+    if (grant) {
+      Permission readFiles = new Permission("grant.read.files");
+      readFiles.setObject(MetaFile.class.getName());
+      readFiles.setCanRead(true);
+      role.addPermission(JPA.save(readFiles));
+    } else {
+      Permission readFiles =
+          JPA.all(Permission.class).filter("self.name = ?", "grant.read.files").fetchOne();
+      role.removePermission(readFiles);
+      JPA.remove(readFiles);
+    }
   }
 
   @Test
@@ -632,6 +632,51 @@ class CacheBuilderTest {
     }
   }
 
+  @ParameterizedTest(name = "{0} - Near Cache Operations")
+  @EnumSource(CacheType.class)
+  @SuppressWarnings("unchecked")
+  void testNearCacheOperations(CacheType cacheType) {
+    doBasicCacheOperations(name -> cacheType.getCacheBuilder(name).nearCache());
+    doCacheLoaderOperations(name -> cacheType.getCacheBuilder(name).nearCache());
+  }
+
+  @ParameterizedTest(name = "{0} - Near Cache Invalidation")
+  @EnumSource(
+      value = CacheType.class,
+      mode = EnumSource.Mode.EXCLUDE,
+      names = {"CAFFEINE"})
+  @SuppressWarnings("unchecked")
+  void testNearCacheInvalidation(CacheType cacheType) {
+    // two caches with same name act as two instances sharing the distributed cache
+    AxelorCache<String, Object> node1 =
+        cacheType.getCacheBuilder("test-near-cache").nearCache().build();
+    AxelorCache<String, Object> node2 =
+        cacheType.getCacheBuilder("test-near-cache").nearCache().build();
+
+    assertInstanceOf(NearCache.class, node1);
+
+    try {
+      node1.put("key1", "value1");
+      assertEquals("value1", node2.get("key1"), "Should read value from distributed cache");
+      assertEquals("value1", node2.get("key1"), "Should read value from local cache");
+
+      node1.put("key1", "value2");
+      await()
+          .atMost(TTL)
+          .untilAsserted(
+              () -> assertEquals("value2", node2.get("key1"), "Should drop stale local value"));
+
+      node1.invalidate("key1");
+      await()
+          .atMost(TTL)
+          .untilAsserted(() -> assertNull(node2.get("key1"), "Should drop invalidated value"));
+    } finally {
+      node1.invalidateAll();
+      node1.close();
+      node2.close();
+    }
+  }
+
   @Test
   void testInMemoryBuilder() {
     // Check fluent chaining
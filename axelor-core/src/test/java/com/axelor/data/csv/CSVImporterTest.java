@@ -0,0 +1,143 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.data.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.data.Listener;
+import com.axelor.db.JPA;
+import com.axelor.db.Model;
+import com.axelor.test.db.Contact;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CSVImporterTest extends JpaTest {
+
+  @TempDir Path dataDir;
+
+  private final AtomicInteger total = new AtomicInteger();
+
+  private final AtomicInteger success = new AtomicInteger();
+
+  private final AtomicInteger imported = new AtomicInteger();
+
+  private final AtomicInteger failed = new AtomicInteger();
+
+  private CSVImporter newImporter(String bindings, String data) throws IOException {
+    final String config =
+        """
+        <?xml version="1.0"?>
+        <csv-inputs xmlns="http://axelor.com/xml/ns/data-import">
+          <input file="contacts.csv" type="com.axelor.test.db.Contact">
+            %s
+          </input>
+        </csv-inputs>
+        """
+            .formatted(bindings);
+
+    final Path configFile = dataDir.resolve("csv-config.xml");
+    Files.writeString(configFile, config);
+    Files.writeString(dataDir.resolve("contacts.csv"), data);
+
+    final CSVImporter importer = new CSVImporter(configFile.toString(), dataDir.toString());
+    importer.addListener(
+        new Listener() {
+          @Override
+          public void imported(Model bean) {
+            imported.incrementAndGet();
+          }
+
+          @Override
+          public void imported(Integer count, Integer successCount) {
+            total.addAndGet(count);
+            success.addAndGet(successCount);
+          }
+
+          @Override
+          public void handle(Model bean, Exception e) {
+            failed.incrementAndGet();
+          }
+        });
+    return importer;
+  }
+
+  private long count(String filter) {
+    return JPA.all(Contact.class).filter(filter).count();
+  }
+
+  @Test
+  public void testParallel() throws IOException {
+    final StringBuilder data = new StringBuilder("firstName,lastName,email,titleCode\n");
+    for (int i = 1; i <= 100; i++) {
+      final String title = i % 2 == 0 ? "mr" : "mrs";
+      data.append("Name%d,Parallel,parallel%d@example.com,%s\n".formatted(i, i, title));
+    }
+    // the last name is required
+    data.append("Failing,,parallel.failing@example.com,mr\n");
+
+    final CSVImporter importer =
+        newImporter("<bind to=\"title\" search=\"self.code = :titleCode\"/>", data.toString());
+    importer.setWorkers(4);
+    importer.run();
+
+    assertEquals(101, total.get());
+    assertEquals(100, success.get());
+    assertEquals(100, imported.get());
+    assertEquals(1, failed.get());
+
+    assertEquals(100, count("self.lastName = 'Parallel'"));
+    assertEquals(50, count("self.lastName = 'Parallel' AND self.title.code = 'mr'"));
+    assertEquals(50, count("self.lastName = 'Parallel' AND self.title.code = 'mrs'"));
+  }
+
+  @Test
+  public void testParallelSelfReferences() throws IOException {
+    final String bindings =
+        "<bind to=\"relatedContacts\" column=\"related\" search=\"self.email = :related\"/>";
+
+    // the records reference records of a previous chunk
+    final StringBuilder data = new StringBuilder("firstName,lastName,email,related\n");
+    for (int i = 1; i <= 60; i++) {
+      final String related = i > 30 ? "related%d@example.com".formatted(i - 30) : "";
+      data.append("Name%d,Related,related%d@example.com,%s\n".formatted(i, i, related));
+    }
+
+    final CSVImporter importer = newImporter(bindings, data.toString());
+    importer.setWorkers(4);
+    importer.run();
+
+    assertEquals(60, success.get());
+    assertEquals(30, count("self.lastName = 'Related' AND self.relatedContacts IS NOT EMPTY"));
+  }
+
+  @Test
+  public void testSearching() {
+    final String[] fields = {"firstName", "lastName", "titleCode", "related"};
+
+    final CSVInput input = new CSVInput();
+    assertFalse(new CSVBinder(Contact.class, fields, input).isSearching(Contact.class));
+
+    final CSVBind title = new CSVBind();
+    title.setField("title");
+    title.setSearch("self.code = :titleCode");
+    input.setBindings(List.of(title));
+    assertFalse(new CSVBinder(Contact.class, fields, input).isSearching(Contact.class));
+
+    final CSVBind related = new CSVBind();
+    related.setField("relatedContacts");
+    related.setColumn("related");
+    related.setSearch("self.email = :related");
+    input.setBindings(List.of(title, related));
+    assertTrue(new CSVBinder(Contact.class, fields, input).isSearching(Contact.class));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.data.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.axelor.JpaTest;
+import com.axelor.db.JPA;
+import com.axelor.test.db.Contact;
+import com.axelor.test.db.Title;
+import com.google.inject.persist.Transactional;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class CSVLookupIndexTest extends JpaTest {
+
+  private static final String TITLE_SEARCH = "self.code = :titleCode";
+
+  private static Map<String, Object> row(String name, Object value) {
+    final Map<String, Object> row = new HashMap<>();
+    row.put(name, value);
+    return row;
+  }
+
+  @Test
+  public void testRegister() {
+    final CSVLookupIndex index = new CSVLookupIndex();
+    assertTrue(index.isEmpty());
+
+    // only simple equality searches on string or integer fields are indexed
+    index.register(Title.class, "self.code = :code OR self.name = :code");
+    index.register(Contact.class, "self.dateOfBirth = :date");
+    assertTrue(index.isEmpty());
+
+    index.register(Title.class, TITLE_SEARCH);
+    assertEquals(List.of("titleCode"), List.copyOf(index.getParams()));
+  }
+
+  @Test
+  public void testFind() {
+    final CSVLookupIndex index = new CSVLookupIndex();
+    index.register(Title.class, TITLE_SEARCH);
+
+    // the same value in several rows is searched once
+    index.prefetch(
+        List.of(row("titleCode", "mr"), row("titleCode", "mrs"), row("titleCode", "mr")));
+
+    final Object mr = index.find(Title.class, TITLE_SEARCH, row("titleCode", "mr"));
+    assertNotNull(mr);
+    assertEquals("mr", ((Title) mr).getCode());
+    assertSame(mr, index.find(Title.class, TITLE_SEARCH, row("titleCode", "mr")));
+    final Object mrs = index.find(Title.class, TITLE_SEARCH, row("titleCode", "mrs"));
+    assertEquals("mrs", ((Title) mrs).getCode());
+
+    // values not prefetched, or not found, are not in the index
+    assertNull(index.find(Title.class, TITLE_SEARCH, row("titleCode", "dr")));
+    assertNull(index.find(Title.class, TITLE_SEARCH, row("titleCode", "unknown")));
+
+    // the index only holds the last chunk
+    index.prefetch(List.of(row("titleCode", "dr")));
+    assertNull(index.find(Title.class, TITLE_SEARCH, row("titleCode", "mr")));
+    assertNotNull(index.find(Title.class, TITLE_SEARCH, row("titleCode", "dr")));
+  }
+
+  @Test
+  public void testFindDuplicates() {
+    createContact("Twin", "One");
+    createContact("Twin", "Two");
+
+    final String search = "self.firstName = :firstName";
+    final CSVLookupIndex index = new CSVLookupIndex();
+    index.register(Contact.class, search);
+    index.prefetch(List.of(row("firstName", "Twin")));
+
+    // the search query decides which of the matching records is used
+    assertNull(index.find(Contact.class, search, row("firstName", "Twin")));
+  }
+
+  @Test
+  public void testMaxKeys() {
+    final CSVLookupIndex index = new CSVLookupIndex(2);
+    index.register(Title.class, TITLE_SEARCH);
+    index.prefetch(
+        List.of(row("titleCode", "mr"), row("titleCode", "mrs"), row("titleCode", "miss")));
+
+    assertNotNull(index.find(Title.class, TITLE_SEARCH, row("titleCode", "mr")));
+    assertNotNull(index.find(Title.class, TITLE_SEARCH, row("titleCode", "mrs")));
+    assertNull(index.find(Title.class, TITLE_SEARCH, row("titleCode", "miss")));
+  }
+
+  @Test
+  public void testBinderPrefetch() {
+    final String[] fields = {"firstName", "lastName", "titleCode"};
+
+    final CSVBind title = new CSVBind();
+    title.setField("title");
+    title.setSearch(TITLE_SEARCH);
+
+    final CSVInput input = new CSVInput();
+    input.setBindings(List.of(title));
+
+    final CSVBinder binder = new CSVBinder(Contact.class, fields, input);
+    final Map<String, Object> context = new HashMap<>();
+    binder.prefetch(List.<String[]>of(new String[] {"John", "Doe", "mr"}), context);
+
+    // found in the index
+    final Contact john =
+        (Contact) binder.bind(new String[] {"John", "Doe", "mr"}, new HashMap<>(context));
+    assertEquals("mr", john.getTitle().getCode());
+
+    // not prefetched, found with the search query
+    final Contact jane =
+        (Contact) binder.bind(new String[] {"Jane", "Doe", "mrs"}, new HashMap<>(context));
+    assertEquals("mrs", jane.getTitle().getCode());
+  }
+
+  @Transactional
+  public void createContact(String firstName, String lastName) {
+    JPA.save(new Contact(firstName, lastName));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import com.axelor.db.mapper.Mapper;
+import com.axelor.test.db.Contact;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.Test;
+
+public class MapperPerformanceTest {
+
+  private static final int MAX_SIZE = 1_000_000;
+  private static final int TOTAL_WARMUPS = 3;
+  private static final int TOTAL_RUNS = 5;
+
+  @FunctionalInterface
+  private interface Task {
+    void run(Contact contact, int index) throws Exception;
+  }
+
+  @Test
+  public void testPerformance() throws Exception {
+    if (System.getenv("MAPPER_PERF_TEST") == null) {
+      System.out.println("Skipping Mapper Performance Test (set MAPPER_PERF_TEST=1 to enable it)");
+      return;
+    }
+
+    System.out.println("\n=== Mapper Performance Test ===");
+    System.out.printf(
+        "Config: %d calls, warmup=%d, runs=%d%n", MAX_SIZE, TOTAL_WARMUPS, TOTAL_RUNS);
+
+    final Mapper mapper = Mapper.of(Contact.class);
+    final Method getter = Contact.class.getMethod("getFirstName");
+    final Method setter = Contact.class.getMethod("setFirstName", String.class);
+    final String[] names = {"John", "Jane", "Jack", "Jill"};
+
+    final Task reflectGet = (contact, i) -> getter.invoke(contact);
+    final Task reflectSet = (contact, i) -> setter.invoke(contact, names[i & 3]);
+    final Task mapperGet = (contact, i) -> mapper.get(contact, "firstName");
+    final Task mapperSet = (contact, i) -> mapper.set(contact, "firstName", names[i & 3]);
+    final Task mapperSetValue =
+        (contact, i) -> mapper.setValue(contact, "firstName", names[i & 3]);
+
+    measure("Reflection get", reflectGet);
+    measure("Mapper get", mapperGet);
+    measure("Reflection set", reflectSet);
+    measure("Mapper set", mapperSet);
+    measure("Mapper setValue", mapperSetValue);
+  }
+
+  private void measure(String name, Task task) throws Exception {
+    final Contact contact = new Contact();
+    contact.setFirstName("John");
+
+    for (int run = 0; run < TOTAL_WARMUPS; run++) {
+      perform(contact, task);
+    }
+
+    long best = Long.MAX_VALUE;
+    long total = 0;
+    for (int run = 0; run < TOTAL_RUNS; run++) {
+      long duration = perform(contact, task);
+      best = Math.min(best, duration);
+      total += duration;
+    }
+
+    System.out.printf(
+        "  %-16s best: %6.1f ns/op, avg: %6.1f ns/op%n",
+        name, (double) best / MAX_SIZE, (double) total / TOTAL_RUNS / MAX_SIZE);
+  }
+
+  private long perform(Contact contact, Task task) throws Exception {
+    long startTime = System.nanoTime();
+    for (int i = 0; i < MAX_SIZE; i++) {
+      task.run(contact, i);
+    }
+    return System.nanoTime() - startTime;
+  }
+}
@@ -8,7 +8,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.axelor.JpaTest;
 import com.axelor.db.mapper.Mapper;
@@ -145,4 +147,23 @@ public class MapperTest extends JpaTest {
     assertEquals(2011, bean.getDateTime1().getYear());
     assertEquals(1111, bean.getLocalDate1().getYear());
   }
+
+  @Test
+  @Order(5)
+  public void testSetValue() {
+    Mapper typeMapper = Mapper.of(TypeCheck.class);
+    TypeCheck bean = new TypeCheck();
+
+    typeMapper.setValue(bean, "intValue", "42");
+    typeMapper.setValue(bean, "decimalValue1", "1.5");
+
+    assertEquals(42, bean.getIntValue());
+    assertEquals(new BigDecimal("1.5000000000"), bean.getDecimalValue1());
+    assertEquals(42, typeMapper.set(bean, "intValue", 7));
+    assertEquals(7, typeMapper.get(bean, "intValue"));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> typeMapper.setValue(bean, "unknown", "value"));
+    assertNull(typeMapper.get(bean, "unknown"));
+  }
 }
@@ -140,6 +140,58 @@ public class QueryTest extends ScriptTest {
         "Selecting fields should be consistent with number of results.");
   }
 
+  @Test
+  public void testDistinctSelect() {
+    final Query<Contact> query = all(Contact.class).distinct().order("title.name");
+
+    final Query<Contact>.Selector selector = query.select("fullName");
+    assertTrue(selector.toString().startsWith("SELECT DISTINCT new List("));
+    // order by items are selected, as required with distinct
+    assertTrue(selector.toString().contains(", _title.name) FROM Contact self"));
+
+    final List<?> result = selector.fetch(0, 0);
+    assertEquals(all(Contact.class).count(), result.size());
+    assertEquals(all(Contact.class).count(), all(Contact.class).distinct().count());
+  }
+
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void testDistinctOrderedSelect() {
+    // with DISTINCT, the databases reject ordering on the columns not selected
+    final Query<Contact> query = all(Contact.class).distinct().order("-title.name").order("id");
+    final List<Object> ids =
+        query.select("fullName").fetch(0, 0).stream().map(item -> item.get("id")).toList();
+    assertEquals(query.count(), ids.size());
+    assertEquals(ids.size(), new HashSet<>(ids).size());
+
+    // the keyset pages are distinct as well
+    final Query<Contact>.Selector selector =
+        all(Contact.class).distinct().order("lastName").select("fullName");
+    final List<Object> seen = new ArrayList<>();
+    List<Map> page;
+    while (!(page = selector.fetchNext(2)).isEmpty()) {
+      page.forEach(item -> seen.add(item.get("id")));
+    }
+    assertEquals(all(Contact.class).count(), seen.size());
+    assertEquals(seen.size(), new HashSet<>(seen).size());
+  }
+
+  @Test
+  public void testTimeout() {
+    // the timeout is rounded up to whole seconds, the hint would round 300ms down to no timeout
+    final var query = JPA.em().createQuery("SELECT self FROM Contact self", Contact.class);
+    QueryBinder.of(query).setTimeout(300);
+    assertEquals(1, query.unwrap(org.hibernate.query.Query.class).getTimeout());
+
+    QueryBinder.of(query).setTimeout(1200);
+    assertEquals(2, query.unwrap(org.hibernate.query.Query.class).getTimeout());
+
+    assertEquals(all(Contact.class).count(), all(Contact.class).timeout(300).fetch().size());
+    assertEquals(
+        all(Contact.class).count(),
+        all(Contact.class).timeout(300).select("fullName").fetch(0, 0).size());
+  }
+
   @Test
   @Transactional
   public void testStream() {
@@ -27,6 +27,7 @@ import jakarta.persistence.EntityNotFoundException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
@@ -184,4 +185,26 @@ public class RepositoryTest extends JpaTest {
     assertInstanceOf(Contact.class, refEntity);
     assertEquals(findEntity, refEntity);
   }
+
+  @Test
+  public void populateAll_callsPopulateOnEachRecord() {
+    ContactRepository repo =
+        new ContactRepository() {
+          @Override
+          public Map<String, Object> populate(
+              Map<String, Object> json, Map<String, Object> context) {
+            json.put("populated", true);
+            return json;
+          }
+        };
+
+    List<Map<String, Object>> records =
+        List.of(new HashMap<>(Map.of("id", 1L)), new HashMap<>(Map.of("id", 2L)));
+    List<Map<String, Object>> result = repo.populateAll(records, null);
+
+    assertEquals(2, result.size());
+    assertEquals(1L, result.get(0).get("id"));
+    assertEquals(2L, result.get(1).get("id"));
+    assertTrue(result.stream().allMatch(json -> Boolean.TRUE.equals(json.get("populated"))));
+  }
 }
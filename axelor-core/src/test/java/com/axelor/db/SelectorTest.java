@@ -174,6 +174,22 @@ public class SelectorTest extends ScriptTest {
     assertEquals(2, circles.size());
   }
 
+  @Test
+  void testSelectCollectionsForAllRows() {
+    // collections are fetched for the whole page, each row must get its own items
+    List<Map> rows = Query.of(Contact.class).order("id").select("addresses", "circles").fetch(0, 0);
+    assertTrue(rows.size() > 1);
+    for (Map row : rows) {
+      Contact contact = JPA.find(Contact.class, (Long) row.get("id"));
+      assertEquals(sizeOf(contact.getAddresses()), sizeOf((List<?>) row.get("addresses")));
+      assertEquals(sizeOf(contact.getCircles()), sizeOf((List<?>) row.get("circles")));
+    }
+  }
+
+  private int sizeOf(java.util.Collection<?> items) {
+    return items == null ? 0 : items.size();
+  }
+
   @Test
   void testLimitAndOffset() {
     List<Map> page1 = Query.of(Contact.class).order("id").select("firstName").fetch(2, 0);
@@ -335,4 +351,46 @@ public class SelectorTest extends ScriptTest {
         Query.of(Person.class).select("contact.addresses", "contact.addresses.street").toString();
     assertFalse(jpqlPerson.contains("addresses"), "dotted collection path must not be selected");
   }
+
+  private List<Object> fetchAllNext(Query<Contact>.Selector selector, int limit) {
+    List<Object> ids = new java.util.ArrayList<>();
+    List<Map> page = selector.fetchNext(limit);
+    while (!page.isEmpty()) {
+      assertTrue(page.size() <= limit);
+      page.forEach(m -> ids.add(m.get("id")));
+      page = selector.fetchNext(limit);
+    }
+    return ids;
+  }
+
+  @Test
+  void testFetchNextSeeksAllRecords() {
+    Query<Contact> query = Query.of(Contact.class).order("-firstName").order("id");
+    Set<Object> expected =
+        query.select("firstName").fetch(0, 0).stream()
+            .map(m -> m.get("id"))
+            .collect(Collectors.toSet());
+    List<Object> ids = fetchAllNext(query.select("firstName"), 2);
+    assertEquals(expected.size(), ids.size());
+    assertEquals(expected, Set.copyOf(ids));
+  }
+
+  @Test
+  void testFetchNextWithNullOrderKeys() {
+    // title is null for some contacts, no record must be skipped or repeated
+    long total = Query.of(Contact.class).count();
+    List<Object> ids =
+        fetchAllNext(Query.of(Contact.class).order("title.code").select("firstName"), 1);
+    assertEquals(total, ids.size());
+    assertEquals(total, Set.copyOf(ids).size());
+  }
+
+  @Test
+  void testFetchNextFallsBackToOffset() {
+    // ordering on a reference can't be seeked, offset pagination is used instead
+    long total = Query.of(Contact.class).count();
+    List<Object> ids = fetchAllNext(Query.of(Contact.class).order("title").select("firstName"), 2);
+    assertEquals(total, ids.size());
+    assertEquals(total, Set.copyOf(ids).size());
+  }
 }
@@ -5,6 +5,7 @@
 package com.axelor.db;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.JpaTest;
 import com.axelor.meta.db.MetaSequence;
@@ -32,4 +33,111 @@ public class SequenceTest extends JpaTest {
 
     assertEquals("EMP_00100_ID", JpaSequence.nextValue("seq.emp.id"));
   }
+
+  @Test
+  public void testAllocated() {
+    createAllocatedSequence("seq.inv.id", "INV");
+
+    assertEquals("INV1", nextValue("seq.inv.id"));
+    assertEquals("INV2", nextValue("seq.inv.id"));
+
+    // a block of 5 values is reserved
+    assertEquals(6L, nextOf("seq.inv.id"));
+
+    assertEquals("INV3", nextValue("seq.inv.id"));
+    assertEquals("INV4", nextValue("seq.inv.id"));
+    assertEquals("INV5", nextValue("seq.inv.id"));
+    assertEquals("INV6", nextValue("seq.inv.id"));
+    assertEquals(11L, nextOf("seq.inv.id"));
+
+    // reset drops the reserved values
+    resetSequence("seq.inv.id", 100);
+    assertEquals("INV100", nextValue("seq.inv.id"));
+    assertEquals(105L, nextOf("seq.inv.id"));
+  }
+
+  @Test
+  public void testAllocatedChanged() {
+    createAllocatedSequence("seq.ord.id", "ORD");
+
+    assertEquals("ORD1", nextValue("seq.ord.id"));
+
+    // changing the format drops the reserved values
+    changePrefix("seq.ord.id", "SO");
+    assertEquals("SO6", nextValue("seq.ord.id"));
+    assertEquals(11L, nextOf("seq.ord.id"));
+  }
+
+  @Test
+  public void testAllocatedResetInTransaction() {
+    createAllocatedSequence("seq.quo.id", "QUO");
+
+    assertEquals("QUO1", nextValue("seq.quo.id"));
+
+    // the row is changed by the transaction, values are not reserved separately
+    assertEquals("QUO50", resetAndNextValue("seq.quo.id", 50));
+    assertEquals(51L, nextOf("seq.quo.id"));
+    assertEquals("QUO51", nextValue("seq.quo.id"));
+  }
+
+  @Test
+  public void testAllocatedKeepsManaged() {
+    createAllocatedSequence("seq.dlv.id", "DLV");
+
+    final MetaSequence sequence = findSequence("seq.dlv.id");
+
+    // values are reserved without touching the sequence kept by the caller
+    assertEquals("DLV1", nextValue("seq.dlv.id"));
+    assertTrue(JPA.em().contains(sequence));
+    assertEquals(1L, sequence.getNext());
+    assertEquals(6L, nextOf("seq.dlv.id"));
+
+    // the sequence kept by the caller is read again before being updated
+    resetSequence("seq.dlv.id", 20);
+    assertEquals(20L, sequence.getNext());
+    assertEquals("DLV20", nextValue("seq.dlv.id"));
+  }
+
+  @Transactional
+  public MetaSequence findSequence(String name) {
+    return JPA.all(MetaSequence.class).filter("self.name = ?", name).fetchOne();
+  }
+
+  @Transactional
+  public void createAllocatedSequence(String name, String prefix) {
+    MetaSequence sequence = new MetaSequence();
+    sequence.setName(name);
+    sequence.setPrefix(prefix);
+    sequence.setAllocationSize(5);
+    JPA.save(sequence);
+  }
+
+  @Transactional
+  public String nextValue(String name) {
+    return JpaSequence.nextValue(name);
+  }
+
+  @Transactional
+  public void resetSequence(String name, long next) {
+    JpaSequence.nextValue(name, next);
+  }
+
+  @Transactional
+  public String resetAndNextValue(String name, long next) {
+    JpaSequence.nextValue(name, next);
+    return JpaSequence.nextValue(name);
+  }
+
+  @Transactional
+  public void changePrefix(String name, String prefix) {
+    JPA.all(MetaSequence.class).filter("self.name = ?", name).fetchOne().setPrefix(prefix);
+  }
+
+  @Transactional
+  public Long nextOf(String name) {
+    return JPA.em()
+        .createQuery("SELECT self.next FROM MetaSequence self WHERE self.name = :name", Long.class)
+        .setParameter("name", name)
+        .getSingleResult();
+  }
 }
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.axelor.JpaTest;
+import jakarta.persistence.EntityTransaction;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TransactionCallbacksTest extends JpaTest {
+
+  @Test
+  public void testAfterCompletion() {
+    final List<Boolean> results = new ArrayList<>();
+
+    JPA.runInTransaction(() -> TransactionCallbacks.afterCompletion(JPA.em(), results::add));
+    assertEquals(List.of(true), results);
+
+    final EntityTransaction txn = JPA.em().getTransaction();
+    txn.begin();
+    TransactionCallbacks.afterCompletion(JPA.em(), results::add);
+    assertEquals(List.of(true), results);
+    txn.rollback();
+    assertEquals(List.of(true, false), results);
+  }
+
+  @Test
+  public void testAfterCompletionOnce() {
+    final List<Boolean> results = new ArrayList<>();
+
+    JPA.runInTransaction(
+        () -> {
+          TransactionCallbacks.afterCompletionOnce(JPA.em(), "once", results::add);
+          TransactionCallbacks.afterCompletionOnce(JPA.em(), "once", results::add);
+          TransactionCallbacks.afterCompletionOnce(JPA.em(), "other", results::add);
+        });
+    assertEquals(List.of(true, true), results);
+
+    // queued again by the next transaction
+    JPA.runInTransaction(
+        () -> TransactionCallbacks.afterCompletionOnce(JPA.em(), "once", results::add));
+    assertEquals(List.of(true, true, true), results);
+  }
+
+  @Test
+  public void testValues() {
+    JPA.runInTransaction(
+        () -> {
+          assertNull(TransactionCallbacks.get(JPA.em(), "names"));
+          final List<String> names =
+              TransactionCallbacks.computeIfAbsent(JPA.em(), "names", ArrayList::new);
+          assertSame(
+              names, TransactionCallbacks.computeIfAbsent(JPA.em(), "names", ArrayList::new));
+          assertSame(names, TransactionCallbacks.get(JPA.em(), "names"));
+        });
+
+    // dropped once the transaction completes
+    JPA.runInTransaction(() -> assertNull(TransactionCallbacks.get(JPA.em(), "names")));
+  }
+}
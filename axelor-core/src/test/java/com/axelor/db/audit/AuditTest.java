@@ -4,13 +4,18 @@
  */
 package com.axelor.db.audit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.axelor.audit.db.AuditEventType;
 import com.axelor.audit.db.AuditLog;
 import com.axelor.auth.AuthUtils;
 import com.axelor.auth.db.User;
@@ -18,12 +23,23 @@ import com.axelor.concurrent.ContextAware;
 import com.axelor.db.JPA;
 import com.axelor.db.JpaRepository;
 import com.axelor.db.Query;
+import com.axelor.db.annotations.Track;
+import com.axelor.db.tracking.FieldTracking;
+import com.axelor.db.tracking.ModelTracking;
+import com.axelor.inject.Beans;
+import com.axelor.mail.db.MailMessage;
+import com.axelor.meta.db.MetaJsonField;
 import com.axelor.test.GuiceModules;
 import com.axelor.test.db.AuditCheck;
 import com.axelor.test.db.Contact;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 
@@ -179,4 +195,149 @@ public class AuditTest extends BaseAuditTest {
     assertNotNull(updatedEntity.getUpdatedOn());
     assertNotNull(updatedEntity.getUpdatedBy());
   }
+
+  @Test
+  @Order(7)
+  void testPartitionedProcessing() {
+    final Runnable job = () -> createEntity("Partition NAME", "partition.name@example.com");
+    ContextAware.of().withTransaction(false).withUser(AuthUtils.getUser("admin")).build(job).run();
+
+    final AuditCheck entity =
+        Query.of(AuditCheck.class).filter("self.name = ?", "Partition NAME").fetchOne();
+    final Query<AuditLog> logs =
+        Query.of(AuditLog.class)
+            .filter("self.relatedId = :relatedId AND self.relatedModel = :relatedModel")
+            .bind("relatedId", entity.getId())
+            .bind("relatedModel", entity.getClass().getName());
+    final String txId = logs.fetchOne().getTxId();
+
+    assertTrue(AuditProcessor.getBacklog().pending() > 0);
+
+    // the logs of the entity are only processed by its partition
+    final int partition = (int) (entity.getId() % 2);
+    assertArrayEquals(
+        new int[] {partition}, AsyncAuditQueue.partitionsOf(Set.of(entity.getId()), 2));
+    assertArrayEquals(new int[] {0, 1}, AsyncAuditQueue.partitionsOf(Set.of(4L, 6L, 7L), 2));
+
+    new AuditProcessor(() -> true, 1 - partition, 2).process(txId);
+    assertEquals(1, logs.count());
+
+    new AuditProcessor(() -> true, partition, 2).process(txId);
+    assertEquals(0, logs.count());
+  }
+
+  @Test
+  @Order(8)
+  void testReferencedNames() {
+    final var names = AuditTracker.getTrack(new AuditCheck()).getReferencedNames();
+
+    // fields used by the conditions are stored even if unchanged in compact mode
+    assertTrue(names.containsAll(List.of("confirmed", "totalAmount", "status", "email")));
+    assertFalse(names.contains("empSeq"));
+
+    // the names of the track annotation are computed once per class
+    assertSame(names, AuditTracker.getTrack(new AuditCheck()).getReferencedNames());
+
+    // the json field of the referenced custom fields is stored as well
+    final MetaJsonField foo = new MetaJsonField();
+    foo.setName("foo");
+    foo.setModelField("attrs");
+    final MetaJsonField bar = new MetaJsonField();
+    bar.setName("bar");
+    bar.setModelField("attrs");
+    bar.setTrackCondition("foo > 1");
+
+    final var customNames =
+        ModelTracking.create(
+                AuditCheck.class,
+                AuditCheck.class.getAnnotation(Track.class),
+                List.of(new FieldTracking(foo), new FieldTracking(bar)))
+            .getReferencedNames();
+    assertTrue(customNames.containsAll(names));
+    assertTrue(customNames.containsAll(List.of("foo", "attrs")));
+  }
+
+  @Test
+  @Order(9)
+  void testCompact() throws Exception {
+    final User admin = AuthUtils.getUser("admin");
+    final Runnable create = () -> createEntity("Compact NAME", "compact.name@example.com");
+    ContextAware.of().withTransaction(false).withUser(admin).build(create).run();
+
+    final AuditCheck entity =
+        Query.of(AuditCheck.class).filter("self.name = ?", "Compact NAME").fetchOne();
+    final String email = entity.getEmail();
+    final String seq = entity.getEmpSeq();
+    final String[] names = {"name", "email", "user", "confirmed", "totalAmount", "empSeq"};
+
+    // two flushes of the same transaction, the user is only changed by the first one
+    final Runnable update =
+        () ->
+            JPA.runInTransaction(
+                () -> {
+                  final AuditTracker tracker = new AuditTracker(true);
+                  final SessionImplementor session = JPA.em().unwrap(SessionImplementor.class);
+                  tracker.track(
+                      session,
+                      entity,
+                      names,
+                      new Object[] {"Compact 1", email, admin, false, null, seq},
+                      new Object[] {"Compact NAME", email, null, false, null, seq});
+                  tracker.doBeforeTransactionCompletion(session);
+                  tracker.track(
+                      session,
+                      entity,
+                      names,
+                      new Object[] {"Compact 2", email, admin, false, null, seq},
+                      new Object[] {"Compact 1", email, admin, false, null, seq});
+                  tracker.doBeforeTransactionCompletion(session);
+                });
+    ContextAware.of().withTransaction(false).withUser(admin).build(update).run();
+
+    final List<AuditLog> logs =
+        Query.of(AuditLog.class)
+            .filter(
+                "self.relatedId = :relatedId AND self.relatedModel = :relatedModel"
+                    + " AND self.eventType = :eventType")
+            .bind("relatedId", entity.getId())
+            .bind("relatedModel", AuditCheck.class.getName())
+            .bind("eventType", AuditEventType.UPDATE)
+            .order("id")
+            .fetch();
+    assertEquals(2, logs.size());
+
+    // the unchanged fields are only stored if used by the tracking conditions
+    final ObjectMapper mapper = Beans.get(ObjectMapper.class);
+    final TypeReference<Map<String, Object>> type = new TypeReference<>() {};
+    final Map<String, Object> first = mapper.readValue(logs.get(0).getCurrentState(), type);
+    final Map<String, Object> second = mapper.readValue(logs.get(1).getCurrentState(), type);
+    final Map<String, Object> previous = mapper.readValue(logs.get(1).getPreviousState(), type);
+    assertTrue(first.keySet().containsAll(List.of("name", "user", "email", "confirmed")));
+    assertFalse(first.containsKey("empSeq"));
+    assertEquals("Compact 2", second.get("name"));
+    assertEquals("Compact 1", previous.get("name"));
+    assertFalse(second.containsKey("user"));
+    assertFalse(second.containsKey("empSeq"));
+
+    // the first previous values and the last current values are merged
+    new AuditProcessor(() -> true).process(logs.get(0).getTxId());
+    final MailMessage message =
+        Query.of(MailMessage.class)
+            .filter(
+                "self.relatedId = :relatedId AND self.relatedModel = :relatedModel"
+                    + " AND self.body LIKE '%Compact 2%'")
+            .bind("relatedId", entity.getId())
+            .bind("relatedModel", AuditCheck.class.getName())
+            .fetchOne();
+    assertNotNull(message);
+
+    @SuppressWarnings("unchecked")
+    final List<Map<String, String>> tracks =
+        (List<Map<String, String>>) mapper.readValue(message.getBody(), type).get("tracks");
+    final Map<String, String> name =
+        tracks.stream().filter(item -> "name".equals(item.get("name"))).findFirst().orElseThrow();
+    assertEquals("Compact NAME", name.get("oldValue"));
+    assertEquals("Compact 2", name.get("value"));
+    assertTrue(tracks.stream().anyMatch(item -> "user".equals(item.get("name"))));
+  }
 }
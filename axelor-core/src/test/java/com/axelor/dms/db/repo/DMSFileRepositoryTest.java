@@ -0,0 +1,172 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.dms.db.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.axelor.JpaTest;
+import com.axelor.auth.db.Group;
+import com.axelor.auth.db.Permission;
+import com.axelor.auth.db.User;
+import com.axelor.concurrent.ContextAware;
+import com.axelor.db.JPA;
+import com.axelor.db.Query;
+import com.axelor.dms.db.DMSFile;
+import com.axelor.dms.db.DMSPermission;
+import com.axelor.file.store.StoreType;
+import com.axelor.inject.Beans;
+import com.axelor.meta.db.MetaFile;
+import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DMSFileRepositoryTest extends JpaTest {
+
+  private static final String USER = "dms.user";
+
+  /** Repository adding data to the populated records. */
+  public static class CustomDMSFileRepository extends DMSFileRepository {
+
+    @Override
+    public Map<String, Object> populate(Map<String, Object> json, Map<String, Object> context) {
+      json.put("custom", true);
+      return super.populate(json, context);
+    }
+  }
+
+  @BeforeEach
+  @Transactional
+  public void createFiles() {
+    if (Query.of(User.class).filter("self.code = ?", USER).count() > 0) {
+      return;
+    }
+
+    final Group group = new Group("dms.users", "DMS users");
+    JPA.em().persist(group);
+
+    final User user = new User(USER, "DMS user");
+    user.setGroup(group);
+    JPA.em().persist(user);
+
+    final Permission write = new Permission();
+    write.setName("perm.dms.test.write");
+    write.setObject(DMSFile.class.getName());
+    write.setCanWrite(true);
+    JPA.em().persist(write);
+
+    final Permission read = new Permission();
+    read.setName("perm.dms.test.read");
+    read.setObject(DMSFile.class.getName());
+    read.setCanRead(true);
+    JPA.em().persist(read);
+
+    // full permission of the user
+    final DMSFile shared = createFile("shared.txt");
+    createPermission(shared, "FULL", user, null, write);
+
+    // read permission of the user group, marked as offline by the user
+    final MetaFile metaFile = new MetaFile();
+    metaFile.setFileName("readonly.txt");
+    metaFile.setFilePath("readonly.txt");
+    metaFile.setFileType("text/plain");
+    metaFile.setStoreType(StoreType.FILE_SYSTEM.getValue());
+    JPA.em().persist(metaFile);
+
+    final DMSFile readonly = createFile("readonly.txt");
+    readonly.setMetaFile(metaFile);
+    createPermission(readonly, "READ", null, group, read);
+    createPermission(readonly, "OFFLINE", user, null, null);
+
+    // no permissions
+    createFile("unrestricted.txt");
+  }
+
+  private DMSFile createFile(String name) {
+    final DMSFile file = new DMSFile();
+    file.setFileName(name);
+    JPA.em().persist(file);
+    return file;
+  }
+
+  private void createPermission(
+      DMSFile file, String value, User user, Group group, Permission permission) {
+    final DMSPermission dmsPermission = new DMSPermission();
+    dmsPermission.setFile(file);
+    dmsPermission.setValue(value);
+    dmsPermission.setUser(user);
+    dmsPermission.setGroup(group);
+    dmsPermission.setPermission(permission);
+    JPA.em().persist(dmsPermission);
+  }
+
+  private Map<String, Object> toMap(String fileName) {
+    final DMSFile file = Query.of(DMSFile.class).filter("self.fileName = ?", fileName).fetchOne();
+    final Map<String, Object> json = new HashMap<>();
+    json.put("id", file.getId());
+    return json;
+  }
+
+  private <T> T asUser(Callable<T> task) throws Exception {
+    final User user = Query.of(User.class).filter("self.code = ?", USER).fetchOne();
+    return ContextAware.of().withTransaction(false).withUser(user).build(task).call();
+  }
+
+  private List<Map<String, Object>> populateAll(DMSFileRepository repository) throws Exception {
+    final List<Map<String, Object>> records = new ArrayList<>();
+    records.add(toMap("shared.txt"));
+    records.add(toMap("readonly.txt"));
+    records.add(toMap("unrestricted.txt"));
+    return asUser(() -> repository.populateAll(records, new HashMap<>()));
+  }
+
+  @Test
+  public void testPopulateAll() throws Exception {
+    final List<Map<String, Object>> records = populateAll(Beans.get(DMSFileRepository.class));
+
+    final Map<String, Object> shared = records.get(0);
+    assertEquals(true, shared.get("canWrite"));
+    assertEquals(true, shared.get("canShare"));
+    assertNull(shared.get("offline"));
+
+    final Map<String, Object> readonly = records.get(1);
+    assertEquals(false, readonly.get("canWrite"));
+    assertEquals(false, readonly.get("canShare"));
+    assertEquals(true, readonly.get("offline"));
+
+    final Map<String, Object> unrestricted = records.get(2);
+    assertEquals(true, unrestricted.get("canWrite"));
+    assertEquals(false, unrestricted.get("canShare"));
+    assertNull(unrestricted.get("offline"));
+  }
+
+  @Test
+  public void testPopulate() throws Exception {
+    final DMSFileRepository repository = Beans.get(DMSFileRepository.class);
+    final Map<String, Object> readonly = toMap("readonly.txt");
+    asUser(() -> repository.populate(readonly, new HashMap<>()));
+
+    assertEquals(false, readonly.get("canWrite"));
+    assertEquals(true, readonly.get("offline"));
+    assertEquals("text/plain", readonly.get("fileType"));
+  }
+
+  @Test
+  public void testPopulateAllOverride() throws Exception {
+    final List<Map<String, Object>> records =
+        populateAll(Beans.get(CustomDMSFileRepository.class));
+
+    // the overridden populate is called for each record, with the fetched permissions
+    for (Map<String, Object> json : records) {
+      assertEquals(true, json.get("custom"));
+    }
+    assertEquals(true, records.get(1).get("offline"));
+  }
+}
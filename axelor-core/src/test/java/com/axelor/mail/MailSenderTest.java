@@ -6,10 +6,18 @@ package com.axelor.mail;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.common.ResourceUtils;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.Provider;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.URLName;
 import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
@@ -18,8 +26,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 public class MailSenderTest extends AbstractMailTest {
@@ -143,4 +160,186 @@ public class MailSenderTest extends AbstractMailTest {
     assertEquals("text.txt", part2.getFileName());
     assertEquals("Hello...", part2.getContent());
   }
+
+  /** SMTP transport counting the opened and closed connections. */
+  public static class CountingTransport extends SMTPTransport {
+
+    static final AtomicInteger CONNECTS = new AtomicInteger();
+    static final AtomicInteger CLOSES = new AtomicInteger();
+    static final AtomicInteger ATTEMPTS = new AtomicInteger();
+
+    // number of the next connection attempts to fail
+    static final AtomicInteger CONNECT_FAILURES = new AtomicInteger();
+
+    // whether to fail after the message is sent
+    static volatile boolean failAfterSend;
+
+    public CountingTransport(Session session, URLName urlname) {
+      super(session, urlname);
+    }
+
+    @Override
+    protected synchronized boolean protocolConnect(
+        String host, int port, String user, String password) throws MessagingException {
+      ATTEMPTS.incrementAndGet();
+      if (CONNECT_FAILURES.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+        throw new MessagingException("Connection refused");
+      }
+      final boolean connected = super.protocolConnect(host, port, user, password);
+      if (connected) {
+        CONNECTS.incrementAndGet();
+      }
+      return connected;
+    }
+
+    @Override
+    public synchronized void sendMessage(Message message, Address[] addresses)
+        throws MessagingException {
+      super.sendMessage(message, addresses);
+      if (failAfterSend) {
+        throw new MessagingException("Connection dropped");
+      }
+    }
+
+    @Override
+    public synchronized void close() throws MessagingException {
+      final boolean connected = isConnected();
+      super.close();
+      if (connected) {
+        CLOSES.incrementAndGet();
+      }
+    }
+  }
+
+  private Provider smtpProvider;
+
+  private MailSender newCountingSender() throws NoSuchProviderException {
+    CountingTransport.CONNECTS.set(0);
+    CountingTransport.CLOSES.set(0);
+    CountingTransport.ATTEMPTS.set(0);
+    CountingTransport.CONNECT_FAILURES.set(0);
+    CountingTransport.failAfterSend = false;
+    final Session session = SMTP_ACCOUNT.getSession();
+    smtpProvider = session.getProvider("smtp");
+    session.setProvider(
+        new Provider(
+            Provider.Type.TRANSPORT, "smtp", CountingTransport.class.getName(), "Test", null));
+    return new MailSender(SMTP_ACCOUNT);
+  }
+
+  @AfterEach
+  public void restoreProvider() throws NoSuchProviderException {
+    if (smtpProvider != null) {
+      SMTP_ACCOUNT.getSession().setProvider(smtpProvider);
+      smtpProvider = null;
+    }
+  }
+
+  @Test
+  public void testPooled() throws Exception {
+    final int count = 6;
+    final long start = System.nanoTime();
+
+    try (MailSender sender = newCountingSender()) {
+      sender.setMaxConnections(2);
+      sender.setRateLimit(20);
+
+      // consecutive messages reuse the same connection
+      sender.compose().to(SEND_TO).subject("First").text(TEXT).send();
+      sender.compose().to(SEND_TO).subject("Second").text(TEXT).send();
+      assertEquals(1, CountingTransport.CONNECTS.get());
+
+      final ExecutorService executor = Executors.newFixedThreadPool(3);
+      final List<Future<MimeMessage>> futures = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        final String subject = "Message " + i;
+        futures.add(
+            executor.submit(() -> sender.compose().to(SEND_TO).subject(subject).text(TEXT).send()));
+      }
+      executor.shutdown();
+      for (Future<MimeMessage> future : futures) {
+        assertNotNull(future.get());
+      }
+    }
+
+    // at most two connections are opened, and closed with the sender
+    assertTrue(CountingTransport.CONNECTS.get() <= 2);
+    assertEquals(CountingTransport.CONNECTS.get(), CountingTransport.CLOSES.get());
+
+    // consecutive messages are delayed by the rate limit
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos((count + 1) * 50));
+    assertEquals(count + 2, greenMail.getReceivedMessages().length);
+  }
+
+  @Test
+  public void testIdleTimeout() throws Exception {
+    try (MailSender sender = newCountingSender()) {
+      sender.setIdleTimeout(100);
+      sender.compose().to(SEND_TO).subject("First").text(TEXT).send();
+
+      // the idle connection is closed without closing the sender
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (CountingTransport.CLOSES.get() == 0 && System.nanoTime() < deadline) {
+        Thread.sleep(20);
+      }
+      assertEquals(1, CountingTransport.CLOSES.get());
+
+      // the next message opens a new connection
+      sender.compose().to(SEND_TO).subject("Second").text(TEXT).send();
+      assertEquals(2, CountingTransport.CONNECTS.get());
+    }
+    assertEquals(2, CountingTransport.CLOSES.get());
+  }
+
+  @Test
+  public void testRetryConnect() throws Exception {
+    try (MailSender sender = newCountingSender()) {
+      sender.setMaxRetry(2);
+      sender.setRetryDelay(100);
+      CountingTransport.CONNECT_FAILURES.set(2);
+
+      // the connection is opened again after 100ms, then after 200ms
+      final long start = System.nanoTime();
+      sender.compose().to(SEND_TO).subject("Retried").text(TEXT).send();
+      assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+
+      assertEquals(3, CountingTransport.ATTEMPTS.get());
+      assertEquals(1, CountingTransport.CONNECTS.get());
+      assertEquals(1, greenMail.getReceivedMessages().length);
+
+      // gives up after the maximum number of retries
+      CountingTransport.ATTEMPTS.set(0);
+      CountingTransport.CONNECT_FAILURES.set(3);
+      sender.close();
+      assertThrows(
+          MessagingException.class,
+          () -> sender.compose().to(SEND_TO).subject("Failed").text(TEXT).send());
+      assertEquals(3, CountingTransport.ATTEMPTS.get());
+      assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+  }
+
+  @Test
+  public void testNoRetryAfterSend() throws Exception {
+    try (MailSender sender = newCountingSender()) {
+      sender.setMaxRetry(2);
+      sender.setRetryDelay(10);
+      CountingTransport.failAfterSend = true;
+
+      // the message accepted by the server is not sent again
+      assertThrows(
+          MessagingException.class,
+          () -> sender.compose().to(SEND_TO).subject("Once").text(TEXT).send());
+      assertEquals(1, CountingTransport.ATTEMPTS.get());
+      assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+  }
+
+  @Test
+  public void testNoRecipients() throws Exception {
+    try (MailSender sender = new MailSender(SMTP_ACCOUNT)) {
+      final MimeMessage message = sender.compose().subject("Hello...").text(TEXT).build();
+      assertThrows(SendFailedException.class, () -> sender.send(message));
+    }
+  }
 }
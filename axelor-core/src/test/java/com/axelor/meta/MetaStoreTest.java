@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.axelor.JpaTest;
+import com.axelor.db.JPA;
+import com.axelor.meta.db.MetaSelect;
+import com.axelor.meta.db.MetaSelectItem;
+import com.axelor.meta.db.repo.MetaSelectRepository;
+import com.axelor.meta.schema.views.Selection;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+public class MetaStoreTest extends JpaTest {
+
+  @Inject private MetaSelectRepository selects;
+
+  private MetaSelectItem item(String value, String title, int order) {
+    MetaSelectItem item = new MetaSelectItem();
+    item.setValue(value);
+    item.setTitle(title);
+    item.setOrder(order);
+    return item;
+  }
+
+  @Test
+  void testSelectionCache() {
+    final String name = "test.selection.cache";
+
+    JPA.runInTransaction(
+        () -> {
+          MetaSelect select = new MetaSelect(name);
+          select.addItem(item("a", "A", 1));
+          selects.save(select);
+        });
+
+    assertEquals(1, MetaStore.getSelectionList(name).size());
+
+    Selection.Option option = MetaStore.getSelectionItem(name, "a");
+    assertEquals("A", option.getTitle());
+    assertSame(option, MetaStore.getSelectionItem(name, "a"));
+
+    // changing the select items invalidates the cached options
+    JPA.runInTransaction(() -> selects.findByName(name).addItem(item("b", "B", 2)));
+
+    assertEquals(2, MetaStore.getSelectionList(name).size());
+    assertEquals("B", MetaStore.getSelectionItem(name, "b").getTitle());
+
+    JPA.runInTransaction(
+        () -> {
+          MetaSelect select = selects.findByName(name);
+          select.getItems().forEach(JPA::remove);
+          select.clearItems();
+          selects.remove(select);
+        });
+
+    assertNull(MetaStore.getSelectionList(name));
+  }
+
+  @Test
+  void testUnknownSelection() {
+    assertNull(MetaStore.getSelectionList("test.selection.unknown"));
+    assertNull(MetaStore.getSelectionItem("test.selection.unknown", "a"));
+  }
+}
@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import com.axelor.meta.schema.ObjectViews;
 import com.axelor.meta.schema.actions.Action;
+import com.axelor.meta.schema.actions.ActionScripts;
 import com.axelor.meta.schema.actions.validate.validator.Info;
 import com.axelor.meta.schema.views.FormView;
 import com.axelor.rpc.ActionRequest;
@@ -32,6 +33,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -407,6 +409,15 @@ public class TestActions extends MetaTest {
     assertEquals(expected, forcedValues);
   }
 
+  @Test
+  void testActionScripts() {
+    assertEquals(
+        Set.of("__date__"), ActionScripts.find(MetaStore.getAction("action-contact-defaults")));
+    assertEquals(
+        Set.of("__this__.firstName", "__this__.nickName", "title", "true"),
+        ActionScripts.find(MetaStore.getAction("action-contact-context-proxy")));
+  }
+
   @Test
   void testContextProxy() throws JsonProcessingException {
     Action action = MetaStore.getAction("action-contact-context-proxy");
@@ -15,8 +15,11 @@ import com.axelor.test.db.Contact;
 import com.axelor.test.db.repo.ContactRepository;
 import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
@@ -66,6 +69,30 @@ public class TestFiles extends MetaTest {
     Files.deleteIfExists(MetaFiles.getPath(metaFile2));
   }
 
+  @Test
+  public void testUploadStream() throws IOException {
+
+    // a stream not supporting mark, like the ones of multipart requests
+    InputStream stream =
+        new FilterInputStream(new ByteArrayInputStream("Hello...".getBytes())) {
+          @Override
+          public boolean markSupported() {
+            return false;
+          }
+        };
+
+    MetaFile metaFile = new MetaFile();
+    metaFile.setFileName("stream.txt");
+    metaFile = files.upload(MetaFiles.checkContent(stream), metaFile);
+
+    assertNotNull(metaFile.getId());
+    assertEquals("text/plain", metaFile.getFileType());
+    assertEquals(8L, metaFile.getFileSize());
+    assertEquals("Hello...", Files.readString(MetaFiles.getPath(metaFile)));
+
+    Files.deleteIfExists(MetaFiles.getPath(metaFile));
+  }
+
   @Test
   @Transactional
   public void testAttach() throws IOException {
@@ -6,11 +6,15 @@ package com.axelor.meta.loader;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.common.ResourceUtils;
 import com.axelor.db.Query.Selector;
 import com.axelor.meta.MetaTest;
+import com.axelor.meta.db.MetaView;
+import com.axelor.meta.db.repo.MetaViewRepository;
 import com.axelor.meta.schema.ObjectViews;
 import com.axelor.meta.schema.views.AbstractView;
 import com.axelor.meta.schema.views.ChartView;
@@ -21,16 +25,21 @@ import com.axelor.script.ScriptHelper;
 import com.axelor.test.db.Title;
 import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
+import jakarta.xml.bind.JAXBException;
 import java.io.StringWriter;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 public class TestViews extends MetaTest {
 
   @Inject private ViewLoader loader;
 
+  @Inject private MetaViewRepository metaViews;
+
   @Test
   public void test1() throws Exception {
     ObjectViews views = this.unmarshal("com/axelor/meta/Contact.xml", ObjectViews.class);
@@ -116,6 +125,70 @@ public class TestViews extends MetaTest {
     assertEquals(form1.getName(), included.getName());
   }
 
+  @Test
+  @Transactional
+  public void testViewCache() throws Exception {
+
+    final URL url = ResourceUtils.getResource("com/axelor/meta/Include.xml");
+    loader.process(url, new Module("test"));
+    XMLViews.invalidateViews();
+
+    final FormView first = (FormView) XMLViews.findView("contact-form1", null, null, "test");
+    final FormView second = (FormView) XMLViews.findView("contact-form1", null, null, "test");
+
+    // each call returns a copy that can be changed
+    assertNotSame(first, second);
+    assertNotSame(first.getItems(), second.getItems());
+
+    first.setTitle("Changed");
+    first.getItems().clear();
+
+    final FormView third = (FormView) XMLViews.findView("contact-form1", null, null, "test");
+    assertEquals("Contact", third.getTitle());
+    assertEquals(1, third.getItems().size());
+    assertEquals(second.getViewId(), third.getViewId());
+
+    // the changed view is found once invalidated
+    final MetaView view = metaViews.find(third.getViewId());
+    third.setTitle("Person");
+    view.setXml(XMLViews.toXml(third, true));
+    metaViews.save(view);
+    metaViews.flush();
+    XMLViews.invalidateViews();
+
+    assertEquals("Person", XMLViews.findView("contact-form1", null, null, "test").getTitle());
+  }
+
+  @Test
+  public void testUnmarshal() throws Exception {
+    final String xml =
+        "<form name='contact-form' title='Contact' model='com.axelor.test.db.Contact'>"
+            + "<panel><field name='firstName'/></panel>"
+            + "</form>";
+
+    final List<String> names =
+        IntStream.range(0, 100)
+            .parallel()
+            .mapToObj(
+                i -> {
+                  try {
+                    return XMLViews.unmarshal(xml, i % 2 == 0).getViews().getFirst().getName();
+                  } catch (JAXBException e) {
+                    throw new RuntimeException(e);
+                  }
+                })
+            .toList();
+
+    assertEquals(100, names.size());
+    assertTrue(names.stream().allMatch("contact-form"::equals));
+
+    // only validated against the schema when asked
+    final String invalid = "<form name='contact-form' unknown='true'/>";
+    assertThrows(JAXBException.class, () -> XMLViews.unmarshal(invalid));
+    final AbstractView view = XMLViews.unmarshal(invalid, false).getViews().getFirst();
+    assertEquals("contact-form", view.getName());
+  }
+
   @Test
   public void testChart() throws Exception {
     ObjectViews views = this.unmarshal("com/axelor/meta/Charts.xml", ObjectViews.class);
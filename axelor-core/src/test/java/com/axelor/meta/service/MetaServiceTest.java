@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.meta.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.axelor.TestingHelpers;
+import com.axelor.app.AppSettings;
+import com.axelor.app.AvailableAppSettings;
+import com.axelor.db.JPA;
+import com.axelor.meta.MetaTest;
+import com.axelor.meta.db.MetaView;
+import com.axelor.meta.db.repo.MetaViewRepository;
+import com.axelor.meta.loader.XMLViews;
+import com.axelor.rpc.Request;
+import com.axelor.rpc.Response;
+import com.axelor.test.db.Contact;
+import com.axelor.test.db.Title;
+import com.google.inject.persist.Transactional;
+import jakarta.inject.Inject;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class MetaServiceTest extends MetaTest {
+
+  private static final String SEARCH_VIEW =
+      """
+      <search title="Titles" name="test-titles-search" limit="100">
+        <search-fields>
+          <field name="title" type="string"/>
+        </search-fields>
+        <result-fields>
+          <field name="name" type="string"/>
+        </result-fields>
+        <select model="com.axelor.test.db.Contact">
+          <field name="fullName" as="name"/>
+          <where match="all">
+            <input name="title" field="title.code"/>
+          </where>
+        </select>
+        <select model="com.axelor.test.db.Title">
+          <field name="name" as="name"/>
+          <where match="all">
+            <input name="title" field="code"/>
+          </where>
+        </select>
+      </search>
+      """;
+
+  @Inject private MetaService service;
+
+  @Inject private MetaViewRepository views;
+
+  @Transactional
+  public void createSearchView() {
+    if (views.findByName("test-titles-search") != null) {
+      return;
+    }
+    final MetaView view = new MetaView();
+    view.setName("test-titles-search");
+    view.setTitle("Titles");
+    view.setType("search");
+    view.setXml(SEARCH_VIEW);
+    views.save(view);
+    XMLViews.invalidateViews();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    TestingHelpers.resetSettings();
+  }
+
+  @Test
+  public void testRunSearch() {
+    assertSearch();
+  }
+
+  @Test
+  public void testRunSearchParallel() {
+    AppSettings.get()
+        .getInternalProperties()
+        .put(AvailableAppSettings.APPLICATION_SEARCH_PARALLEL, "true");
+    assertSearch();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void assertSearch() {
+    createSearchView();
+
+    final Map<String, Object> data = new HashMap<>();
+    data.put("__name", "test-titles-search");
+    data.put("title", "mr");
+
+    final Request request = new Request();
+    request.setData(data);
+
+    final Response response = service.runSearch(request);
+    final List<Map<String, Object>> items = (List<Map<String, Object>>) response.getData();
+
+    final long contacts = JPA.all(Contact.class).filter("self.title.code = 'mr'").count();
+    final long titles = JPA.all(Title.class).filter("self.code = 'mr'").count();
+
+    assertEquals(Response.STATUS_SUCCESS, response.getStatus());
+    assertEquals(contacts + titles, items.size());
+
+    // the results keep the order of the selects
+    assertEquals(
+        contacts,
+        items.stream()
+            .limit(contacts)
+            .filter(item -> Contact.class.getName().equals(item.get("_model")))
+            .count());
+    assertEquals(
+        titles,
+        items.stream().filter(item -> Title.class.getName().equals(item.get("_model"))).count());
+  }
+}
@@ -5,6 +5,7 @@
 package com.axelor.rpc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -13,16 +14,21 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.axelor.TestingHelpers;
 import com.axelor.db.JPA;
+import com.axelor.team.db.Team;
 import com.axelor.test.db.Address;
 import com.axelor.test.db.Circle;
 import com.axelor.test.db.Contact;
 import com.axelor.test.db.Title;
 import com.axelor.test.db.repo.ContactRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.inject.persist.Transactional;
 import jakarta.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +38,8 @@ public class ResourceTest extends RpcTest {
 
   @Inject Resource<Contact> resource;
 
+  @Inject Resource<Team> teams;
+
   @Inject ContactRepository contacts;
 
   @BeforeEach
@@ -66,6 +74,43 @@ public class ResourceTest extends RpcTest {
     assertTrue(res.getData() instanceof List);
   }
 
+  @Test
+  @SuppressWarnings("all")
+  public void testSearchStreamed() throws Exception {
+    final Request req = new Request();
+    req.setData(new HashMap<>());
+    req.setLimit(40);
+
+    final Response res = resource.search(req);
+    final StreamedRecords records = (StreamedRecords) res.getData();
+
+    assertTrue(records.isStreamed());
+    assertFalse(records.isEmpty());
+
+    final JsonNode streamed = mapper.readTree(toJson(res.getData()));
+    assertTrue(records.isStreamed());
+
+    // accessing the records converts them to maps
+    assertTrue(records.get(0) instanceof Map);
+    assertFalse(records.isStreamed());
+
+    final JsonNode mapped = mapper.readTree(toJson(res.getData()));
+    assertEquals(mapped, streamed);
+  }
+
+  @Test
+  public void testSearchNotStreamed() throws Exception {
+    final Request req = new Request();
+    req.setData(Map.of("_domainContext", Map.of("_countOn", "title")));
+
+    // child records are counted on the maps
+    assertFalse(resource.search(req).getData() instanceof StreamedRecords);
+
+    // the repository populates the maps
+    req.setData(new HashMap<>());
+    assertFalse(teams.search(req).getData() instanceof StreamedRecords);
+  }
+
   @Test
   @SuppressWarnings("all")
   @Transactional
@@ -123,6 +168,34 @@ public class ResourceTest extends RpcTest {
     assertEquals("sparrow", contact.getLastName());
   }
 
+  @Test
+  @SuppressWarnings("all")
+  public void testToMap() {
+
+    Contact c = contacts.all().fetchOne();
+    Map<String, Object> map = Resource.toMap(c, "firstName", "title.name");
+
+    assertEquals(c.getId(), map.get("id"));
+    assertEquals(c.getVersion(), map.get("version"));
+    assertEquals(c.getFirstName(), map.get("firstName"));
+    assertTrue(map.containsKey("title"));
+    assertFalse(map.containsKey("lastName"));
+    assertFalse(map.containsKey("image"));
+
+    if (c.getTitle() != null) {
+      Map<String, Object> title = (Map) map.get("title");
+      assertEquals(c.getTitle().getId(), title.get("id"));
+      assertEquals(c.getTitle().getName(), title.get("name"));
+      assertTrue(title.containsKey("$version"));
+    }
+
+    Map<String, Object> unsaved = Resource.toMap(new Contact("John", "Smith"), "firstName");
+
+    assertEquals("John", unsaved.get("firstName"));
+    assertEquals("Smith", unsaved.get("lastName"));
+    assertFalse(unsaved.containsKey("image"));
+  }
+
   @Test
   public void testCopy() {
 
@@ -138,4 +211,38 @@ public class ResourceTest extends RpcTest {
     assertSame(c, c.getAddresses().getFirst().getContact());
     assertSame(n, n.getAddresses().getFirst().getContact());
   }
+
+  @Transactional
+  public void createContacts(String lastName, int count) {
+    for (int i = 1; i <= count; i++) {
+      contacts.save(new Contact("Name" + i, lastName));
+    }
+  }
+
+  @Test
+  public void testExportStream() throws Exception {
+    createContacts("Streamed", 3);
+
+    final Request request = new Request();
+    request.setFields(List.of("firstName", "lastName"));
+    request.setSortBy(List.of("firstName"));
+    request.setData(
+        Map.of(
+            "_domain",
+            "self.lastName = :lastName",
+            "_domainContext",
+            Map.of("lastName", "Streamed")));
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    resource.exportStream(request, StandardCharsets.UTF_8, Locale.ENGLISH, ';').write(out);
+
+    final String csv = out.toString(StandardCharsets.UTF_8);
+    assertEquals('\ufeff', csv.charAt(0));
+
+    final List<String> lines = csv.substring(1).lines().toList();
+    assertEquals(4, lines.size());
+    assertEquals(
+        List.of("\"Name1\";\"Streamed\"", "\"Name2\";\"Streamed\"", "\"Name3\";\"Streamed\""),
+        lines.subList(1, 4));
+  }
 }
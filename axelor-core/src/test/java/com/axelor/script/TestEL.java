@@ -16,6 +16,9 @@ import com.axelor.test.db.Currency;
 import com.axelor.test.db.repo.ContactRepository;
 import com.axelor.test.db.repo.CurrencyRepository;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.IntStream;
+import javax.script.SimpleBindings;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -157,4 +160,26 @@ public class TestEL extends ScriptTest {
     assertThrows(
         IllegalArgumentException.class, () -> helper.eval("T('java.nio.file.Paths').get('/tmp')"));
   }
+
+  @Test
+  public void testSharedExpression() {
+    final String expr = "a += ' ' += str(b)";
+    final ScriptHelper first = new ELScriptHelper(new SimpleBindings(Map.of("a", "x", "b", 1)));
+    final ScriptHelper second = new ELScriptHelper(new SimpleBindings(Map.of("a", "y", "b", 2)));
+
+    assertEquals("x 1", first.eval(expr));
+    assertEquals("y 2", second.eval(expr));
+
+    IntStream.range(0, 100)
+        .parallel()
+        .forEach(
+            i -> {
+              final Map<String, Object> vars = Map.of("a", "z", "b", i);
+              assertEquals("z " + i, new ELScriptHelper(new SimpleBindings(vars)).eval(expr));
+            });
+
+    // assigned variables are local to the evaluation
+    assertEquals(3L, first.eval("c = 3; c"));
+    assertNull(second.eval("c"));
+  }
 }
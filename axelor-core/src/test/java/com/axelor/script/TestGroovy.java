@@ -5,6 +5,7 @@
 package com.axelor.script;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -14,11 +15,19 @@ import com.axelor.rpc.Context;
 import com.axelor.test.db.Contact;
 import com.axelor.test.db.repo.ContactRepository;
 import com.axelor.test.db.repo.CurrencyRepository;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
 
 @TestMethodOrder(MethodOrderer.MethodName.class)
 public class TestGroovy extends ScriptTest {
@@ -319,4 +328,46 @@ public class TestGroovy extends ScriptTest {
     assertThrows(
         IllegalArgumentException.class, () -> helper.eval("while (true) { println('hello!') }"));
   }
+
+  @Test
+  void testScriptClassCache(@TempDir Path dir) throws Exception {
+    final String code = "def first = { it.toUpperCase() }\nfirst.call('abc')";
+    final CompilerConfiguration config = new CompilerConfiguration();
+    final ClassLoader parent = getClass().getClassLoader();
+
+    final ScriptClassCache cache =
+        new ScriptClassCache(config, new GroovyClassLoader(parent, config), parent, dir);
+    final Class<?> compiled = cache.load(code);
+    assertEquals("ABC", ((Script) compiled.getDeclaredConstructor().newInstance()).run());
+
+    // the bytecode is reused by another cache on the same directory
+    final Path file;
+    try (Stream<Path> files = Files.walk(dir)) {
+      file = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+    }
+    final long modified = Files.getLastModifiedTime(file).toMillis();
+
+    final ScriptClassCache other =
+        new ScriptClassCache(config, new GroovyClassLoader(parent, config), parent, dir);
+    final Class<?> loaded = other.load(code);
+    assertEquals(compiled.getName(), loaded.getName());
+    assertEquals("ABC", ((Script) loaded.getDeclaredConstructor().newInstance()).run());
+    assertEquals(modified, Files.getLastModifiedTime(file).toMillis());
+  }
+
+  @Test
+  void testScriptClassCacheFingerprint() {
+    final CompilerConfiguration config = new CompilerConfiguration();
+    final CompilerConfiguration same = new CompilerConfiguration();
+    assertEquals(ScriptClassCache.fingerprint(config), ScriptClassCache.fingerprint(same));
+
+    // another compiler configuration doesn't reuse the bytecode
+    final CompilerConfiguration parameters = new CompilerConfiguration();
+    parameters.setParameters(!config.getParameters());
+    assertNotEquals(ScriptClassCache.fingerprint(config), ScriptClassCache.fingerprint(parameters));
+
+    final CompilerConfiguration checked = new CompilerConfiguration();
+    checked.addCompilationCustomizers(new ASTTransformationCustomizer(GroovyCheck.class));
+    assertNotEquals(ScriptClassCache.fingerprint(config), ScriptClassCache.fingerprint(checked));
+  }
 }
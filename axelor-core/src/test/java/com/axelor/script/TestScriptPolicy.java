@@ -6,6 +6,7 @@ package com.axelor.script;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -179,6 +180,32 @@ class TestScriptPolicy {
                 """));
   }
 
+  @Test
+  void testVerdictCache() {
+    final ScriptPolicy policy = ScriptPolicy.getInstance();
+
+    // wild-card package
+    assertTrue(policy.allowed(java.time.LocalDate.class));
+    assertTrue(policy.allowed(java.time.format.DateTimeFormatter.class));
+    assertFalse(policy.allowed(java.io.File.class));
+
+    final long checks = ScriptPolicyStats.getCheckCount();
+    final long evaluations = ScriptPolicyStats.getEvaluationCount();
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(policy.allowed(java.time.LocalDate.class));
+      assertFalse(policy.allowed(java.io.File.class));
+    }
+
+    assertEquals(checks + 20, ScriptPolicyStats.getCheckCount());
+    assertEquals(evaluations, ScriptPolicyStats.getEvaluationCount());
+
+    // the rate is computed from the creation of the policy
+    final double seconds = (System.nanoTime() - policy.getStartTime()) / 1_000_000_000d;
+    assertTrue(ScriptPolicyStats.getChecksPerSecond() > 0);
+    assertTrue(ScriptPolicyStats.getChecksPerSecond() <= policy.getCheckCount() / seconds);
+  }
+
   // Script policy evaluation differs from Groovy and EL:
   // - For inner classes, access is considered according to the top-level class
   // - Denied property access returns empty object instead of throwing exception
@@ -50,6 +50,21 @@ public class GroovyTemplateTest extends TemplateScriptTest {
     assertEquals(SPECIAL_OUTPUT_SIMPLE, output);
   }
 
+  @Test
+  public void testGroovyTemplateCache() {
+    final String text = TEMPLATE_SIMPLE + " (cached)";
+    final TemplateCacheStats stats = GroovyTemplates.getCacheStats();
+    final long hits = stats.getHitCount();
+    final long misses = stats.getMissCount();
+
+    Templates templates = new GroovyTemplates();
+    assertEquals(OUTPUT_SIMPLE + " (cached)", templates.fromText(text).make(vars).render());
+    assertEquals(OUTPUT_SIMPLE + " (cached)", templates.fromText(text).make(vars).render());
+
+    assertEquals(misses + 1, stats.getMissCount());
+    assertEquals(hits + 1, stats.getHitCount());
+  }
+
   @Test
   public void testGroovyInclude() throws Exception {
 
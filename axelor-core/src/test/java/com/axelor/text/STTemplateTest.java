@@ -34,6 +34,24 @@ public class STTemplateTest extends TemplateScriptTest {
     assertEquals(OUTPUT_SIMPLE, text);
   }
 
+  @Test
+  public void testStringTemplateCache() {
+    final String text = TEMPLATE_SIMPLE + " (cached)";
+    final TemplateCacheStats stats = StringTemplates.getCacheStats();
+    final long hits = stats.getHitCount();
+    final long misses = stats.getMissCount();
+
+    Templates templates = new StringTemplates();
+    assertEquals(OUTPUT_SIMPLE + " (cached)", templates.fromText(text).make(vars).render());
+
+    // the compiled template is shared with other instances
+    templates = new StringTemplates();
+    assertEquals(OUTPUT_SIMPLE + " (cached)", templates.fromText(text).make(vars).render());
+
+    assertEquals(misses + 1, stats.getMissCount());
+    assertEquals(hits + 1, stats.getHitCount());
+  }
+
   private static final String TEMPLATE_COMPLEX =
       """
       <html>
@@ -7,6 +7,7 @@ package com.axelor.web.service;
 import com.google.inject.Injector;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.UriInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,12 +18,18 @@ public abstract class AbstractService {
 
   @Context private UriInfo uriInfo;
 
+  @Context private HttpHeaders httpHeaders;
+
   @Inject private Injector injector;
 
   protected final UriInfo getUriInfo() {
     return uriInfo;
   }
 
+  protected final HttpHeaders getHttpHeaders() {
+    return httpHeaders;
+  }
+
   protected final Injector getInjector() {
     return injector;
   }
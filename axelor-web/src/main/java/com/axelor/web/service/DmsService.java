@@ -18,6 +18,7 @@ import com.axelor.db.Query;
 import com.axelor.dms.db.DMSFile;
 import com.axelor.dms.db.repo.DMSFileRepository;
 import com.axelor.file.store.FileStoreFactory;
+import com.axelor.file.store.Store;
 import com.axelor.file.temp.TempFiles;
 import com.axelor.inject.Beans;
 import com.axelor.meta.MetaFiles;
@@ -43,6 +44,8 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
@@ -82,6 +85,8 @@ public class DmsService {
 
   @Inject private DMSFileRepository repository;
 
+  @Context private HttpHeaders httpHeaders;
+
   private static final Map<String, String> EXTS = Map.of("html", ".html", "spreadsheet", ".csv");
 
   @GET
@@ -301,15 +306,7 @@ public class DmsService {
       return jakarta.ws.rs.core.Response.status(Status.NOT_FOUND).build();
     }
 
-    final StreamingOutput so =
-        output -> {
-          try (InputStream input =
-              FileStoreFactory.getStore().getStream(file.getMetaFile().getFilePath())) {
-            writeTo(output, input);
-          }
-        };
-
-    return stream(so, file.getFileName(), false);
+    return stream(ranged(file.getMetaFile()), file.getFileName(), false);
   }
 
   @POST
@@ -431,6 +428,12 @@ public class DmsService {
     // if file
     final DMSFile record = records.getFirst();
     if (records.size() == 1 && !record.getIsDirectory()) {
+      // read the stored file by ranges, instead of copying it to a local file first
+      if (record.getMetaFile() != null) {
+        return hasFile(record)
+            ? stream(ranged(record.getMetaFile()), getFileName(record), inline)
+            : jakarta.ws.rs.core.Response.status(Status.NOT_FOUND).build();
+      }
       File file = getFile(record);
       if (file != null && hasFile(record)) {
         return stream(file, getFileName(record), inline);
@@ -611,9 +614,30 @@ public class DmsService {
     }
   }
 
+  private ResponseBuilder ranged(MetaFile metaFile) {
+    final Store store = FileStoreFactory.getStore();
+    final Long size = metaFile.getFileSize();
+    if (size == null || size < 0) {
+      final StreamingOutput so =
+          output -> {
+            try (InputStream input = store.getStream(metaFile.getFilePath())) {
+              writeTo(output, input);
+            }
+          };
+      return jakarta.ws.rs.core.Response.ok(so);
+    }
+    return RangeResponses.of(
+        httpHeaders, store, metaFile.getFilePath(), size, RangeResponses.tagOf(metaFile));
+  }
+
   private jakarta.ws.rs.core.Response stream(Object content, String fileName, boolean inline) {
+    return stream(jakarta.ws.rs.core.Response.ok(content), fileName, inline);
+  }
+
+  private jakarta.ws.rs.core.Response stream(
+      ResponseBuilder builder, String fileName, boolean inline) {
     final MediaType type = MediaType.valueOf(MimeTypesUtils.getContentType(fileName));
-    final ResponseBuilder builder = jakarta.ws.rs.core.Response.ok(content, type);
+    builder.type(type);
 
     if (inline && MetaFiles.isBrowserPreviewCompatible(type)) {
       return builder
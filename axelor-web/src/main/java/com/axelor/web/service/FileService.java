@@ -39,6 +39,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -137,7 +138,21 @@ public class FileService extends AbstractService {
 
     final MediaType type = MediaType.valueOf(MimeTypesUtils.getContentType(file));
     final String fileName = name == null ? file.toFile().getName() : name;
-    final ResponseBuilder builder = jakarta.ws.rs.core.Response.ok(file.toFile(), type);
+    final ResponseBuilder builder;
+    try {
+      final long size = Files.size(file);
+      final long modified = Files.getLastModifiedTime(file).toMillis();
+      final String tag = Long.toHexString(modified) + "-" + Long.toHexString(size);
+      builder =
+          RangeResponses.of(
+                  getHttpHeaders(),
+                  size,
+                  tag,
+                  (offset, length) -> FileUtils.newInputStream(file, offset, length))
+              .type(type);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
 
     if (MetaFiles.isBrowserPreviewCompatible(type)) {
       return builder
@@ -0,0 +1,204 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.web.service;
+
+import com.axelor.common.StringUtils;
+import com.axelor.file.store.Store;
+import com.axelor.file.store.StoreType;
+import com.axelor.meta.db.MetaFile;
+import com.google.common.io.ByteStreams;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds file download responses supporting conditional and partial requests.
+ *
+ * <p>The responses carry an <code>ETag</code>, answered with <code>304 Not Modified</code> when it
+ * matches the <code>If-None-Match</code> header. A single byte range given by the <code>Range
+ * </code> header, optionally conditioned by <code>If-Range</code>, is answered with <code>
+ * 206 Partial Content</code> reading only the requested bytes. Multiple ranges are not supported,
+ * the whole file is returned instead.
+ *
+ * <p>The size of the files is announced with <code>Content-Length</code>. No more bytes than
+ * announced are sent, and the response is aborted if the file is shorter, so that a wrong size
+ * can't be taken for the file content.
+ */
+final class RangeResponses {
+
+  private static final Pattern RANGE_PATTERN = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+  private static final String ACCEPT_RANGES = "Accept-Ranges";
+  private static final String CONTENT_RANGE = "Content-Range";
+  private static final String IF_RANGE = "If-Range";
+  private static final String RANGE = "Range";
+
+  /** Opens a stream over a range of bytes of a file. */
+  @FunctionalInterface
+  interface RangeReader {
+
+    InputStream open(long offset, long length) throws IOException;
+  }
+
+  private RangeResponses() {}
+
+  /**
+   * Build the response of a file of the given store.
+   *
+   * <p>The size of the files of the file system store is read from the file, the given size is
+   * only used for the other stores.
+   *
+   * @param headers the request headers
+   * @param store the store of the file
+   * @param fileName the name of the file in the store
+   * @param size the stored size of the file in bytes
+   * @param tag the entity tag of the file, without quotes
+   * @return the response builder
+   */
+  static ResponseBuilder of(
+      HttpHeaders headers, Store store, String fileName, long size, String tag) {
+    final long actual =
+        store.getStoreType() == StoreType.FILE_SYSTEM ? sizeOf(store, fileName, size) : size;
+    return of(
+        headers, actual, tag, (offset, length) -> store.getStream(fileName, offset, length));
+  }
+
+  private static long sizeOf(Store store, String fileName, long size) {
+    try {
+      return Files.size(store.getPath(fileName, false));
+    } catch (IOException | RuntimeException e) {
+      return size;
+    }
+  }
+
+  /**
+   * Get the entity tag of the given file.
+   *
+   * @param file the file
+   * @return the entity tag, without quotes
+   */
+  static String tagOf(MetaFile file) {
+    return file.getId()
+        + "-"
+        + Integer.toHexString(
+            Objects.hash(file.getVersion(), file.getFilePath(), file.getFileSize()));
+  }
+
+  /**
+   * Build the response of a file read with the given reader.
+   *
+   * @param headers the request headers, may be null
+   * @param size the size of the file in bytes
+   * @param tag the entity tag of the file, without quotes
+   * @param reader the reader of the file content
+   * @return the response builder
+   */
+  static ResponseBuilder of(HttpHeaders headers, long size, String tag, RangeReader reader) {
+    final String etag = '"' + tag + '"';
+    final String ifNoneMatch = header(headers, HttpHeaders.IF_NONE_MATCH);
+    if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+      return Response.notModified().tag(tag).header(ACCEPT_RANGES, "bytes");
+    }
+
+    final String range = header(headers, RANGE);
+    final String ifRange = header(headers, IF_RANGE);
+
+    if (range == null || (ifRange != null && !ifRange.trim().equals(etag))) {
+      return send(Response.ok(), 0, size, reader, tag);
+    }
+
+    final Matcher matcher = RANGE_PATTERN.matcher(range.trim());
+    if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+      // unsupported range, send the whole file
+      return send(Response.ok(), 0, size, reader, tag);
+    }
+
+    long start;
+    long end;
+    try {
+      if (matcher.group(1).isEmpty()) {
+        // suffix range, the last bytes of the file
+        final long length = Long.parseLong(matcher.group(2));
+        if (length == 0) {
+          return notSatisfiable(size);
+        }
+        start = Math.max(0, size - length);
+        end = size - 1;
+      } else {
+        start = Long.parseLong(matcher.group(1));
+        end = matcher.group(2).isEmpty() ? size - 1 : Long.parseLong(matcher.group(2));
+      }
+    } catch (NumberFormatException e) {
+      return send(Response.ok(), 0, size, reader, tag);
+    }
+
+    if (end < start) {
+      return send(Response.ok(), 0, size, reader, tag);
+    }
+    if (start >= size) {
+      return notSatisfiable(size);
+    }
+
+    end = Math.min(end, size - 1);
+
+    final ResponseBuilder builder =
+        Response.status(Status.PARTIAL_CONTENT)
+            .header(CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+
+    return send(builder, start, end - start + 1, reader, tag);
+  }
+
+  private static ResponseBuilder notSatisfiable(long size) {
+    return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+        .header(CONTENT_RANGE, "bytes */" + size)
+        .header(ACCEPT_RANGES, "bytes");
+  }
+
+  private static ResponseBuilder send(
+      ResponseBuilder builder, long offset, long length, RangeReader reader, String tag) {
+    final StreamingOutput output =
+        out -> {
+          try (InputStream in = reader.open(offset, length)) {
+            final long sent = ByteStreams.copy(ByteStreams.limit(in, length), out);
+            if (sent < length) {
+              throw new IOException(
+                  "File shorter than its size: %d bytes sent of %d".formatted(sent, length));
+            }
+          }
+        };
+    return builder
+        .entity(output)
+        .tag(tag)
+        .header(ACCEPT_RANGES, "bytes")
+        .header(HttpHeaders.CONTENT_LENGTH, length);
+  }
+
+  private static String header(HttpHeaders headers, String name) {
+    if (headers == null) {
+      return null;
+    }
+    final String value = headers.getHeaderString(name);
+    return StringUtils.isBlank(value) ? null : value;
+  }
+
+  private static boolean matches(String ifNoneMatch, String etag) {
+    for (String tag : ifNoneMatch.split(",")) {
+      final String value = tag.trim();
+      // weak comparison, as required for If-None-Match
+      if ("*".equals(value) || etag.equals(value.startsWith("W/") ? value.substring(2) : value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -68,12 +68,10 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.xml.bind.DatatypeConverter;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -91,7 +89,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import org.jboss.resteasy.plugins.providers.multipart.InputPart;
 import org.jboss.resteasy.plugins.providers.multipart.MultipartFormDataInput;
 
@@ -429,12 +426,10 @@ public class RestService extends ResourceService {
           return new Response().fail("file stream to upload is missing or empty");
         }
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        uploadSave(fileStream, out);
-        final byte[] bytes = out.toByteArray();
-        try {
-          // check if file content is valid
-          MetaFiles.checkType(new ByteArrayInputStream(bytes));
+        final byte[] bytes;
+        try (InputStream checked = MetaFiles.checkContent(fileStream)) {
+          // check if file content is valid before reading it
+          bytes = checked.readAllBytes();
         } catch (IllegalFileException e) {
           return new Response().fail(e.getLocalizedMessage());
         }
@@ -466,15 +461,15 @@ public class RestService extends ResourceService {
     entity.setFileName(safeFileName);
     entity.setFileType(metaFile.getFileType());
 
-    File tmp = files.upload(fileStream, 0, -1, UUID.randomUUID().toString());
+    final InputStream checked;
     try {
-      // check if file content is valid
-      MetaFiles.checkType(tmp);
+      // check if file content is valid, from its first bytes only
+      checked = MetaFiles.checkContent(fileStream);
     } catch (IllegalFileException e) {
-      Files.deleteIfExists(tmp.toPath());
+      fileStream.close();
       return new Response().fail(e.getLocalizedMessage());
     }
-    final MetaFile updatedEntity = files.upload(tmp, entity);
+    final MetaFile updatedEntity = files.upload(checked, entity);
     JPA.runInTransaction(() -> updatedEntity.setFileName(originalFileName));
 
     final Response response = new Response();
@@ -503,8 +498,21 @@ public class RestService extends ResourceService {
       return jakarta.ws.rs.core.Response.ok().build();
     }
 
-    return jakarta.ws.rs.core.Response.ok(
-            (StreamingOutput) output -> uploadSave(store.getStream(metaFile.getFilePath()), output))
+    // without a known size, the file can't be served by ranges
+    final Long size = metaFile.getFileSize();
+    final ResponseBuilder builder =
+        size == null || size < 0
+            ? jakarta.ws.rs.core.Response.ok(
+                (StreamingOutput)
+                    output -> uploadSave(store.getStream(metaFile.getFilePath()), output))
+            : RangeResponses.of(
+                getHttpHeaders(),
+                store,
+                metaFile.getFilePath(),
+                size,
+                RangeResponses.tagOf(metaFile));
+
+    return builder
         .header(
             "Content-Disposition",
             ContentDisposition.attachment().filename(fileName).build().toString())
@@ -873,6 +881,30 @@ public class RestService extends ResourceService {
     return getResource().export(request, CSV_CHARSET, locale, CSV_SEPARATOR);
   }
 
+  @POST
+  @Path("export/stream")
+  @Produces("text/csv")
+  @Hidden
+  public jakarta.ws.rs.core.Response exportStream(Request request) {
+    if (request == null || request.getFields() == null) {
+      return jakarta.ws.rs.core.Response.status(Status.BAD_REQUEST).build();
+    }
+
+    request.setModel(getModel());
+    updateContext(request);
+
+    final Locale locale = CSV_LOCALE != null ? CSV_LOCALE : AppFilter.getLocale();
+    final String fileName = entityClass().getSimpleName() + ".csv";
+
+    return jakarta.ws.rs.core.Response.ok(
+            getResource().exportStream(request, CSV_CHARSET, locale, CSV_SEPARATOR))
+        .type(new MediaType("text", "csv", CSV_CHARSET.name()))
+        .header(
+            "Content-Disposition",
+            ContentDisposition.attachment().filename(fileName).build().toString())
+        .build();
+  }
+
   @GET
   @Path("{id}/followers")
   @Hidden
@@ -0,0 +1,156 @@
+/*
+ * SPDX-FileCopyrightText: Axelor <https://axelor.com>
+ * SPDX-License-Identifier: AGPL-3.0-or-later
+ */
+package com.axelor.web.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.axelor.web.service.RangeResponses.RangeReader;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class RangeResponsesTest {
+
+  private static final String TAG = "1-abc";
+
+  private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+  // reads the bytes of DATA, the file may be shorter than the size given to the responses
+  private static final RangeReader READER =
+      (offset, length) -> new ByteArrayInputStream(DATA, (int) offset, (int) length);
+
+  private static HttpHeaders headers(String... namesAndValues) {
+    final Map<String, String> values = new HashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      values.put(namesAndValues[i].toLowerCase(), namesAndValues[i + 1]);
+    }
+    return (HttpHeaders)
+        Proxy.newProxyInstance(
+            HttpHeaders.class.getClassLoader(),
+            new Class<?>[] {HttpHeaders.class},
+            (proxy, method, args) -> {
+              if ("getHeaderString".equals(method.getName())) {
+                return values.get(((String) args[0]).toLowerCase());
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+  }
+
+  private static Response get(long size, String... namesAndValues) {
+    return RangeResponses.of(headers(namesAndValues), size, TAG, READER).build();
+  }
+
+  private static String body(Response response) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testFull() throws IOException {
+    final Response response = get(DATA.length);
+    assertEquals(200, response.getStatus());
+    assertEquals("10", response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+    assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+    assertEquals('"' + TAG + '"', response.getHeaderString(HttpHeaders.ETAG));
+    assertEquals("0123456789", body(response));
+  }
+
+  @Test
+  public void testRange() throws IOException {
+    final Response response = get(DATA.length, "Range", "bytes=2-5");
+    assertEquals(206, response.getStatus());
+    assertEquals("bytes 2-5/10", response.getHeaderString("Content-Range"));
+    assertEquals("4", response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+    assertEquals("2345", body(response));
+
+    // the end is limited to the size of the file
+    final Response open = get(DATA.length, "Range", "bytes=7-20");
+    assertEquals(206, open.getStatus());
+    assertEquals("bytes 7-9/10", open.getHeaderString("Content-Range"));
+    assertEquals("789", body(open));
+  }
+
+  @Test
+  public void testSuffixRange() throws IOException {
+    final Response response = get(DATA.length, "Range", "bytes=-3");
+    assertEquals(206, response.getStatus());
+    assertEquals("bytes 7-9/10", response.getHeaderString("Content-Range"));
+    assertEquals("789", body(response));
+
+    // longer than the file
+    final Response whole = get(DATA.length, "Range", "bytes=-20");
+    assertEquals(206, whole.getStatus());
+    assertEquals("bytes 0-9/10", whole.getHeaderString("Content-Range"));
+    assertEquals("0123456789", body(whole));
+  }
+
+  @Test
+  public void testNotSatisfiable() {
+    for (String range : new String[] {"bytes=10-", "bytes=20-30", "bytes=-0"}) {
+      final Response response = get(DATA.length, "Range", range);
+      assertEquals(416, response.getStatus(), range);
+      assertEquals("bytes */10", response.getHeaderString("Content-Range"), range);
+      assertNull(response.getEntity(), range);
+    }
+  }
+
+  @Test
+  public void testNotModified() {
+    final Response response = get(DATA.length, "If-None-Match", "\"other\", \"" + TAG + "\"");
+    assertEquals(304, response.getStatus());
+    assertNull(response.getEntity());
+
+    // weak comparison
+    assertEquals(304, get(DATA.length, "If-None-Match", "W/\"" + TAG + "\"").getStatus());
+    assertEquals(304, get(DATA.length, "If-None-Match", "*").getStatus());
+    assertEquals(200, get(DATA.length, "If-None-Match", "\"other\"").getStatus());
+  }
+
+  @Test
+  public void testIfRange() throws IOException {
+    final Response matching =
+        get(DATA.length, "Range", "bytes=0-1", "If-Range", "\"" + TAG + "\"");
+    assertEquals(206, matching.getStatus());
+    assertEquals("01", body(matching));
+
+    // the file changed, the whole file is sent
+    final Response changed = get(DATA.length, "Range", "bytes=0-1", "If-Range", "\"other\"");
+    assertEquals(200, changed.getStatus());
+    assertNull(changed.getHeaderString("Content-Range"));
+    assertEquals("0123456789", body(changed));
+  }
+
+  @Test
+  public void testMalformedRange() throws IOException {
+    for (String range : new String[] {"bytes=a-b", "bytes=-", "bytes=5-2", "bytes=0-1,4-5"}) {
+      final Response response = get(DATA.length, "Range", range);
+      assertEquals(200, response.getStatus(), range);
+      assertEquals("0123456789", body(response), range);
+    }
+  }
+
+  @Test
+  public void testWrongSize() throws IOException {
+    // no more bytes than announced are sent
+    final Response shorter = get(5);
+    assertEquals("5", shorter.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+    assertEquals("01234", body(shorter));
+
+    // the response fails if the file is shorter than announced
+    assertThrows(IOException.class, () -> body(get(20)));
+    assertThrows(IOException.class, () -> body(get(20, "Range", "bytes=5-14")));
+  }
+}